@@ -3,6 +3,7 @@ package com.example.auth_service.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -31,6 +32,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/*/assigned-events/**").permitAll()
                         .requestMatchers("/api/users/*/assign-event/**").permitAll()
                         .requestMatchers("/api/users/*/assign-role/**").permitAll()
+                        // Checked in UserController: a user token or the service token
+                        .requestMatchers(HttpMethod.GET, "/api/users/*/email").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/organizations/**").hasAnyRole("ADMIN", "ORGANIZER")
                         .anyRequest().authenticated())
@@ -11,11 +11,16 @@ import com.example.auth_service.repository.UserOrganizationRoleRepository;
 import com.example.auth_service.repository.UserRepository;
 import com.example.auth_service.repository.StaffEventAssignmentRepository;
 import com.example.auth_service.service.OrganizationService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +43,19 @@ public class UserController {
     private final RoleRepository roleRepository;
     private final OrganizationService organizationService;
 
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    // The token is all an internal call needs, so a missing one or the old published default is refused
+    @PostConstruct
+    void checkInternalApiToken() {
+        if (internalApiToken == null || internalApiToken.isBlank() || "dev-internal-token".equals(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token must be set to a shared secret (INTERNAL_API_TOKEN)");
+        }
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserSummaryDto>> searchUsers(@RequestParam("query") String query) {
@@ -133,8 +151,14 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    // Also called by scheduled jobs of other services, which have no user token and send the service token instead
     @GetMapping("/{userId}/email")
-    public ResponseEntity<String> getUserEmailById(@PathVariable String userId) {
+    public ResponseEntity<String> getUserEmailById(@PathVariable String userId,
+                                                   @RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token,
+                                                   Authentication auth) {
+        if (auth == null && !isInternalToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         User user = userRepository.findById(UUID.fromString(userId))
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
         return ResponseEntity.ok(user.getEmail());
@@ -189,5 +213,9 @@ public class UserController {
         userOrganizationRoleRepository.save(userOrgRole);
         return ResponseEntity.ok().build();
     }
-}
 
+    private boolean isInternalToken(String token) {
+        return token != null && !internalApiToken.isBlank()
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), internalApiToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
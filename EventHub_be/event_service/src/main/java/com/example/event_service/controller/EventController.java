@@ -1,31 +1,72 @@
 package com.example.event_service.controller;
 
+import com.example.event_service.dto.EventBrowseResponse;
+import com.example.event_service.dto.EventInvoiceInfoDto;
+import com.example.event_service.dto.EventListItemDto;
+import com.example.event_service.dto.EventSummaryDto;
 import com.example.event_service.dto.EventWizardRequest;
+import com.example.event_service.dto.InventoryReleaseRequest;
+import com.example.event_service.dto.SeatAvailabilityDeltaDto;
+import com.example.event_service.dto.SeatAvailabilityMapDto;
+import com.example.event_service.dto.SeatLayoutDto;
+import com.example.event_service.dto.SeatSectionDto;
+import com.example.event_service.dto.TicketTypeSummaryDto;
 import com.example.event_service.dto.TicketTypeWithShowtimesDto;
 import com.example.event_service.model.Discount;
 import com.example.event_service.model.Event;
 import com.example.event_service.model.Seat;
 import com.example.event_service.model.TicketType;
+import com.example.event_service.service.EventImageService;
+import com.example.event_service.service.EventSearchIndex;
 import com.example.event_service.service.EventService;
+import com.example.event_service.service.SeatAvailabilityService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/events")
 @RequiredArgsConstructor
 public class EventController {
     private final EventService eventService;
+    private final EventImageService eventImageService;
+    private final EventSearchIndex eventSearchIndex;
+    private final SeatAvailabilityService seatAvailabilityService;
+
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    // The token is all an internal call needs, so a missing one or the old published default is refused
+    @PostConstruct
+    void checkInternalApiToken() {
+        if (internalApiToken == null || internalApiToken.isBlank() || "dev-internal-token".equals(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token must be set to a shared secret (INTERNAL_API_TOKEN)");
+        }
+    }
 
     @GetMapping
-    public ResponseEntity<List<Event>> getAll(@RequestParam(value = "status", required = false) Event.Status status) {
+    public ResponseEntity<List<EventListItemDto>> getAll(@RequestParam(value = "status", required = false) Event.Status status) {
         if (status != null) {
             return ResponseEntity.ok(eventService.getEventsByStatus(status));
         }
@@ -33,22 +74,110 @@ public class EventController {
     }
 
     @GetMapping("/organizer/{organizerId}")
-    public ResponseEntity<List<Event>> getEventsByOrganizer(@PathVariable String organizerId) {
+    public ResponseEntity<List<EventListItemDto>> getEventsByOrganizer(@PathVariable String organizerId) {
         return ResponseEntity.ok(eventService.getEventsByOrganizer(organizerId));
     }
 
     @GetMapping("/organizer/{organizerId}/status/{status}")
-    public ResponseEntity<List<Event>> getEventsByOrganizerAndStatus(
+    public ResponseEntity<List<EventListItemDto>> getEventsByOrganizerAndStatus(
             @PathVariable String organizerId,
             @PathVariable Event.Status status) {
         return ResponseEntity.ok(eventService.getEventsByOrganizerAndStatus(organizerId, status));
     }
 
+    // Batch lookups for other services, e.g. GET /api/events/batch?ids=1,2,3
+    @GetMapping("/batch")
+    public ResponseEntity<List<EventSummaryDto>> getEventSummaries(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(eventService.getEventSummaries(ids));
+    }
+
+    // Seller details for invoices; events without invoice info are left out
+    @GetMapping("/invoice-info/batch")
+    public ResponseEntity<List<EventInvoiceInfoDto>> getInvoiceInfos(@RequestParam("eventIds") List<Long> eventIds) {
+        return ResponseEntity.ok(eventService.getInvoiceInfos(eventIds));
+    }
+
+    // Seat sections for order_service's contention heat-map
+    @GetMapping("/seats/sections/batch")
+    public ResponseEntity<List<SeatSectionDto>> getSeatSections(@RequestParam("seatIds") List<Long> seatIds) {
+        return ResponseEntity.ok(eventService.getSeatSections(seatIds));
+    }
+
+    @GetMapping("/ticket-types/batch")
+    public ResponseEntity<List<TicketTypeSummaryDto>> getTicketTypeSummaries(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(eventService.getTicketTypeSummaries(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Event> getById(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.getById(id));
     }
 
+    // Image-free view for other services
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<EventSummaryDto> getSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(eventService.getEventSummary(id));
+    }
+
+    // Links in list responses carry ?v=<last update>, so a versioned request can be cached for good
+    // Seats in seat-map index order; fetched once per layout version
+    @GetMapping("/{eventId}/seats/layout")
+    public ResponseEntity<SeatLayoutDto> getSeatLayout(@PathVariable Long eventId, WebRequest webRequest) {
+        SeatLayoutDto layout = seatAvailabilityService.getLayout(eventId);
+        String etag = "\"" + layout.getLayoutVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(layout);
+    }
+
+    // Availability of all seats as base64 bitmaps over the layout
+    @GetMapping("/{eventId}/seats/availability")
+    public ResponseEntity<SeatAvailabilityMapDto> getSeatAvailability(@PathVariable Long eventId) {
+        return ResponseEntity.ok(seatAvailabilityService.getMap(eventId));
+    }
+
+    // Seats changed since a version of the availability map
+    @GetMapping("/{eventId}/seats/availability/changes")
+    public ResponseEntity<SeatAvailabilityDeltaDto> getSeatAvailabilityChanges(@PathVariable Long eventId,
+                                                                               @RequestParam("epoch") String epoch,
+                                                                               @RequestParam("since") long since) {
+        return ResponseEntity.ok(seatAvailabilityService.getChanges(eventId, epoch, since));
+    }
+
+    @GetMapping("/{id}/images/{kind}")
+    public ResponseEntity<byte[]> getImage(@PathVariable Long id, @PathVariable String kind,
+                                           @RequestParam(value = "v", required = false) String version,
+                                           WebRequest webRequest) {
+        EventImageService.Kind imageKind;
+        try {
+            imageKind = EventImageService.Kind.valueOf(kind.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        EventImageService.Image image = eventImageService.getImage(id, imageKind).orElse(null);
+        if (image == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (image.location() != null) {
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(image.location())).build();
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(image.content()) + "\"";
+        CacheControl cacheControl = version != null
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                // Browsers must not guess another type than the allowed image type
+                .header("X-Content-Type-Options", "nosniff")
+                .contentType(MediaType.parseMediaType(image.contentType()))
+                .body(image.content());
+    }
+
     @GetMapping("/{id}/tickets-with-showtimes")
     public ResponseEntity<List<TicketTypeWithShowtimesDto>> getTicketsWithShowtimes(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.getTicketTypesWithShowtimes(id));
@@ -139,6 +268,23 @@ public class EventController {
         return ResponseEntity.ok(eventService.decrementTicketQuota(ticketTypeId, quantity));
     }
 
+    // Internal endpoint for order_service to return quota and discount usage of cancelled orders.
+    // The gateway refuses internal paths; callers on the service network must still present the shared service token.
+    @PostMapping("/internal/inventory/release")
+    public ResponseEntity<Void> releaseInventory(
+            @RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token,
+            @RequestBody InventoryReleaseRequest request) {
+        if (!isInternalToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (request.getReleases() != null && request.getReleases().stream()
+                .anyMatch(release -> release.getKey() == null || release.getKey().isBlank())) {
+            return ResponseEntity.badRequest().build();
+        }
+        eventService.releaseInventory(request);
+        return ResponseEntity.noContent().build();
+    }
+
     @PreAuthorize("hasAnyRole('ORGANIZER','ADMIN')")
     @DeleteMapping("/ticket-types/{ticketTypeId}")
     public ResponseEntity<Void> deleteTicketType(@PathVariable Long ticketTypeId) {
@@ -182,7 +328,7 @@ public class EventController {
 
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Event>> searchEvents(
+    public ResponseEntity<Page<EventListItemDto>> searchEvents(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) LocalDateTime startTime,
@@ -192,10 +338,28 @@ public class EventController {
             @RequestParam(required = false) Event.Status status,
             @RequestParam(required = false) String location,
             Pageable pageable) {
-        Page<Event> events = eventService.searchEvents(keyword, category, startTime, endTime, minPrice, maxPrice, location, status, pageable);
+        Page<EventListItemDto> events = eventService.searchEvents(keyword, category, startTime, endTime, minPrice, maxPrice, location, status, pageable);
         return ResponseEntity.ok(events);
     }
 
+    // Published events with facet counts for category, location, price band and start month
+    @GetMapping("/browse")
+    public ResponseEntity<EventBrowseResponse> browseEvents(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String price,
+            @RequestParam(required = false) String month,
+            Pageable pageable) {
+        return ResponseEntity.ok(eventService.browseEvents(category, location, price, month, pageable));
+    }
+
+    // Rebuilds this replica's keyword search index from the database
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Integer> rebuildSearchIndex() {
+        return ResponseEntity.ok(eventSearchIndex.rebuild());
+    }
+
     // Debug endpoint to test OrderServiceClient
     @GetMapping("/{eventId}/ticket-type/{ticketTypeId}/test-sold-count")
     public ResponseEntity<Integer> testGetSoldCount(
@@ -208,4 +372,9 @@ public class EventController {
             return ResponseEntity.status(500).body(null);
         }
     }
+
+    private boolean isInternalToken(String token) {
+        return token != null && !internalApiToken.isBlank()
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), internalApiToken.getBytes(StandardCharsets.UTF_8));
+    }
 }
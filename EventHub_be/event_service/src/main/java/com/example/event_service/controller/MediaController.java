@@ -0,0 +1,155 @@
+package com.example.event_service.controller;
+
+import com.example.event_service.dto.MediaAssetDto;
+import com.example.event_service.model.MediaAsset;
+import com.example.event_service.service.EventImageService;
+import com.example.event_service.service.MediaService;
+import com.example.event_service.service.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+public class MediaController {
+    // Request attributes of Tomcat's NIO connector for handing a file to sendfile(2)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final MediaService mediaService;
+    private final MediaStore mediaStore;
+    private final EventImageService eventImageService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<MediaAssetDto> getMedia(@PathVariable String id) {
+        return mediaService.find(id)
+                .map(asset -> ResponseEntity.ok(mediaService.toDto(asset)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Multipart upload of one image. The part is streamed into the store, so the request body
+     * is never held in memory; the returned id can be passed to the event wizard.
+     */
+    @PreAuthorize("hasAnyRole('ORGANIZER','ADMIN')")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaAssetDto> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(mediaService.toDto(mediaService.storeImage(content)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Moves images still stored inline on event rows into the media store, one batch per call
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/migrate-inline")
+    public ResponseEntity<Integer> migrateInlineImages(@RequestParam(value = "batchSize", defaultValue = "50") int batchSize) {
+        return ResponseEntity.ok(eventImageService.migrateInlineImages(Math.max(1, Math.min(batchSize, 500))));
+    }
+
+    /**
+     * Serves a stored blob by name ({@code <sha256>.<ext>}). Blobs never change, so the hash is
+     * a strong ETag and responses may be cached forever. Single byte ranges are honoured;
+     * multi-range requests get the whole file, as RFC 9110 allows.
+     */
+    @GetMapping("/files/{name}")
+    public void getFile(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int dot = name.lastIndexOf('.');
+        MediaAsset.Format format = dot > 0 ? MediaAsset.Format.fromExtension(name.substring(dot + 1)) : null;
+        Path file;
+        try {
+            file = format != null ? mediaStore.resolve(name.substring(0, dot), format.getExtension()) : null;
+        } catch (IllegalArgumentException e) {
+            file = null;
+        }
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String etag = "\"" + name.substring(0, dot) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        response.setContentType(format.getContentType());
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        send(file, start, end - start + 1, request, response);
+    }
+
+    private static void send(Path file, long start, long count, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The connector copies file to socket in the kernel once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
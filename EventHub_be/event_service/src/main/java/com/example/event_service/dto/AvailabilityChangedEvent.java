@@ -0,0 +1,22 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by order_service after sold or held quantities of an event changed. Seat ids,
+ * when present, name seats whose hold began or ended.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityChangedEvent {
+    private Long eventId;
+    private List<Long> heldSeatIds;
+    private List<Long> releasedSeatIds;
+}
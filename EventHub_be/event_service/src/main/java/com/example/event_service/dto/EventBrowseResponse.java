@@ -0,0 +1,33 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of published events together with the counts for every facet value. Counts of a
+ * facet apply the selections on all other facets, so they tell how many events picking
+ * that value instead would show.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventBrowseResponse {
+    private Page<EventListItemDto> events;
+    private Map<String, List<FacetCount>> facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private int count;
+    }
+}
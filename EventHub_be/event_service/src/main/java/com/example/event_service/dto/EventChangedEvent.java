@@ -0,0 +1,18 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published after an event's searchable fields or status changed, so every replica can
+ * update its local indexes. Consumers re-read the event, so the message carries only the id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventChangedEvent {
+    private Long eventId;
+}
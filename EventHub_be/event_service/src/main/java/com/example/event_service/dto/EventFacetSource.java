@@ -0,0 +1,21 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One ticket type price of an event with the event's facet fields; events without ticket
+ * types come as a single row with a null price.
+ */
+@Data
+@AllArgsConstructor
+public class EventFacetSource {
+    private Long id;
+    private String category;
+    private String city;
+    private LocalDateTime startTime;
+    private BigDecimal price;
+}
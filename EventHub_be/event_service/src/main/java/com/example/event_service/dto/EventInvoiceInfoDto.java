@@ -0,0 +1,21 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seller details printed on order invoices, looked up in batches by order_service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventInvoiceInfoDto {
+    private Long eventId;
+    private Boolean enabled;
+    private String companyName;
+    private String taxCode;
+    private String address;
+}
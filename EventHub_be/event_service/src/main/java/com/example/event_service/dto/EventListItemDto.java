@@ -0,0 +1,75 @@
+package com.example.event_service.dto;
+
+import com.example.event_service.model.Event;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event card for list and search responses. Built from a JPQL constructor expression that
+ * only checks the image columns for NULL; the images themselves are links to
+ * {@code GET /api/events/{id}/images/{kind}}.
+ */
+@Data
+@NoArgsConstructor
+public class EventListItemDto {
+    private Long id;
+    private UUID organizerId;
+    private String name;
+    private String description;
+    private String category;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Event.Status status;
+    private Event.Privacy privacy;
+    private String customUrl;
+    private VenueSummary venue;
+    private String logoUrl;
+    private String bannerUrl;
+    private String coverImage;
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private boolean hasLogo;
+    @JsonIgnore
+    private boolean hasBanner;
+    @JsonIgnore
+    private boolean hasCover;
+
+    // Used by EventRepository projections
+    public EventListItemDto(Long id, UUID organizerId, String name, String description, String category,
+                            LocalDateTime startTime, LocalDateTime endTime, Event.Status status,
+                            Event.Privacy privacy, String customUrl, LocalDateTime updatedAt,
+                            Long venueId, String venueName, String venueCity, String venueAddress,
+                            Boolean hasLogo, Boolean hasBanner, Boolean hasCover) {
+        this.id = id;
+        this.organizerId = organizerId;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.privacy = privacy;
+        this.customUrl = customUrl;
+        this.updatedAt = updatedAt;
+        this.venue = venueId != null ? new VenueSummary(venueId, venueName, venueCity, venueAddress) : null;
+        this.hasLogo = Boolean.TRUE.equals(hasLogo);
+        this.hasBanner = Boolean.TRUE.equals(hasBanner);
+        this.hasCover = Boolean.TRUE.equals(hasCover);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VenueSummary {
+        private Long id;
+        private String name;
+        private String city;
+        private String address;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.event_service.dto;
+
+import com.example.event_service.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The fields of an event that go into the search index, read without the image columns.
+ */
+@Data
+@AllArgsConstructor
+public class EventSearchSource {
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private Event.Status status;
+    private String venueName;
+    private String city;
+    private String address;
+}
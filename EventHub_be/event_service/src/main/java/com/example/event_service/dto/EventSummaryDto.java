@@ -0,0 +1,35 @@
+package com.example.event_service.dto;
+
+import com.example.event_service.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight event view for inter-service lookups. Built straight from a JPQL
+ * constructor expression, so the LONGTEXT image columns are never selected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummaryDto {
+    private Long id;
+    private UUID organizerId;
+    private String name;
+    private String category;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Event.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean allowTicketTransfer;
+    private Boolean allowAttendeeNameChange;
+    private Boolean refundEnabled;
+    private Integer refundDeadlineHours;
+    private Double refundFeePercent;
+}
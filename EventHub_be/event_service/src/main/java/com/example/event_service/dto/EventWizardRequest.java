@@ -17,6 +17,9 @@ public class EventWizardRequest {
     private String description;
     private String logoUrl;
     private String bannerUrl;
+    // Ids returned by POST /api/media; preferred over inline data in logoUrl/bannerUrl
+    private String logoMediaId;
+    private String bannerMediaId;
     private Settings settings;
     private Venue venue;
     private Organizer organizer;
@@ -47,6 +50,7 @@ public class EventWizardRequest {
         private String organizerCode;
         private String organizerName;
         private String logoUrl;
+        private String logoMediaId;
         private String description;
         private Boolean termsAgreed;
         private String accountStatus;
@@ -0,0 +1,16 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantity held by unexpired reservations of one ticket type, as reported by order_service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeldCountDto {
+    private Long ticketTypeId;
+    private long held;
+}
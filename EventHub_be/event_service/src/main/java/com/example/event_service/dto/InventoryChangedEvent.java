@@ -0,0 +1,19 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published when a ticket type sells out or gets quota back after being sold out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryChangedEvent {
+    private Long ticketTypeId;
+    private Long eventId;
+    private Integer quota;
+}
@@ -0,0 +1,38 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReleaseRequest {
+    private List<Release> releases;
+
+    // What one source (an order, a waitlist hold, a group job) hands back; each key is applied once
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Release {
+        private String key; // e.g. "order:42"
+        private Map<Long, Integer> ticketTypeQuantities; // ticketTypeId -> quantity to return to quota
+        private List<DiscountUsageRelease> discountUsages;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DiscountUsageRelease {
+        private Long eventId;
+        private String code;
+        private Integer count;
+    }
+}
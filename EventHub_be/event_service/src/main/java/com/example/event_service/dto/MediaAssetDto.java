@@ -0,0 +1,22 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaAssetDto {
+    private String id; // SHA-256 of the original bytes
+    private String contentType;
+    private long sizeBytes;
+    private Integer width;
+    private Integer height;
+    private String url;
+    private Map<String, String> variants; // Variant name -> link, smallest first
+}
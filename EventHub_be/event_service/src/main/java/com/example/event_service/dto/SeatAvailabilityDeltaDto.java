@@ -0,0 +1,36 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seats whose availability changed after {@code fromVersion}, each with its current flags.
+ * When {@code resync} is set the changes are no longer known, e.g. the epoch belongs to
+ * another server or the layout changed, and the full map has to be fetched again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityDeltaDto {
+    private Long eventId;
+    private String epoch;
+    private long fromVersion;
+    private long version;
+    private boolean resync;
+    private List<Change> changes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private int index;
+        private boolean available;
+        private boolean locked;
+        private boolean held;
+    }
+}
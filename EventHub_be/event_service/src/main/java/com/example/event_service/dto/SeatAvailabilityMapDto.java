@@ -0,0 +1,26 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Availability of every seat of an event as three base64 bitmaps over the seat layout.
+ * Bit {@code i} is bit {@code i % 8} of byte {@code i / 8}; missing trailing bytes are zero.
+ * {@code epoch} and {@code version} are what to pass to the changes endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityMapDto {
+    private Long eventId;
+    private String layoutVersion;
+    private String epoch;
+    private long version;
+    private int seatCount;
+    private String available;
+    private String locked;
+    private String held;
+}
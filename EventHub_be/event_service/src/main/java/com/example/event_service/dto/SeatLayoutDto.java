@@ -0,0 +1,23 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seats of an event in seat-map index order: bit {@code i} of every availability bitmap
+ * belongs to {@code seats.get(i)}. Changes only when seats are added or removed, which also
+ * changes {@code layoutVersion}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatLayoutDto {
+    private Long eventId;
+    private String layoutVersion;
+    private List<SeatLayoutItemDto> seats;
+}
@@ -0,0 +1,20 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The static part of a seat, without availability.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatLayoutItemDto {
+    private Long id;
+    private String section;
+    private String rowLabel;
+    private String seatNumber;
+    private String seatCategory;
+    private Long ticketTypeId;
+}
@@ -0,0 +1,20 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Section of a seat, looked up in batches by order_service to group seat contention.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSectionDto {
+    private Long seatId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private String section;
+}
@@ -0,0 +1,15 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Availability flags of one seat as stored on the seat row.
+ */
+@Data
+@AllArgsConstructor
+public class SeatStateDto {
+    private Long id;
+    private Boolean isAvailable;
+    private Boolean locked;
+}
@@ -0,0 +1,18 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tickets sold for one (ticketTypeId, showtimeId) pair, as reported by order_service.
+ * A null showtimeId covers orders placed before showtimes were recorded on order items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoldCountDto {
+    private Long ticketTypeId;
+    private Long showtimeId;
+    private long sold;
+}
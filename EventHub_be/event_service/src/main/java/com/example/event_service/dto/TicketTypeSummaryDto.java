@@ -0,0 +1,25 @@
+package com.example.event_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTypeSummaryDto {
+    private Long id;
+    private String code;
+    private String name;
+    private Long eventId;
+    private BigDecimal price;
+    private Integer quota;
+    private Integer purchaseLimit;
+    private LocalDateTime startSale;
+    private LocalDateTime endSale;
+}
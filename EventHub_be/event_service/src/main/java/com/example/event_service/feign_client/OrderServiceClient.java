@@ -1,6 +1,8 @@
 package com.example.event_service.feign_client;
 
+import com.example.event_service.dto.HeldCountDto;
 import com.example.event_service.dto.ReservationDto;
+import com.example.event_service.dto.SoldCountDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,12 @@ public interface OrderServiceClient {
     @GetMapping("/api/reservations/event/{eventId}/active")
     List<ReservationDto> getActiveReservationsForEvent(@PathVariable("eventId") Long eventId);
 
+    /**
+     * Quantities held by unexpired reservations, per ticket type
+     */
+    @GetMapping("/api/reservations/event/{eventId}/held-counts")
+    List<HeldCountDto> getHeldCounts(@PathVariable("eventId") Long eventId);
+
     /**
      * Get total sold quantity for a ticket type in an event
      * Only counts PAID orders
@@ -23,5 +31,11 @@ public interface OrderServiceClient {
         @PathVariable("eventId") Long eventId,
         @PathVariable("ticketTypeId") Long ticketTypeId
     );
+
+    /**
+     * Sold quantities of every ticket type and showtime of an event in one call
+     */
+    @GetMapping("/api/orders/event/{eventId}/sold-counts")
+    List<SoldCountDto> getSoldCounts(@PathVariable("eventId") Long eventId);
 }
 
@@ -1,15 +1,19 @@
 package com.example.event_service.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_status_start_time_price", columnList = "status, start_time, min_price, max_price")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -88,6 +92,16 @@ public class Event {
     @Builder.Default
     private Double refundFeePercent = 0.0;
 
+    // Lowest and highest ticket type price, so price filters read this table alone.
+    // Written only by EventRepository.updatePriceRanges, never from the entity.
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private BigDecimal minPrice;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private BigDecimal maxPrice;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
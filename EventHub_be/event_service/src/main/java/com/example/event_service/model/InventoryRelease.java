@@ -0,0 +1,30 @@
+package com.example.event_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A release of quota and discount usage already applied, keyed by what was released
+ * (e.g. "order:42"). A retried release finds its key here and is skipped.
+ */
+@Entity
+@Table(name = "inventory_releases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryRelease {
+    @Id
+    @Column(name = "release_key", length = 100)
+    private String releaseKey;
+
+    private LocalDateTime releasedAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.releasedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.event_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An uploaded image, identified by the SHA-256 of its bytes. Resized variants are stored
+ * as blobs of their own and listed by name.
+ */
+@Entity
+@Table(name = "media_assets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaAsset {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private Format format;
+
+    private long sizeBytes;
+    private Integer width;
+    private Integer height;
+
+    // Variant name (e.g. "sm") -> hash of the resized blob; only PNG and JPEG originals get variants
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "media_asset_variants", joinColumns = @JoinColumn(name = "media_hash"))
+    @MapKeyColumn(name = "variant", length = 10)
+    @Column(name = "variant_hash", length = 64)
+    @Builder.Default
+    private Map<String, String> variants = new HashMap<>();
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum Format {
+        PNG("png", "image/png"),
+        JPEG("jpg", "image/jpeg"),
+        GIF("gif", "image/gif"),
+        WEBP("webp", "image/webp");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format fromExtension(String extension) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+
+        public static Format fromContentType(String contentType) {
+            for (Format format : values()) {
+                if (format.contentType.equalsIgnoreCase(contentType)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+}
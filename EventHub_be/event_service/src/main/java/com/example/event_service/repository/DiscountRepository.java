@@ -2,6 +2,9 @@ package com.example.event_service.repository;
 
 import com.example.event_service.model.Discount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,14 @@ import java.util.Optional;
 public interface DiscountRepository extends JpaRepository<Discount, Long> {
     Optional<Discount> findByEventIdAndCode(Long eventId, String code);
     List<Discount> findByEventId(Long eventId);
+
+    // Usage is counted in place, so concurrent checkouts and releases never overwrite each other
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Discount d SET d.usedCount = COALESCE(d.usedCount, 0) + 1 WHERE d.id = :id")
+    int incrementUsedCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Discount d SET d.usedCount = CASE WHEN COALESCE(d.usedCount, 0) > :count THEN d.usedCount - :count ELSE 0 END " +
+           "WHERE d.event.id = :eventId AND d.code = :code")
+    int releaseUsage(@Param("eventId") Long eventId, @Param("code") String code, @Param("count") int count);
 }
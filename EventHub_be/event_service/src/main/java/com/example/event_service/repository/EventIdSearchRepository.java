@@ -0,0 +1,15 @@
+package com.example.event_service.repository;
+
+import com.example.event_service.model.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventIdSearchRepository {
+
+    /**
+     * Runs a specification for one page of event ids only, so search never loads whole
+     * {@link Event} rows with their image columns.
+     */
+    Page<Long> findIds(Specification<Event> spec, Pageable pageable);
+}
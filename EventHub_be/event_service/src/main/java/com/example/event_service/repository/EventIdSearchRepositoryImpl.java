@@ -0,0 +1,72 @@
+package com.example.event_service.repository;
+
+import com.example.event_service.model.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class EventIdSearchRepositoryImpl implements EventIdSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIds(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
+        // Sort columns are selected too, as MySQL requires for SELECT DISTINCT ... ORDER BY
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        orders.forEach(order -> selections.add(order.getExpression()));
+        query.multiselect(selections).orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = typedQuery.getResultList().stream()
+                .map(tuple -> tuple.get(0, Long.class))
+                .collect(Collectors.toList());
+
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && ids.size() < pageable.getPageSize())) {
+            return new PageImpl<>(ids, pageable, ids.size());
+        }
+        return new PageImpl<>(ids, pageable, count(spec));
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,17 +1,28 @@
 package com.example.event_service.repository;
 
+import com.example.event_service.dto.EventFacetSource;
+import com.example.event_service.dto.EventInvoiceInfoDto;
+import com.example.event_service.dto.EventListItemDto;
+import com.example.event_service.dto.EventSearchSource;
+import com.example.event_service.dto.EventSummaryDto;
 import com.example.event_service.model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventIdSearchRepository {
     List<Event> findByStatus(Event.Status status);
     List<Event> findByCategoryIgnoreCase(String category);
 
@@ -57,4 +68,91 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     // Filter events by organizer and status
     java.util.List<Event> findByOrganizerIdAndStatus(java.util.UUID organizerId, Event.Status status);
     java.util.List<Event> findByOrganizerId(java.util.UUID organizerId);
+
+    String SUMMARY_SELECT = "SELECT new com.example.event_service.dto.EventSummaryDto(e.id, e.organizerId, e.name, e.category, " +
+            "e.startTime, e.endTime, e.status, e.createdAt, e.updatedAt, e.allowTicketTransfer, e.allowAttendeeNameChange, " +
+            "e.refundEnabled, e.refundDeadlineHours, e.refundFeePercent) FROM Event e ";
+
+    // Image columns are only tested for NULL, which MySQL answers without reading the LONGTEXT values
+    String LIST_ITEM_SELECT = "SELECT new com.example.event_service.dto.EventListItemDto(e.id, e.organizerId, e.name, " +
+            "e.description, e.category, e.startTime, e.endTime, e.status, e.privacy, e.customUrl, e.updatedAt, " +
+            "v.id, v.name, v.city, v.address, " +
+            "CASE WHEN e.logoUrl IS NULL THEN false ELSE true END, " +
+            "CASE WHEN e.bannerUrl IS NULL THEN false ELSE true END, " +
+            "CASE WHEN e.coverImage IS NULL THEN false ELSE true END) " +
+            "FROM Event e LEFT JOIN e.venue v ";
+
+    @Query(SUMMARY_SELECT + "WHERE e.id IN :ids")
+    List<EventSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE e.id = :id")
+    Optional<EventSummaryDto> findSummaryById(@Param("id") Long id);
+
+    @Query(LIST_ITEM_SELECT + "ORDER BY e.id")
+    List<EventListItemDto> findAllListItems();
+
+    @Query(LIST_ITEM_SELECT + "WHERE e.status = :status ORDER BY e.id")
+    List<EventListItemDto> findListItemsByStatus(@Param("status") Event.Status status);
+
+    @Query(LIST_ITEM_SELECT + "WHERE e.organizerId = :organizerId ORDER BY e.id")
+    List<EventListItemDto> findListItemsByOrganizerId(@Param("organizerId") java.util.UUID organizerId);
+
+    @Query(LIST_ITEM_SELECT + "WHERE e.organizerId = :organizerId AND e.status = :status ORDER BY e.id")
+    List<EventListItemDto> findListItemsByOrganizerIdAndStatus(@Param("organizerId") java.util.UUID organizerId,
+                                                               @Param("status") Event.Status status);
+
+    @Query(LIST_ITEM_SELECT + "WHERE e.id IN :ids")
+    List<EventListItemDto> findListItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id FROM Event e LEFT JOIN e.organizerInfo o WHERE e.id > :afterId AND (e.logoUrl LIKE 'data:%' " +
+           "OR e.bannerUrl LIKE 'data:%' OR e.coverImage LIKE 'data:%' OR o.logoUrl LIKE 'data:%') ORDER BY e.id")
+    List<Long> findIdsWithInlineImagesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    String SEARCH_SOURCE_SELECT = "SELECT new com.example.event_service.dto.EventSearchSource(e.id, e.name, e.description, " +
+            "e.category, e.status, v.name, v.city, v.address) FROM Event e LEFT JOIN e.venue v ";
+
+    @Query(SEARCH_SOURCE_SELECT + "WHERE e.id IN :ids")
+    List<EventSearchSource> findSearchSourcesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SEARCH_SOURCE_SELECT + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EventSearchSource> findSearchSourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT e.id FROM Event e WHERE e.venue.id = :venueId")
+    List<Long> findIdsByVenueId(@Param("venueId") Long venueId);
+
+    // One row per ticket type of the events starting from the given time, ordered so the rows of an event are adjacent
+    @Query("SELECT new com.example.event_service.dto.EventFacetSource(e.id, e.category, v.city, e.startTime, t.price) " +
+           "FROM Event e LEFT JOIN e.venue v LEFT JOIN e.ticketTypes t WHERE e.status = :status AND e.startTime >= :from " +
+           "ORDER BY e.startTime, e.id")
+    List<EventFacetSource> findFacetSourcesByStatus(@Param("status") Event.Status status, @Param("from") LocalDateTime from);
+
+    String PRICE_RANGE_SET = "UPDATE Event e SET " +
+            "e.minPrice = (SELECT MIN(t.price) FROM TicketType t WHERE t.event = e), " +
+            "e.maxPrice = (SELECT MAX(t.price) FROM TicketType t WHERE t.event = e) ";
+
+    // Pending ticket type changes are flushed first, so the range covers them
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(PRICE_RANGE_SET + "WHERE e.id IN :ids")
+    int updatePriceRanges(@Param("ids") Collection<Long> ids);
+
+    // Events saved before the price range columns existed
+    @Transactional
+    @Modifying
+    @Query(PRICE_RANGE_SET + "WHERE e.minPrice IS NULL AND EXISTS " +
+           "(SELECT t.id FROM TicketType t WHERE t.event = e AND t.price IS NOT NULL)")
+    int backfillPriceRanges();
+
+    @Query("SELECT e.logoUrl FROM Event e WHERE e.id = :id")
+    Optional<String> findLogoUrlById(@Param("id") Long id);
+
+    @Query("SELECT e.bannerUrl FROM Event e WHERE e.id = :id")
+    Optional<String> findBannerUrlById(@Param("id") Long id);
+
+    @Query("SELECT e.coverImage FROM Event e WHERE e.id = :id")
+    Optional<String> findCoverImageById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.event_service.dto.EventInvoiceInfoDto(e.id, i.enabled, i.companyName, i.taxCode, i.address) " +
+           "FROM Event e JOIN e.invoiceInfo i WHERE e.id IN :ids")
+    List<EventInvoiceInfoDto> findInvoiceInfosByEventIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,17 @@
+package com.example.event_service.repository;
+
+import com.example.event_service.model.InventoryRelease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryReleaseRepository extends JpaRepository<InventoryRelease, String> {
+
+    @Query("SELECT r.releaseKey FROM InventoryRelease r WHERE r.releaseKey IN :keys")
+    List<String> findReleaseKeysIn(@Param("keys") Collection<String> keys);
+}
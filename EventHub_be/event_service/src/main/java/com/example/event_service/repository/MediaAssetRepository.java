@@ -0,0 +1,9 @@
+package com.example.event_service.repository;
+
+import com.example.event_service.model.MediaAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaAssetRepository extends JpaRepository<MediaAsset, String> {
+}
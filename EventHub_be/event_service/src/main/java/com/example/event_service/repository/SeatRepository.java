@@ -1,13 +1,32 @@
 package com.example.event_service.repository;
 
+import com.example.event_service.dto.SeatLayoutItemDto;
+import com.example.event_service.dto.SeatSectionDto;
+import com.example.event_service.dto.SeatStateDto;
 import com.example.event_service.model.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByEventId(Long eventId);
     List<Seat> findByTicketTypeId(Long ticketTypeId);
+
+    @Query("SELECT new com.example.event_service.dto.SeatSectionDto(s.id, s.event.id, s.ticketType.id, s.section) " +
+           "FROM Seat s WHERE s.id IN :ids")
+    List<SeatSectionDto> findSectionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ordered by id, which is the seat-map index order
+    @Query("SELECT new com.example.event_service.dto.SeatStateDto(s.id, s.isAvailable, s.locked) " +
+           "FROM Seat s WHERE s.event.id = :eventId ORDER BY s.id")
+    List<SeatStateDto> findStatesByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT new com.example.event_service.dto.SeatLayoutItemDto(s.id, s.section, s.rowLabel, s.seatNumber, " +
+           "s.seatCategory, s.ticketType.id) FROM Seat s WHERE s.event.id = :eventId ORDER BY s.id")
+    List<SeatLayoutItemDto> findLayoutByEventId(@Param("eventId") Long eventId);
 }
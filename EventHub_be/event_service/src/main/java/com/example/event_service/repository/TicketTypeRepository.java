@@ -1,12 +1,32 @@
 package com.example.event_service.repository;
 
+import com.example.event_service.dto.TicketTypeSummaryDto;
 import com.example.event_service.model.TicketType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
     List<TicketType> findByEventId(Long eventId);
+
+    // Projection reads event_id from the FK column instead of loading the eager Event association
+    @Query("SELECT new com.example.event_service.dto.TicketTypeSummaryDto(t.id, t.code, t.name, t.event.id, t.price, t.quota, t.purchaseLimit, t.startSale, t.endSale) " +
+           "FROM TicketType t WHERE t.id IN :ids")
+    List<TicketTypeSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Quota is changed in place, so concurrent decrements and releases never overwrite each other;
+    // 0 when the ticket type is missing or has too little quota left
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TicketType t SET t.quota = t.quota - :quantity WHERE t.id = :id AND t.quota >= :quantity")
+    int decrementQuota(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TicketType t SET t.quota = COALESCE(t.quota, 0) + :quantity WHERE t.id = :id")
+    int incrementQuota(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,38 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.AvailabilityChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AvailabilityEventListener {
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityEventListener.class);
+    private static final String AVAILABILITY_CHANGED_TOPIC = "availability.changed";
+
+    private final AvailabilitySnapshotService availabilitySnapshotService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ObjectMapper objectMapper;
+
+    // Every replica keeps its own snapshots, so each one consumes in its own group
+    @KafkaListener(topics = AVAILABILITY_CHANGED_TOPIC,
+            groupId = "event-availability-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = {"auto.offset.reset=latest"})
+    public void listenAvailabilityChanged(String message) {
+        AvailabilityChangedEvent event;
+        try {
+            event = objectMapper.readValue(message, AvailabilityChangedEvent.class);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable availability event: {}", message, e);
+            return;
+        }
+        if (event.getEventId() != null) {
+            availabilitySnapshotService.markDirty(event.getEventId());
+            seatAvailabilityService.applyHolds(event.getEventId(), event.getHeldSeatIds(), event.getReleasedSeatIds());
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.HeldCountDto;
+import com.example.event_service.dto.SoldCountDto;
+import com.example.event_service.dto.TicketTypeWithShowtimesDto;
+import com.example.event_service.feign_client.OrderServiceClient;
+import com.example.event_service.model.Event;
+import com.example.event_service.model.EventShowtime;
+import com.example.event_service.model.ShowtimeTicketAllocation;
+import com.example.event_service.model.TicketType;
+import com.example.event_service.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-event availability snapshots for the public event page: allocated, sold and held
+ * quantities per (showtime, ticket type), precomputed so a page view is a map lookup.
+ * <p>
+ * A snapshot is built on the first view. Changes reported by order_service, or made here to
+ * ticket types and quota, mark it dirty; rebuilds are coalesced to at most one per refresh
+ * delay and re-read exact counts, so a lost or repeated change message cannot skew them.
+ * Snapshots nobody viewed since their last build are dropped instead of rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilitySnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(AvailabilitySnapshotService.class);
+
+    private final EventRepository eventRepository;
+    private final OrderServiceClient orderServiceClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    @Value("${event.availability.refresh-delay-ms:500}")
+    private long refreshDelayMs;
+
+    // Backstop for changes that never produced a message
+    @Value("${event.availability.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Value("${event.availability.refresh-threads:2}")
+    private int refreshThreads;
+
+    @PostConstruct
+    void startRefresher() {
+        refresher = Executors.newScheduledThreadPool(refreshThreads);
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        refresher.shutdownNow();
+    }
+
+    public List<TicketTypeWithShowtimesDto> getTicketTypesWithShowtimes(Long eventId) {
+        Entry entry = entries.computeIfAbsent(eventId, id -> new Entry());
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot == null) {
+            // Concurrent first views of an event wait for one build instead of each running it
+            synchronized (entry) {
+                snapshot = entry.snapshot;
+                if (snapshot == null) {
+                    try {
+                        snapshot = build(eventId);
+                    } catch (RuntimeException e) {
+                        entries.remove(eventId, entry);
+                        throw e;
+                    }
+                    entry.snapshot = snapshot;
+                    if (!snapshot.complete()) {
+                        markDirty(eventId);
+                    }
+                }
+            }
+        } else if (System.currentTimeMillis() - snapshot.builtAt() > TimeUnit.SECONDS.toMillis(maxAgeSeconds)) {
+            markDirty(eventId);
+        }
+        entry.read = true;
+        return snapshot.ticketTypes();
+    }
+
+    /**
+     * Schedules a rebuild once the surrounding transaction commits. Events without a snapshot
+     * are ignored; their first view reads current data anyway.
+     */
+    public void markChangedAfterCommit(Collection<Long> eventIds) {
+        Set<Long> distinct = new LinkedHashSet<>(eventIds);
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            distinct.forEach(this::markDirty);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                distinct.forEach(AvailabilitySnapshotService.this::markDirty);
+            }
+        });
+    }
+
+    public void markDirty(Long eventId) {
+        Entry entry = entries.get(eventId);
+        if (entry != null && entry.dirty.compareAndSet(false, true)) {
+            refresher.schedule(() -> refresh(eventId, entry), refreshDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh(Long eventId, Entry entry) {
+        synchronized (entry) {
+            // Cleared first, so a change arriving during the build schedules another one
+            entry.dirty.set(false);
+            if (!entry.read) {
+                entries.remove(eventId, entry);
+                return;
+            }
+            try {
+                Snapshot snapshot = build(eventId);
+                if (snapshot.complete() || entry.snapshot == null) {
+                    entry.snapshot = snapshot;
+                    entry.read = false;
+                }
+            } catch (Exception e) {
+                // e.g. the event was deleted; the next view builds from scratch
+                log.warn("Rebuilding availability of eventId: {} failed, dropping snapshot. Error: {}", eventId, e.getMessage());
+                entries.remove(eventId, entry);
+            }
+        }
+    }
+
+    private Snapshot build(Long eventId) {
+        long builtAt = System.currentTimeMillis();
+        // Ticket types, showtimes and allocations are lazy, so the layout is read in one transaction
+        List<Layout> layout = transactionTemplate.execute(status -> layout(eventId));
+
+        Map<Long, Map<Long, Long>> soldByTicketType = new HashMap<>();
+        Map<Long, Long> heldByTicketType = new HashMap<>();
+        boolean complete = true;
+        try {
+            for (SoldCountDto count : orderServiceClient.getSoldCounts(eventId)) {
+                soldByTicketType.computeIfAbsent(count.getTicketTypeId(), id -> new HashMap<>())
+                        .merge(count.getShowtimeId(), count.getSold(), Long::sum);
+            }
+            for (HeldCountDto count : orderServiceClient.getHeldCounts(eventId)) {
+                heldByTicketType.merge(count.getTicketTypeId(), count.getHeld(), Long::sum);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to get sold and held counts for eventId: {}, defaulting to 0. Error: {}", eventId, e.getMessage());
+            complete = false;
+        }
+
+        List<TicketTypeWithShowtimesDto> ticketTypes = new ArrayList<>();
+        for (Layout item : layout) {
+            // Sold per showtime; the null key holds sales not tied to a showtime
+            Map<Long, Long> sold = soldByTicketType.getOrDefault(item.ticketType().getId(), Collections.emptyMap());
+            long unassignedSold = sold.getOrDefault(null, 0L);
+            // Reservations carry no showtime, so holds are spread like unassigned sales
+            long held = heldByTicketType.getOrDefault(item.ticketType().getId(), 0L);
+            for (TicketTypeWithShowtimesDto.ShowtimeAvailabilityDto showtime : item.ticketType().getShowtimes()) {
+                int allocated = showtime.getAllocatedQuantity();
+                showtime.setSoldQuantity((int) (sold.getOrDefault(showtime.getShowtimeId(), 0L)
+                        + share(unassignedSold, allocated, item.totalAllocated())));
+                showtime.setReservedQuantity((int) share(held, allocated, item.totalAllocated()));
+            }
+            ticketTypes.add(item.ticketType());
+        }
+        return new Snapshot(Collections.unmodifiableList(ticketTypes), builtAt, complete);
+    }
+
+    private List<Layout> layout(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        List<EventShowtime> showtimes = event.getShowtimes();
+
+        // One pass over all allocations instead of a scan per ticket type and showtime
+        Map<Long, Map<Long, Integer>> allocatedByTicketType = new HashMap<>();
+        for (EventShowtime showtime : showtimes) {
+            for (ShowtimeTicketAllocation allocation : showtime.getAllocations()) {
+                allocatedByTicketType.computeIfAbsent(allocation.getTicketType().getId(), id -> new HashMap<>())
+                        .putIfAbsent(showtime.getId(), allocation.getQuantity());
+            }
+        }
+
+        List<Layout> layout = new ArrayList<>();
+        for (TicketType ticketType : event.getTicketTypes()) {
+            Map<Long, Integer> allocated = allocatedByTicketType.getOrDefault(ticketType.getId(), Collections.emptyMap());
+            List<TicketTypeWithShowtimesDto.ShowtimeAvailabilityDto> availabilities = new ArrayList<>();
+            int totalAllocated = 0;
+            for (EventShowtime showtime : showtimes) {
+                Integer quantity = allocated.get(showtime.getId());
+                totalAllocated += quantity != null ? quantity : 0;
+                // Only show showtimes with allocation for this ticket type
+                if (quantity == null || quantity <= 0) {
+                    continue;
+                }
+                availabilities.add(TicketTypeWithShowtimesDto.ShowtimeAvailabilityDto.builder()
+                        .showtimeId(showtime.getId())
+                        .showtimeCode(showtime.getCode())
+                        .startTime(showtime.getStartTime())
+                        .endTime(showtime.getEndTime())
+                        .allocatedQuantity(quantity)
+                        .soldQuantity(0)
+                        .reservedQuantity(0)
+                        .build());
+            }
+            // Only show ticket types with available showtimes
+            if (availabilities.isEmpty()) {
+                continue;
+            }
+            layout.add(new Layout(TicketTypeWithShowtimesDto.builder()
+                    .id(ticketType.getId())
+                    .code(ticketType.getCode())
+                    .name(ticketType.getName())
+                    .price(ticketType.getPrice())
+                    .quota(ticketType.getQuota()) // Total quota from ticket_types table
+                    .purchaseLimit(ticketType.getPurchaseLimit())
+                    .saleStart(ticketType.getStartSale())
+                    .saleEnd(ticketType.getEndSale())
+                    .description(ticketType.getDescription())
+                    .showtimes(availabilities)
+                    .build(), totalAllocated));
+        }
+        return layout;
+    }
+
+    private static long share(long quantity, int allocated, int totalAllocated) {
+        return totalAllocated > 0 ? Math.round((double) quantity * allocated / totalAllocated) : 0;
+    }
+
+    private record Layout(TicketTypeWithShowtimesDto ticketType, int totalAllocated) {
+    }
+
+    // Never modified once published; a rebuild swaps in a new one
+    private record Snapshot(List<TicketTypeWithShowtimesDto> ticketTypes, long builtAt, boolean complete) {
+    }
+
+    private static class Entry {
+        volatile Snapshot snapshot;
+        volatile boolean read;
+        final AtomicBoolean dirty = new AtomicBoolean();
+    }
+}
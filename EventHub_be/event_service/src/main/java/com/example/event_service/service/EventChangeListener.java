@@ -0,0 +1,41 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class EventChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(EventChangeListener.class);
+
+    private final EventSearchIndex eventSearchIndex;
+    private final EventFacetIndex eventFacetIndex;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ObjectMapper objectMapper;
+
+    // Every replica keeps its own index, so each one consumes in its own group
+    @KafkaListener(topics = EventChangePublisher.EVENT_CHANGED_TOPIC,
+            groupId = "event-change-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = {"auto.offset.reset=latest"})
+    public void listenEventChanged(String message) {
+        EventChangedEvent event;
+        try {
+            event = objectMapper.readValue(message, EventChangedEvent.class);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable event change: {}", message, e);
+            return;
+        }
+        if (event.getEventId() != null) {
+            eventSearchIndex.update(List.of(event.getEventId()));
+            eventFacetIndex.markDirty();
+            seatAvailabilityService.markDirty(event.getEventId());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class EventChangePublisher {
+    private static final Logger log = LoggerFactory.getLogger(EventChangePublisher.class);
+    static final String EVENT_CHANGED_TOPIC = "event.changed";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Announces changed events once the surrounding transaction commits; every replica,
+     * this one included, updates its indexes from the message.
+     */
+    public void publishAfterCommit(Collection<Long> eventIds) {
+        Set<Long> distinct = new LinkedHashSet<>(eventIds);
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(distinct);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(distinct);
+            }
+        });
+    }
+
+    private void send(Set<Long> eventIds) {
+        for (Long eventId : eventIds) {
+            try {
+                kafkaTemplate.send(EVENT_CHANGED_TOPIC, String.valueOf(eventId),
+                        EventChangedEvent.builder().eventId(eventId).build());
+            } catch (Exception e) {
+                log.error("Failed to publish change of eventId: {}", eventId, e);
+            }
+        }
+    }
+}
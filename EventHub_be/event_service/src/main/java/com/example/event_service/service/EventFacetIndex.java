@@ -0,0 +1,253 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventBrowseResponse;
+import com.example.event_service.dto.EventFacetSource;
+import com.example.event_service.model.Event;
+import com.example.event_service.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory facet index over upcoming published events for the browse page. Events are numbered in
+ * start-time order and every facet value (category, city, price band, start month) owns a
+ * bitset of its events, so a query ANDs the selected values and reads both the page and all
+ * counts off bitsets instead of running a COUNT per facet value.
+ * <p>
+ * The index is an immutable snapshot built from a single query. Changes to events mark it
+ * dirty and rebuilds are coalesced to at most one per refresh delay; a periodic rebuild
+ * covers changes that never produced a message and drops events that have started since.
+ */
+@Service
+public class EventFacetIndex {
+    private static final Logger log = LoggerFactory.getLogger(EventFacetIndex.class);
+    public static final String CATEGORY = "category";
+    public static final String LOCATION = "location";
+    public static final String PRICE = "price";
+    public static final String MONTH = "month";
+    private static final List<String> FACETS = List.of(CATEGORY, LOCATION, PRICE, MONTH);
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final EventRepository eventRepository;
+    // Lower bounds of the price bands, ascending; the last band is open-ended
+    private final List<BigDecimal> priceBounds;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private ScheduledExecutorService refresher;
+    private volatile Snapshot snapshot;
+
+    @Value("${event.facets.refresh-delay-ms:1000}")
+    private long refreshDelayMs;
+
+    @Value("${event.facets.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    public EventFacetIndex(EventRepository eventRepository,
+                           @Value("${event.facets.price-bands:0,200000,500000,1000000}") String priceBands) {
+        this.eventRepository = eventRepository;
+        this.priceBounds = Arrays.stream(priceBands.split(","))
+                .map(String::trim)
+                .filter(bound -> !bound.isEmpty())
+                .map(BigDecimal::new)
+                .sorted()
+                .toList();
+    }
+
+    @PostConstruct
+    void startRefresher() {
+        refresher = Executors.newSingleThreadScheduledExecutor();
+        refresher.scheduleWithFixedDelay(this::markDirty, maxAgeSeconds, maxAgeSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        refresher.shutdownNow();
+    }
+
+    public void markDirty() {
+        if (dirty.compareAndSet(false, true)) {
+            refresher.schedule(this::refresh, refreshDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Upcoming published events matching every selected facet value, in start-time order, plus the
+     * counts of all facets. Selections map a facet name to a value as returned in the counts;
+     * an unknown value matches nothing.
+     */
+    public Result query(Map<String, String> selected, long offset, int limit) {
+        Snapshot current = current();
+        Map<String, BitSet> selections = new LinkedHashMap<>();
+        selected.forEach((facet, value) -> {
+            if (value != null && !value.isBlank() && current.facets().containsKey(facet)) {
+                FacetValue match = current.facets().get(facet).get(key(value));
+                selections.put(facet, match != null ? match.events() : new BitSet());
+            }
+        });
+
+        BitSet matching = intersect(current.all(), selections, null);
+        List<Long> ids = new ArrayList<>();
+        long skipped = 0;
+        for (int position = matching.nextSetBit(0); position >= 0 && ids.size() < limit; position = matching.nextSetBit(position + 1)) {
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            ids.add(current.ids()[position]);
+        }
+
+        Map<String, List<EventBrowseResponse.FacetCount>> counts = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            // Selections on the other facets only, so the alternatives to this one stay visible
+            BitSet base = selections.size() == (selections.containsKey(facet) ? 1 : 0)
+                    ? null
+                    : intersect(current.all(), selections, facet);
+            List<EventBrowseResponse.FacetCount> values = new ArrayList<>();
+            current.facets().get(facet).forEach((value, facetValue) -> {
+                int count;
+                if (base == null) {
+                    count = facetValue.events().cardinality();
+                } else {
+                    BitSet both = (BitSet) facetValue.events().clone();
+                    both.and(base);
+                    count = both.cardinality();
+                }
+                if (count > 0 || selections.containsKey(facet) && value.equals(key(selected.get(facet)))) {
+                    values.add(new EventBrowseResponse.FacetCount(value, facetValue.label(), count));
+                }
+            });
+            // Price bands and months keep their natural order; the rest go by popularity
+            if (facet.equals(CATEGORY) || facet.equals(LOCATION)) {
+                values.sort(Comparator.comparingInt(EventBrowseResponse.FacetCount::getCount).reversed()
+                        .thenComparing(EventBrowseResponse.FacetCount::getLabel));
+            }
+            counts.put(facet, values);
+        }
+        return new Result(ids, matching.cardinality(), counts);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void refresh() {
+        // Cleared first, so a change arriving during the build schedules another one
+        dirty.set(false);
+        try {
+            synchronized (this) {
+                snapshot = build();
+            }
+        } catch (Exception e) {
+            log.warn("Rebuilding the facet index failed, keeping the previous one. Error: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot build() {
+        List<EventFacetSource> rows = eventRepository.findFacetSourcesByStatus(Event.Status.PUBLISHED, LocalDateTime.now());
+        Map<String, Map<String, FacetValue>> facets = new LinkedHashMap<>();
+        FACETS.forEach(facet -> facets.put(facet, new LinkedHashMap<>()));
+        // Listed up front so the bands come out in ascending order
+        for (int band = 0; band < priceBounds.size(); band++) {
+            String label = priceBand(band);
+            facets.get(PRICE).put(key(label), new FacetValue(label, new BitSet()));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Long eventId = null;
+        int position = -1;
+        for (EventFacetSource row : rows) {
+            if (!row.getId().equals(eventId)) {
+                eventId = row.getId();
+                position = ids.size();
+                ids.add(eventId);
+                add(facets.get(CATEGORY), row.getCategory(), position);
+                add(facets.get(LOCATION), row.getCity(), position);
+                // Rows come in start-time order, so months are added in ascending order
+                if (row.getStartTime() != null) {
+                    add(facets.get(MONTH), MONTH_FORMAT.format(row.getStartTime()), position);
+                }
+            }
+            if (row.getPrice() != null && !priceBounds.isEmpty()) {
+                add(facets.get(PRICE), priceBand(bandOf(row.getPrice())), position);
+            }
+        }
+
+        BitSet all = new BitSet(ids.size());
+        all.set(0, ids.size());
+        log.debug("Facet index built with {} upcoming events", ids.size());
+        return new Snapshot(ids.stream().mapToLong(Long::longValue).toArray(), facets, all);
+    }
+
+    private int bandOf(BigDecimal price) {
+        int band = 0;
+        while (band + 1 < priceBounds.size() && price.compareTo(priceBounds.get(band + 1)) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private String priceBand(int band) {
+        String lower = priceBounds.get(band).toPlainString();
+        return band + 1 < priceBounds.size() ? lower + "-" + priceBounds.get(band + 1).toPlainString() : lower + "+";
+    }
+
+    private static void add(Map<String, FacetValue> values, String label, int position) {
+        if (label == null || label.isBlank()) {
+            return;
+        }
+        // Values differing only in case are one value, labelled as first seen
+        values.computeIfAbsent(key(label), key -> new FacetValue(label.trim(), new BitSet())).events().set(position);
+    }
+
+    private static BitSet intersect(BitSet all, Map<String, BitSet> selections, String except) {
+        BitSet result = (BitSet) all.clone();
+        selections.forEach((facet, events) -> {
+            if (!facet.equals(except)) {
+                result.and(events);
+            }
+        });
+        return result;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Result(List<Long> ids, int total, Map<String, List<EventBrowseResponse.FacetCount>> facets) {
+    }
+
+    // Never modified once published; a rebuild swaps in a new one
+    private record Snapshot(long[] ids, Map<String, Map<String, FacetValue>> facets, BitSet all) {
+    }
+
+    private record FacetValue(String label, BitSet events) {
+    }
+}
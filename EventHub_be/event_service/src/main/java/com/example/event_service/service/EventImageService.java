@@ -0,0 +1,138 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventListItemDto;
+import com.example.event_service.model.Event;
+import com.example.event_service.model.MediaAsset;
+import com.example.event_service.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves event images on their own endpoints so list and inter-service responses can leave
+ * the LONGTEXT image columns out. New images live in the {@link MediaService} store and the
+ * columns only hold links to them; rows saved before that still carry data URLs until
+ * {@link #migrateInlineImages} has moved them.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventImageService {
+    private static final Logger log = LoggerFactory.getLogger(EventImageService.class);
+
+    private final EventRepository eventRepository;
+    private final MediaService mediaService;
+    // Last event id of the current migration pass, so events whose images cannot be moved are not read again
+    private final AtomicLong migrationCursor = new AtomicLong();
+
+    // Public origin of the API gateway, since list responses are rendered by other origins
+    @Value("${event.media.base-url:}")
+    private String baseUrl;
+
+    public enum Kind {
+        LOGO, BANNER, COVER
+    }
+
+    /**
+     * An image either decoded from its data URL or, for images stored as plain links, the link.
+     */
+    public record Image(byte[] content, String contentType, String location) {
+    }
+
+    public Optional<Image> getImage(Long eventId, Kind kind) {
+        Optional<String> value = switch (kind) {
+            case LOGO -> eventRepository.findLogoUrlById(eventId);
+            case BANNER -> eventRepository.findBannerUrlById(eventId);
+            case COVER -> eventRepository.findCoverImageById(eventId);
+        };
+        return value.filter(v -> !v.isBlank()).flatMap(EventImageService::decode);
+    }
+
+    /**
+     * Replaces the image flags of list items with versioned image links. The version is the
+     * event's last update, so clients may cache a link for as long as they like.
+     */
+    public List<EventListItemDto> withImageUrls(List<EventListItemDto> items) {
+        for (EventListItemDto item : items) {
+            item.setLogoUrl(item.isHasLogo() ? imageUrl(item, Kind.LOGO) : null);
+            item.setBannerUrl(item.isHasBanner() ? imageUrl(item, Kind.BANNER) : null);
+            item.setCoverImage(item.isHasCover() ? imageUrl(item, Kind.COVER) : null);
+        }
+        return items;
+    }
+
+    /**
+     * Moves the inline images of the next batch of events into the media store. An event with
+     * an image the store rejects (not a supported image, or too large) keeps its inline images
+     * and is logged; the pass moves on past it and the next pass tries it again.
+     *
+     * @return number of events read in this batch; 0 once the pass is complete
+     */
+    @Transactional
+    public int migrateInlineImages(int batchSize) {
+        List<Long> ids = eventRepository.findIdsWithInlineImagesAfter(migrationCursor.get(), PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            migrationCursor.set(0);
+            return 0;
+        }
+        for (Event event : eventRepository.findAllById(ids)) {
+            try {
+                // All images of the event are stored before any column changes, so it never ends up half migrated
+                String logoUrl = mediaService.internalize(event.getLogoUrl());
+                String bannerUrl = mediaService.internalize(event.getBannerUrl());
+                String coverImage = mediaService.internalize(event.getCoverImage());
+                String organizerLogoUrl = event.getOrganizerInfo() != null
+                        ? mediaService.internalize(event.getOrganizerInfo().getLogoUrl())
+                        : null;
+                event.setLogoUrl(logoUrl);
+                event.setBannerUrl(bannerUrl);
+                event.setCoverImage(coverImage);
+                if (event.getOrganizerInfo() != null) {
+                    event.getOrganizerInfo().setLogoUrl(organizerLogoUrl);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Inline images of eventId: {} could not be moved to the media store, skipping it. Error: {}",
+                        event.getId(), e.getMessage());
+            }
+        }
+        migrationCursor.set(ids.get(ids.size() - 1));
+        return ids.size();
+    }
+
+    private String imageUrl(EventListItemDto item, Kind kind) {
+        long version = item.getUpdatedAt() != null ? item.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) : 0;
+        return baseUrl + "/api/events/" + item.getId() + "/images/" + kind.name().toLowerCase() + "?v=" + version;
+    }
+
+    // Data URLs of other types (e.g. text/html or image/svg+xml) are not served, since the
+    // bytes would be rendered from this origin
+    private static Optional<Image> decode(String value) {
+        if (!value.startsWith("data:")) {
+            return Optional.of(new Image(null, null, value));
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Malformed image data URL");
+        }
+        String meta = value.substring(5, comma);
+        String contentType = meta.contains(";") ? meta.substring(0, meta.indexOf(';')) : meta;
+        if (!meta.endsWith(";base64")) {
+            throw new IllegalArgumentException("Only base64 image data URLs are supported");
+        }
+        MediaAsset.Format format = MediaAsset.Format.fromContentType(contentType.trim());
+        if (format == null) {
+            return Optional.empty();
+        }
+        byte[] content = Base64.getMimeDecoder().decode(value.substring(comma + 1));
+        return Optional.of(new Image(content, format.getContentType(), null));
+    }
+}
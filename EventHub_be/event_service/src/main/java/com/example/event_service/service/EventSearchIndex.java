@@ -0,0 +1,357 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventSearchSource;
+import com.example.event_service.model.Event;
+import com.example.event_service.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local Lucene index over event name, description, category and venue that backs keyword
+ * search with relevance ranking. Text is lower-cased and accent-folded, so "ha noi" finds
+ * "Hà Nội"; names are indexed with their tone marks as well, so a match as typed ranks first.
+ * <p>
+ * Each replica rebuilds its index from the database in the background on startup and keeps
+ * it current from {@code event.changed} messages. Until a build is available, search falls
+ * back to the database.
+ */
+@Service
+public class EventSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String NAME = "name";
+    private static final String NAME_EXACT = "name_exact";
+    private static final String CATEGORY = "category";
+    private static final String VENUE = "venue";
+    private static final String DESCRIPTION = "description";
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+    private static final int MAX_QUERY_TERMS = 10;
+    private static final int REBUILD_BATCH = 500;
+
+    static {
+        FIELD_BOOSTS.put(NAME, 4f);
+        FIELD_BOOSTS.put(CATEGORY, 2f);
+        FIELD_BOOSTS.put(VENUE, 1.5f);
+        FIELD_BOOSTS.put(DESCRIPTION, 1f);
+    }
+
+    private final EventRepository eventRepository;
+    private final Path indexDir;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final Object writeLock = new Object();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ExecutorService rebuilder;
+    private volatile boolean ready;
+    // Guarded by writeLock; while set, the writer holds a partial index that must not be published
+    private boolean rebuilding;
+
+    @Value("${event.search.max-hits:1000}")
+    private int maxHits;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${event.search.index-dir:./data/search-index}") String indexDir) {
+        this.eventRepository = eventRepository;
+        this.indexDir = Paths.get(indexDir).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        // An index left by the previous run serves searches while the rebuild catches up
+        ready = writer.getDocStats().numDocs > 0;
+        rebuilder = Executors.newSingleThreadExecutor();
+        rebuilder.submit(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Building the search index failed, search uses the database", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        rebuilder.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Event ids matching every word of the keyword, best match first, at most
+     * {@code event.search.max-hits} of them.
+     *
+     * @return empty when the index cannot answer (not built yet, or no searchable words),
+     * in which case the caller should fall back to the database
+     */
+    public Optional<List<Long>> search(String keyword, Event.Status status) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Query query = buildQuery(keyword, status);
+        if (query == null) {
+            return Optional.empty();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, maxHits);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc, Set.of(ID)).get(ID)));
+                }
+                return Optional.of(ids);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.warn("Search index query failed, falling back to the database", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Re-reads the given events into the index; ids that no longer exist are removed.
+     */
+    public void update(Collection<Long> eventIds) {
+        try {
+            synchronized (writeLock) {
+                Map<Long, EventSearchSource> sources = eventRepository.findSearchSourcesByIdIn(eventIds).stream()
+                        .collect(Collectors.toMap(EventSearchSource::getId, Function.identity()));
+                for (Long eventId : eventIds) {
+                    Term id = new Term(ID, String.valueOf(eventId));
+                    EventSearchSource source = sources.get(eventId);
+                    if (source != null) {
+                        writer.updateDocument(id, toDocument(source));
+                    } else {
+                        writer.deleteDocuments(id);
+                    }
+                }
+                // A running rebuild publishes these together with its own changes
+                if (!rebuilding) {
+                    publish();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Updating the search index for events {} failed", eventIds, e);
+        }
+    }
+
+    /**
+     * Re-reads every event into the index. Searches keep using the previous index until the
+     * rebuild is complete; if it fails, they fall back to the database until a rebuild succeeds.
+     *
+     * @return number of events indexed
+     */
+    public synchronized int rebuild() {
+        boolean complete = false;
+        try {
+            synchronized (writeLock) {
+                rebuilding = true;
+                writer.deleteAll();
+            }
+            int indexed = 0;
+            long afterId = 0;
+            List<EventSearchSource> batch;
+            do {
+                // Updates may interleave between batches; each batch reads and writes under the lock
+                synchronized (writeLock) {
+                    batch = eventRepository.findSearchSourcesAfter(afterId, PageRequest.of(0, REBUILD_BATCH));
+                    for (EventSearchSource source : batch) {
+                        writer.updateDocument(new Term(ID, String.valueOf(source.getId())), toDocument(source));
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    indexed += batch.size();
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH);
+            synchronized (writeLock) {
+                publish();
+                rebuilding = false;
+                ready = true;
+            }
+            complete = true;
+            log.info("Search index rebuilt with {} events", indexed);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild the search index", e);
+        } finally {
+            if (!complete) {
+                synchronized (writeLock) {
+                    // The writer now holds a partial index, so it is not searched until a rebuild succeeds
+                    rebuilding = false;
+                    ready = false;
+                }
+            }
+        }
+    }
+
+    // Called with writeLock held
+    private void publish() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private Query buildQuery(String keyword, Event.Status status) {
+        String text = nfc(keyword);
+        List<String> folded = tokens(NAME, text);
+        if (folded.isEmpty()) {
+            return null;
+        }
+        if (folded.size() > MAX_QUERY_TERMS) {
+            folded = folded.subList(0, MAX_QUERY_TERMS);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < folded.size(); i++) {
+            String token = folded.get(i);
+            // The last word may still be being typed, so it also matches as a prefix
+            boolean prefix = i == folded.size() - 1 && token.length() >= 2;
+            List<Query> fields = new ArrayList<>();
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                fields.add(new BoostQuery(new TermQuery(new Term(field, token)), boost));
+                if (prefix) {
+                    fields.add(new BoostQuery(new PrefixQuery(new Term(field, token)), boost / 2));
+                }
+            });
+            query.add(new DisjunctionMaxQuery(fields, 0.1f), BooleanClause.Occur.MUST);
+        }
+        // Tone marks tell Vietnamese words apart, and syllables only make a word in order
+        for (String token : tokens(NAME_EXACT, text)) {
+            query.add(new TermQuery(new Term(NAME_EXACT, token)), BooleanClause.Occur.SHOULD);
+        }
+        if (folded.size() > 1) {
+            query.add(new BoostQuery(new PhraseQuery(NAME, folded.toArray(new String[0])), 2f), BooleanClause.Occur.SHOULD);
+        }
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> tokens(String field, String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private static Document toDocument(EventSearchSource source) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(source.getId()), Field.Store.YES));
+        if (source.getStatus() != null) {
+            document.add(new StringField(STATUS, source.getStatus().name(), Field.Store.NO));
+        }
+        addText(document, NAME, source.getName());
+        addText(document, NAME_EXACT, source.getName());
+        addText(document, CATEGORY, source.getCategory());
+        addText(document, VENUE, Stream.of(source.getVenueName(), source.getCity(), source.getAddress())
+                .filter(value -> value != null && !value.isBlank())
+                .collect(Collectors.joining(" ")));
+        addText(document, DESCRIPTION, source.getDescription());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, nfc(value), Field.Store.NO));
+        }
+    }
+
+    // Decomposed input (separate combining tone marks) would otherwise escape folding
+    private static String nfc(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFC);
+    }
+
+    /**
+     * Vietnamese separates syllables with spaces, so the standard tokenizer yields syllables;
+     * folding then maps tone marks and đ to ASCII. The exact name field keeps the marks.
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, filter(fieldName, tokenizer));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return filter(fieldName, in);
+        }
+
+        private static TokenStream filter(String fieldName, TokenStream in) {
+            TokenStream stream = new LowerCaseFilter(in);
+            return NAME_EXACT.equals(fieldName) ? stream : new ASCIIFoldingFilter(stream);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.event_service.service;
 
 import com.example.event_service.dto.EventTransferPolicyDto;
+import com.example.event_service.dto.EventBrowseResponse;
+import com.example.event_service.dto.EventInvoiceInfoDto;
+import com.example.event_service.dto.EventListItemDto;
+import com.example.event_service.dto.EventSummaryDto;
 import com.example.event_service.dto.EventWizardRequest;
-import com.example.event_service.dto.ReservationDto;
+import com.example.event_service.dto.InventoryReleaseRequest;
+import com.example.event_service.dto.SeatSectionDto;
 import com.example.event_service.dto.TicketTypeWithShowtimesDto;
 import com.example.event_service.dto.TicketConfigSyncRequest;
+import com.example.event_service.dto.TicketTypeSummaryDto;
 import com.example.event_service.feign_client.OrderServiceClient;
 import com.example.event_service.feign_client.TicketServiceClient;
 import com.example.event_service.model.Discount;
@@ -13,6 +19,7 @@ import com.example.event_service.model.EventInvoiceInfo;
 import com.example.event_service.model.EventOrganizerInfo;
 import com.example.event_service.model.EventPayoutInfo;
 import com.example.event_service.model.EventShowtime;
+import com.example.event_service.model.InventoryRelease;
 import com.example.event_service.model.Seat;
 import com.example.event_service.model.ShowtimeTicketAllocation;
 import com.example.event_service.model.TicketType;
@@ -20,6 +27,7 @@ import com.example.event_service.model.TicketZone;
 import com.example.event_service.model.Venue;
 import com.example.event_service.repository.DiscountRepository;
 import com.example.event_service.repository.EventRepository;
+import com.example.event_service.repository.InventoryReleaseRepository;
 import com.example.event_service.repository.SeatRepository;
 import com.example.event_service.repository.TicketTypeRepository;
 import com.example.event_service.specification.EventSpecification;
@@ -27,7 +35,11 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,8 +47,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -53,30 +67,39 @@ public class EventService {
     private final TicketTypeRepository ticketTypeRepository;
     private final DiscountRepository discountRepository;
     private final SeatRepository seatRepository;
+    private final InventoryReleaseRepository inventoryReleaseRepository;
     private final OrderServiceClient orderServiceClient; // Inject Feign Client
     private final TicketServiceClient ticketServiceClient;
+    private final InventoryEventPublisher inventoryEventPublisher;
+    private final EventImageService eventImageService;
+    private final MediaService mediaService;
+    private final AvailabilitySnapshotService availabilitySnapshotService;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventFacetIndex eventFacetIndex;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final EventChangePublisher eventChangePublisher;
 
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    public List<EventListItemDto> getAllEvents() {
+        return eventImageService.withImageUrls(eventRepository.findAllListItems());
     }
 
-    public List<Event> getEventsByStatus(Event.Status status) {
-        return eventRepository.findByStatus(status);
+    public List<EventListItemDto> getEventsByStatus(Event.Status status) {
+        return eventImageService.withImageUrls(eventRepository.findListItemsByStatus(status));
     }
 
-    public List<Event> getEventsByOrganizerAndStatus(String organizerId, Event.Status status) {
+    public List<EventListItemDto> getEventsByOrganizerAndStatus(String organizerId, Event.Status status) {
         try {
             java.util.UUID orgUuid = organizerId == null ? null : java.util.UUID.fromString(organizerId);
-            return eventRepository.findByOrganizerIdAndStatus(orgUuid, status);
+            return eventImageService.withImageUrls(eventRepository.findListItemsByOrganizerIdAndStatus(orgUuid, status));
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid organizerId format", e);
         }
     }
 
-    public List<Event> getEventsByOrganizer(String organizerId) {
+    public List<EventListItemDto> getEventsByOrganizer(String organizerId) {
         try {
             java.util.UUID orgUuid = organizerId == null ? null : java.util.UUID.fromString(organizerId);
-            return eventRepository.findByOrganizerId(orgUuid);
+            return eventImageService.withImageUrls(eventRepository.findListItemsByOrganizerId(orgUuid));
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid organizerId format", e);
         }
@@ -91,7 +114,13 @@ public class EventService {
         // Ensure default values are set if not provided
         if (event.getAllowTicketTransfer() == null) event.setAllowTicketTransfer(false);
         if (event.getAllowAttendeeNameChange() == null) event.setAllowAttendeeNameChange(false);
-        return eventRepository.save(event);
+        event.setLogoUrl(mediaService.internalize(event.getLogoUrl()));
+        event.setBannerUrl(mediaService.internalize(event.getBannerUrl()));
+        event.setCoverImage(mediaService.internalize(event.getCoverImage()));
+        Event saved = eventRepository.save(event);
+        updatePriceRanges(List.of(saved.getId()));
+        eventChangePublisher.publishAfterCommit(List.of(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -104,7 +133,7 @@ public class EventService {
         existing.setVenue(updated.getVenue()); // Assuming venue is handled as an entity or ID
         existing.setStartTime(updated.getStartTime());
         existing.setEndTime(updated.getEndTime());
-        existing.setCoverImage(updated.getCoverImage());
+        existing.setCoverImage(mediaService.internalize(updated.getCoverImage()));
         // Status update is handled via specific workflows (submit/approve/cancel)
         existing.setAllowTicketTransfer(updated.getAllowTicketTransfer()); // Update new field
         existing.setAllowAttendeeNameChange(updated.getAllowAttendeeNameChange()); // Update new field
@@ -112,6 +141,7 @@ public class EventService {
         existing.setRefundDeadlineHours(updated.getRefundDeadlineHours());
         existing.setRefundFeePercent(updated.getRefundFeePercent());
         Event savedEvent = eventRepository.save(existing);
+        eventChangePublisher.publishAfterCommit(List.of(id));
         log.debug("Event ID {} updated to: {}", id, savedEvent);
         return savedEvent;
     }
@@ -120,6 +150,7 @@ public class EventService {
     public Event cancelEvent(Long id) {
         Event event = getById(id);
         event.setStatus(Event.Status.CANCELLED);
+        eventChangePublisher.publishAfterCommit(List.of(id));
         return eventRepository.save(event);
     }
 
@@ -130,6 +161,7 @@ public class EventService {
             throw new RuntimeException("Only DRAFT events can be submitted for approval.");
         }
         event.setStatus(Event.Status.PENDING_APPROVAL);
+        eventChangePublisher.publishAfterCommit(List.of(id));
         return eventRepository.save(event);
     }
 
@@ -152,6 +184,7 @@ public class EventService {
             throw new RuntimeException("Only PENDING_APPROVAL events can be approved.");
         }
         event.setStatus(Event.Status.PUBLISHED);
+        eventChangePublisher.publishAfterCommit(List.of(id));
         return eventRepository.save(event);
     }
     
@@ -159,11 +192,13 @@ public class EventService {
     public Event updateStatus(Long id, Event.Status status) {
         Event event = getById(id);
         event.setStatus(status);
+        eventChangePublisher.publishAfterCommit(List.of(id));
         return eventRepository.save(event);
     }
 
     public void deleteEvent(Long id) {
         eventRepository.deleteById(id);
+        eventChangePublisher.publishAfterCommit(List.of(id));
     }
 
     public boolean customUrlExists(String customUrl, Long excludeEventId) {
@@ -175,16 +210,54 @@ public class EventService {
     }
 
     // Methods for TicketType management
+    @Transactional
     public TicketType addTicketTypeToEvent(Long eventId, TicketType ticketType) {
         Event event = getById(eventId);
         ticketType.setEvent(event);
-        return ticketTypeRepository.save(ticketType);
+        TicketType saved = ticketTypeRepository.save(ticketType);
+        updatePriceRanges(List.of(eventId));
+        availabilitySnapshotService.markChangedAfterCommit(List.of(eventId));
+        eventChangePublisher.publishAfterCommit(List.of(eventId));
+        return saved;
     }
 
     public List<TicketType> getTicketTypesForEvent(Long eventId) {
         return ticketTypeRepository.findByEventId(eventId);
     }
 
+    public List<EventSummaryDto> getEventSummaries(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return eventRepository.findSummariesByIdIn(ids);
+    }
+
+    public EventSummaryDto getEventSummary(Long id) {
+        return eventRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+    }
+
+    public List<EventInvoiceInfoDto> getInvoiceInfos(List<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return List.of();
+        }
+        return eventRepository.findInvoiceInfosByEventIdIn(eventIds);
+    }
+
+    public List<SeatSectionDto> getSeatSections(List<Long> seatIds) {
+        if (seatIds == null || seatIds.isEmpty()) {
+            return List.of();
+        }
+        return seatRepository.findSectionsByIdIn(seatIds);
+    }
+
+    public List<TicketTypeSummaryDto> getTicketTypeSummaries(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ticketTypeRepository.findSummariesByIdIn(ids);
+    }
+
     public TicketType getTicketTypeById(Long id) {
         return ticketTypeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket type not found"));
@@ -209,8 +282,8 @@ public class EventService {
         event.setName(request.getName());
         event.setCategory(request.getCategory());
         event.setDescription(request.getDescription());
-        event.setLogoUrl(request.getLogoUrl());
-        event.setBannerUrl(request.getBannerUrl());
+        event.setLogoUrl(mediaService.resolveImage(request.getLogoMediaId(), request.getLogoUrl()));
+        event.setBannerUrl(mediaService.resolveImage(request.getBannerMediaId(), request.getBannerUrl()));
         event.setCustomUrl(getCustomUrl(request));
         event.setPrivacy(getPrivacy(request));
 
@@ -235,7 +308,11 @@ public class EventService {
 
         applyEventTimesFromShowtimes(event, showtimes);
         event.setStatus(submit ? Event.Status.PENDING_APPROVAL : Event.Status.DRAFT);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        updatePriceRanges(List.of(saved.getId()));
+        availabilitySnapshotService.markChangedAfterCommit(List.of(saved.getId()));
+        eventChangePublisher.publishAfterCommit(List.of(saved.getId()));
+        return saved;
     }
 
     private String resolveEventCode(String existing, String requested) {
@@ -300,7 +377,7 @@ public class EventService {
         EventOrganizerInfo info = event.getOrganizerInfo() != null ? event.getOrganizerInfo() : new EventOrganizerInfo();
         info.setOrganizerCode(organizer.getOrganizerCode());
         info.setOrganizerName(organizer.getOrganizerName());
-        info.setLogoUrl(organizer.getLogoUrl());
+        info.setLogoUrl(mediaService.resolveImage(organizer.getLogoMediaId(), organizer.getLogoUrl()));
         info.setDescription(organizer.getDescription());
         info.setTermsAgreed(organizer.getTermsAgreed());
         info.setAccountStatus(organizer.getAccountStatus());
@@ -641,21 +718,95 @@ public class EventService {
         if (quantity == null || quantity < 1) {
             throw new IllegalArgumentException("Quantity must be at least 1");
         }
-        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
+        if (ticketTypeRepository.decrementQuota(ticketTypeId, quantity) == 0) {
+            TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
+                    .orElseThrow(() -> new RuntimeException("Ticket type not found"));
+            if (ticketType.getQuota() == null) {
+                throw new RuntimeException("Ticket quota not configured for ticket type " + ticketTypeId);
+            }
+            throw new RuntimeException("Not enough tickets available for ticket type " + ticketTypeId);
+        }
+        TicketType saved = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new RuntimeException("Ticket type not found"));
-        Integer quota = ticketType.getQuota();
-        if (quota == null) {
-            throw new RuntimeException("Ticket quota not configured for ticket type " + ticketTypeId);
+        availabilitySnapshotService.markChangedAfterCommit(eventIdsOf(List.of(saved)));
+        // order_service rejects further attempts locally until quota comes back
+        if (saved.getQuota() == 0) {
+            inventoryEventPublisher.publishAfterCommit(List.of(saved));
         }
-        if (quota < quantity) {
-            throw new RuntimeException("Not enough tickets available for ticket type " + ticketTypeId);
+        return saved;
+    }
+
+    /**
+     * Returns quota and discount usage held by cancelled orders in one call.
+     * Releases whose key was applied before are skipped, so callers may retry a call whose
+     * outcome they never saw. Quota and usage are changed in place, so releases never overwrite
+     * concurrent checkouts.
+     */
+    @Transactional
+    public void releaseInventory(InventoryReleaseRequest request) {
+        List<InventoryReleaseRequest.Release> releases = request.getReleases() != null ? request.getReleases() : List.of();
+        Set<String> keys = releases.stream().map(InventoryReleaseRequest.Release::getKey).collect(Collectors.toSet());
+        Set<String> applied = keys.isEmpty() ? Set.of() : new HashSet<>(inventoryReleaseRepository.findReleaseKeysIn(keys));
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        Map<String, InventoryReleaseRequest.DiscountUsageRelease> discountUsages = new HashMap<>();
+        Set<String> released = new HashSet<>();
+        for (InventoryReleaseRequest.Release release : releases) {
+            // Keys repeated within the request are applied once as well
+            if (applied.contains(release.getKey()) || !released.add(release.getKey())) {
+                continue;
+            }
+            if (release.getTicketTypeQuantities() != null) {
+                release.getTicketTypeQuantities().forEach((ticketTypeId, quantity) -> {
+                    if (quantity != null && quantity > 0) {
+                        quantities.merge(ticketTypeId, quantity, Integer::sum);
+                    }
+                });
+            }
+            if (release.getDiscountUsages() != null) {
+                for (InventoryReleaseRequest.DiscountUsageRelease usage : release.getDiscountUsages()) {
+                    if (usage.getCount() != null && usage.getCount() > 0) {
+                        discountUsages.merge(usage.getEventId() + ":" + usage.getCode(), usage,
+                                (a, b) -> new InventoryReleaseRequest.DiscountUsageRelease(a.getEventId(), a.getCode(),
+                                        a.getCount() + b.getCount()));
+                    }
+                }
+            }
         }
-        ticketType.setQuota(quota - quantity);
-        return ticketTypeRepository.save(ticketType);
+
+        if (!quantities.isEmpty()) {
+            quantities.forEach(ticketTypeRepository::incrementQuota);
+            List<TicketType> ticketTypes = ticketTypeRepository.findAllById(quantities.keySet());
+            // Sold out before this release, as far as the released amount tells
+            List<TicketType> backInStock = ticketTypes.stream()
+                    .filter(ticketType -> ticketType.getQuota() != null
+                            && ticketType.getQuota() - quantities.get(ticketType.getId()) <= 0)
+                    .collect(Collectors.toList());
+            inventoryEventPublisher.publishAfterCommit(backInStock);
+            availabilitySnapshotService.markChangedAfterCommit(eventIdsOf(ticketTypes));
+        }
+
+        for (InventoryReleaseRequest.DiscountUsageRelease usage : discountUsages.values()) {
+            discountRepository.releaseUsage(usage.getEventId(), usage.getCode(), usage.getCount());
+        }
+
+        // A concurrent call with the same key fails on the primary key and rolls back as a whole
+        inventoryReleaseRepository.saveAll(released.stream()
+                .map(key -> InventoryRelease.builder().releaseKey(key).build())
+                .collect(Collectors.toList()));
+        log.info("Released inventory of {} sources ({} already released) for {} ticket types and {} discount codes",
+                released.size(), applied.size(), quantities.size(), discountUsages.size());
     }
 
+    @Transactional
     public void deleteTicketType(Long ticketTypeId) {
+        List<Long> eventIds = ticketTypeRepository.findById(ticketTypeId)
+                .map(ticketType -> eventIdsOf(List.of(ticketType)))
+                .orElse(List.of());
         ticketTypeRepository.deleteById(ticketTypeId);
+        updatePriceRanges(eventIds);
+        availabilitySnapshotService.markChangedAfterCommit(eventIds);
+        eventChangePublisher.publishAfterCommit(eventIds);
     }
 
     // Methods for Discount management
@@ -680,32 +831,25 @@ public class EventService {
 
     @Transactional
     public void incrementDiscountUsedCount(Long discountId) {
-        Discount discount = discountRepository.findById(discountId)
-                .orElseThrow(() -> new RuntimeException("Discount not found with id: " + discountId));
-        if (discount.getUsedCount() == null) {
-            discount.setUsedCount(0);
+        if (discountRepository.incrementUsedCount(discountId) == 0) {
+            throw new RuntimeException("Discount not found with id: " + discountId);
         }
-        discount.setUsedCount(discount.getUsedCount() + 1);
-        discountRepository.save(discount);
     }
 
     // Methods for Seat management
     public List<Seat> addSeatsToEvent(Long eventId, List<Seat> seats) {
         Event event = getById(eventId);
         seats.forEach(seat -> seat.setEvent(event));
-        return seatRepository.saveAll(seats);
+        List<Seat> saved = seatRepository.saveAll(seats);
+        eventChangePublisher.publishAfterCommit(List.of(eventId));
+        return saved;
     }
 
     // Modified getSeatsForEvent to include real-time availability from reservations
     public List<Seat> getSeatsForEvent(Long eventId) {
         List<Seat> seats = seatRepository.findByEventId(eventId);
-        List<ReservationDto> activeReservations = orderServiceClient.getActiveReservationsForEvent(eventId);
-
-        // Collect seatIds that are currently reserved
-        Set<Long> reservedSeatIds = activeReservations.stream()
-                .filter(r -> r.getSeatId() != null)
-                .map(ReservationDto::getSeatId)
-                .collect(Collectors.toSet());
+        // Held seats come from the seat map instead of a reservation lookup per call
+        Set<Long> reservedSeatIds = seatAvailabilityService.getHeldSeatIds(eventId);
 
         // Update the availability status of seats based on reservations
         return seats.stream().map(seat -> {
@@ -723,6 +867,7 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Seat not found"));
         seat.setIsAvailable(isAvailable);
         seatRepository.save(seat);
+        eventChangePublisher.publishAfterCommit(eventIdsOfSeat(seat));
     }
 
     public void updateSeatLockStatus(Long seatId, Boolean locked) {
@@ -730,6 +875,11 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Seat not found"));
         seat.setLocked(locked);
         seatRepository.save(seat);
+        eventChangePublisher.publishAfterCommit(eventIdsOfSeat(seat));
+    }
+
+    private static List<Long> eventIdsOfSeat(Seat seat) {
+        return Collections.singletonList(seat.getEvent() != null ? seat.getEvent().getId() : null);
     }
 
     // New method to get event transfer policies
@@ -741,84 +891,101 @@ public class EventService {
                 .build();
     }
 
-    public Page<Event> searchEvents(String keyword, String category, LocalDateTime startTime, LocalDateTime endTime, BigDecimal minPrice, BigDecimal maxPrice, String location, Event.Status status, Pageable pageable) {
+    public Page<EventListItemDto> searchEvents(String keyword, String category, LocalDateTime startTime, LocalDateTime endTime, BigDecimal minPrice, BigDecimal maxPrice, String location, Event.Status status, Pageable pageable) {
+        if (keyword != null && !keyword.isBlank()) {
+            Optional<List<Long>> ranked = eventSearchIndex.search(keyword, status);
+            if (ranked.isPresent()) {
+                return searchRanked(ranked.get(), category, startTime, endTime, minPrice, maxPrice, location, status, pageable);
+            }
+        }
         Specification<Event> spec = EventSpecification.withFilters(keyword, category, startTime, endTime, minPrice, maxPrice, location, status);
-        return eventRepository.findAll(spec, pageable);
+        return toListItemPage(eventRepository.findIds(spec, pageable), pageable);
+    }
+
+    /**
+     * Upcoming published events for the browse page, in start-time order, with counts for every facet.
+     * Served from the in-memory facet index; only the page itself is read from the database.
+     */
+    public EventBrowseResponse browseEvents(String category, String location, String price, String month, Pageable pageable) {
+        Map<String, String> selected = new HashMap<>();
+        selected.put(EventFacetIndex.CATEGORY, category);
+        selected.put(EventFacetIndex.LOCATION, location);
+        selected.put(EventFacetIndex.PRICE, price);
+        selected.put(EventFacetIndex.MONTH, month);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        EventFacetIndex.Result result = eventFacetIndex.query(selected, offset, limit);
+        Pageable page = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+        return EventBrowseResponse.builder()
+                .events(toListItemPage(new PageImpl<>(result.ids(), page, result.total()), page))
+                .facets(result.facets())
+                .build();
+    }
+
+    // Keyword hits come ranked from the search index; the database only applies the other filters
+    private Page<EventListItemDto> searchRanked(List<Long> ranked, String category, LocalDateTime startTime, LocalDateTime endTime, BigDecimal minPrice, BigDecimal maxPrice, String location, Event.Status status, Pageable pageable) {
+        if (ranked.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        boolean filtered = category != null || startTime != null || endTime != null || minPrice != null
+                || maxPrice != null || location != null;
+        Specification<Event> spec = EventSpecification.withFilters(null, category, startTime, endTime, minPrice, maxPrice, location, status)
+                .and(EventSpecification.idIn(ranked));
+        if (pageable.getSort().isSorted()) {
+            return toListItemPage(eventRepository.findIds(spec, pageable), pageable);
+        }
+        List<Long> matching = ranked;
+        if (filtered) {
+            Set<Long> kept = new HashSet<>(eventRepository.findIds(spec, Pageable.unpaged()).getContent());
+            matching = ranked.stream().filter(kept::contains).collect(Collectors.toList());
+        }
+        if (pageable.isUnpaged()) {
+            return toListItemPage(new PageImpl<>(matching), pageable);
+        }
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        return toListItemPage(new PageImpl<>(matching.subList(from, to), pageable, matching.size()), pageable);
+    }
+
+    // Loads one page of ids as list items, in the same order
+    private Page<EventListItemDto> toListItemPage(Page<Long> ids, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, EventListItemDto> items = eventRepository.findListItemsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(EventListItemDto::getId, item -> item));
+        List<EventListItemDto> page = ids.getContent().stream()
+                .map(items::get)
+                .filter(java.util.Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(eventImageService.withImageUrls(page), pageable, ids.getTotalElements());
     }
 
     public List<TicketTypeWithShowtimesDto> getTicketTypesWithShowtimes(Long eventId) {
-        Event event = getById(eventId);
-        List<TicketType> ticketTypes = event.getTicketTypes();
-        List<EventShowtime> showtimes = event.getShowtimes();
-
-        return ticketTypes.stream().map(ticketType -> {
-            // Get sold count for this ticket type across all showtimes
-            Integer totalSoldQty = 0;
-            try {
-                Integer soldCount = orderServiceClient.getSoldCountForTicketType(eventId, ticketType.getId());
-                totalSoldQty = soldCount != null ? soldCount : 0;
-                log.info("Successfully fetched sold count for ticketTypeId: {}, eventId: {}, count: {}", 
-                    ticketType.getId(), eventId, totalSoldQty);
-            } catch (Exception e) {
-                log.warn("Failed to get sold count for ticketTypeId: {} in eventId: {}, defaulting to 0. Error: {} | Cause: {}", 
-                    ticketType.getId(), eventId, e.getMessage(), e.getCause() != null ? e.getCause().getMessage() : "none", e);
-                totalSoldQty = 0; // Default to 0 if service call fails
-            }
+        return availabilitySnapshotService.getTicketTypesWithShowtimes(eventId);
+    }
 
-            // Calculate total allocated for this ticket type
-            Integer totalAllocated = showtimes.stream()
-                    .flatMap(s -> s.getAllocations().stream())
-                    .filter(a -> a.getTicketType().getId().equals(ticketType.getId()))
-                    .mapToInt(ShowtimeTicketAllocation::getQuantity)
-                    .sum();
+    // Keeps the ticket price range on the event rows in step with their ticket types
+    public void updatePriceRanges(List<Long> eventIds) {
+        List<Long> ids = eventIds.stream().filter(java.util.Objects::nonNull).distinct().collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            eventRepository.updatePriceRanges(ids);
+        }
+    }
 
-            final Integer totalSoldForTicketType = totalSoldQty;
-            
-            List<TicketTypeWithShowtimesDto.ShowtimeAvailabilityDto> showtimeAvailabilities = showtimes.stream()
-                    .map(showtime -> {
-                        // Find allocation for this showtime-ticketType pair
-                        ShowtimeTicketAllocation allocation = showtime.getAllocations().stream()
-                                .filter(a -> a.getTicketType().getId().equals(ticketType.getId()))
-                                .findFirst()
-                                .orElse(null);
-
-                        Integer allocatedQty = allocation != null ? allocation.getQuantity() : 0;
-                        
-                        // Distribute total sold quantity proportionally to each showtime
-                        // If no allocations, proportion = 0
-                        Integer soldQty = totalAllocated > 0 ? 
-                                Math.round((float) totalSoldForTicketType * allocatedQty / totalAllocated) : 0;
-                        
-                        Integer reservedQty = 0; // TODO: Get from cart/pending orders if needed
-
-                        return TicketTypeWithShowtimesDto.ShowtimeAvailabilityDto.builder()
-                                .showtimeId(showtime.getId())
-                                .showtimeCode(showtime.getCode())
-                                .startTime(showtime.getStartTime())
-                                .endTime(showtime.getEndTime())
-                                .allocatedQuantity(allocatedQty)
-                                .soldQuantity(soldQty)
-                                .reservedQuantity(reservedQty)
-                                .build();
-                    })
-                    .filter(s -> s.getAllocatedQuantity() > 0) // Only show showtimes with allocation for this ticket type
-                    .collect(Collectors.toList());
+    // Fills the price range of events saved before the columns existed; a no-op afterwards
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPriceRanges() {
+        int updated = eventRepository.backfillPriceRanges();
+        if (updated > 0) {
+            log.info("Filled the ticket price range of {} events", updated);
+        }
+    }
 
-            return TicketTypeWithShowtimesDto.builder()
-                    .id(ticketType.getId())
-                    .code(ticketType.getCode())
-                    .name(ticketType.getName())
-                    .price(ticketType.getPrice())
-                    .quota(ticketType.getQuota()) // Total quota from ticket_types table
-                    .purchaseLimit(ticketType.getPurchaseLimit())
-                    .saleStart(ticketType.getStartSale())
-                    .saleEnd(ticketType.getEndSale())
-                    .description(ticketType.getDescription())
-                    .showtimes(showtimeAvailabilities)
-                    .build();
-        })
-        .filter(tt -> !tt.getShowtimes().isEmpty()) // Only show ticket types with available showtimes
-        .collect(Collectors.toList());
+    private static List<Long> eventIdsOf(List<TicketType> ticketTypes) {
+        return ticketTypes.stream()
+                .map(ticketType -> ticketType.getEvent() != null ? ticketType.getEvent().getId() : null)
+                .collect(Collectors.toList());
     }
 
     // Debug method to test OrderServiceClient
@@ -0,0 +1,59 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.InventoryChangedEvent;
+import com.example.event_service.model.TicketType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryEventPublisher {
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventPublisher.class);
+    private static final String INVENTORY_CHANGED_TOPIC = "inventory.changed";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Sends the current quota of the given ticket types once the surrounding transaction
+     * commits, so consumers never see a change that was rolled back.
+     */
+    public void publishAfterCommit(List<TicketType> ticketTypes) {
+        if (ticketTypes.isEmpty()) {
+            return;
+        }
+        List<InventoryChangedEvent> events = ticketTypes.stream()
+                .map(ticketType -> InventoryChangedEvent.builder()
+                        .ticketTypeId(ticketType.getId())
+                        .eventId(ticketType.getEvent() != null ? ticketType.getEvent().getId() : null)
+                        .quota(ticketType.getQuota())
+                        .build())
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(events);
+            }
+        });
+    }
+
+    private void send(List<InventoryChangedEvent> events) {
+        for (InventoryChangedEvent event : events) {
+            try {
+                kafkaTemplate.send(INVENTORY_CHANGED_TOPIC, String.valueOf(event.getTicketTypeId()), event);
+            } catch (Exception e) {
+                log.error("Failed to publish inventory change for ticketTypeId: {}", event.getTicketTypeId(), e);
+            }
+        }
+    }
+}
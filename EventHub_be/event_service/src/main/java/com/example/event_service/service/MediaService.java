@@ -0,0 +1,282 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.MediaAssetDto;
+import com.example.event_service.model.MediaAsset;
+import com.example.event_service.repository.MediaAssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores event images in the {@link MediaStore} and records them as {@link MediaAsset}s.
+ * PNG and JPEG uploads are resized into a few width variants once, at upload time, so
+ * clients can pick a size without the server ever scaling on a read.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaService {
+    private static final Map<String, Integer> VARIANT_WIDTHS = new LinkedHashMap<>();
+    private static final int HEADER_BYTES = 16;
+
+    static {
+        VARIANT_WIDTHS.put("sm", 320);
+        VARIANT_WIDTHS.put("md", 960);
+        VARIANT_WIDTHS.put("lg", 1920);
+    }
+
+    private final MediaStore mediaStore;
+    private final MediaAssetRepository mediaAssetRepository;
+
+    // Public origin of the API gateway, since media links are rendered by other origins
+    @Value("${event.media.base-url:}")
+    private String baseUrl;
+
+    @Value("${event.media.max-bytes:10485760}")
+    private long maxBytes;
+
+    // Guards against small files that decode into huge bitmaps
+    @Value("${event.media.max-pixels:40000000}")
+    private long maxPixels;
+
+    public Optional<MediaAsset> find(String hash) {
+        return mediaAssetRepository.findById(hash);
+    }
+
+    /**
+     * Stores an image and its variants. Uploading the same bytes again returns the existing asset.
+     *
+     * @throws IllegalArgumentException when the content is too large or not a supported image
+     */
+    public MediaAsset storeImage(byte[] content) {
+        return storeImage(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Streaming variant of {@link #storeImage(byte[])}: the bytes go straight to the store and
+     * are only read back, from disk, to make the variants.
+     */
+    public MediaAsset storeImage(InputStream content) {
+        BufferedInputStream input = new BufferedInputStream(content);
+        byte[] header;
+        try {
+            input.mark(HEADER_BYTES);
+            header = input.readNBytes(HEADER_BYTES);
+            input.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload", e);
+        }
+        MediaAsset.Format format = detectFormat(header);
+        String hash = mediaStore.store(input, format.getExtension(), maxBytes);
+        Optional<MediaAsset> existing = mediaAssetRepository.findById(hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Path file = mediaStore.resolve(hash, format.getExtension());
+        MediaAsset asset = MediaAsset.builder()
+                .hash(hash)
+                .format(format)
+                .sizeBytes(file.toFile().length())
+                .build();
+        if (format == MediaAsset.Format.PNG || format == MediaAsset.Format.JPEG) {
+            addVariants(asset, file);
+        }
+        return mediaAssetRepository.save(asset);
+    }
+
+    /**
+     * Link for an image given either as an uploaded media id or, for older clients, inline.
+     *
+     * @throws IllegalArgumentException when the media id is unknown
+     */
+    public String resolveImage(String mediaId, String inlineOrLink) {
+        if (mediaId == null || mediaId.isBlank()) {
+            return internalize(inlineOrLink);
+        }
+        return find(mediaId.trim())
+                .map(this::url)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown media id " + mediaId));
+    }
+
+    /**
+     * Moves an inline base64 data URL into the store and returns the link to it. Anything
+     * else (links, blanks, null) is returned unchanged.
+     */
+    public String internalize(String value) {
+        if (value == null || !value.startsWith("data:")) {
+            return value;
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0 || !value.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Only base64 image data URLs are supported.");
+        }
+        byte[] content = Base64.getMimeDecoder().decode(value.substring(comma + 1));
+        return url(storeImage(content));
+    }
+
+    public String url(MediaAsset asset) {
+        return url(asset.getHash(), asset.getFormat());
+    }
+
+    public String url(String hash, MediaAsset.Format format) {
+        return baseUrl + "/api/media/files/" + hash + "." + format.getExtension();
+    }
+
+    public MediaAssetDto toDto(MediaAsset asset) {
+        Map<String, String> variants = new LinkedHashMap<>();
+        VARIANT_WIDTHS.keySet().forEach(name -> {
+            String variantHash = asset.getVariants().get(name);
+            if (variantHash != null) {
+                variants.put(name, url(variantHash, asset.getFormat()));
+            }
+        });
+        return MediaAssetDto.builder()
+                .id(asset.getHash())
+                .contentType(asset.getFormat().getContentType())
+                .sizeBytes(asset.getSizeBytes())
+                .width(asset.getWidth())
+                .height(asset.getHeight())
+                .url(url(asset))
+                .variants(variants)
+                .build();
+    }
+
+    private void addVariants(MediaAsset asset, Path file) {
+        BufferedImage source;
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Image could not be decoded.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Image dimensions are too large.");
+                }
+                asset.setWidth(width);
+                asset.setHeight(height);
+                source = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            // e.g. CMYK JPEGs; the original is still served, just without variants
+            log.warn("Could not decode image {} for resizing: {}", asset.getHash(), e.getMessage());
+            return;
+        }
+
+        for (Map.Entry<String, Integer> variant : VARIANT_WIDTHS.entrySet()) {
+            if (variant.getValue() >= source.getWidth()) {
+                break;
+            }
+            try {
+                byte[] resized = encode(resize(source, variant.getValue(), asset.getFormat()), asset.getFormat());
+                asset.getVariants().put(variant.getKey(), mediaStore.store(resized, asset.getFormat().getExtension()));
+            } catch (IOException e) {
+                log.warn("Could not write {} variant of image {}", variant.getKey(), asset.getHash(), e);
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int targetWidth, MediaAsset.Format format) {
+        int type = format == MediaAsset.Format.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        // Halving step by step keeps bilinear scaling from dropping detail on large reductions
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, MediaAsset.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format == MediaAsset.Format.PNG) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.85f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    static MediaAsset.Format detectFormat(byte[] content) {
+        if (startsWith(content, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A})) {
+            return MediaAsset.Format.PNG;
+        }
+        if (startsWith(content, 0, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})) {
+            return MediaAsset.Format.JPEG;
+        }
+        if (startsWith(content, 0, "GIF87a".getBytes(StandardCharsets.US_ASCII))
+                || startsWith(content, 0, "GIF89a".getBytes(StandardCharsets.US_ASCII))) {
+            return MediaAsset.Format.GIF;
+        }
+        if (startsWith(content, 0, "RIFF".getBytes(StandardCharsets.US_ASCII))
+                && startsWith(content, 8, "WEBP".getBytes(StandardCharsets.US_ASCII))) {
+            return MediaAsset.Format.WEBP;
+        }
+        throw new IllegalArgumentException("Unsupported image format, use PNG, JPEG, GIF or WebP.");
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] prefix) {
+        if (content.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (content[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.event_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed blob store for event media: each file is named after the SHA-256 of its
+ * bytes and fanned out into 256 sub-directories. Files never change once written, so the
+ * same image uploaded twice is stored once and the hash doubles as a strong ETag.
+ */
+@Service
+public class MediaStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public MediaStore(@Value("${event.media.storage-dir:./data/media}") String storageDir) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    public static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(newDigest().digest(content));
+    }
+
+    /**
+     * @return hex SHA-256 under which the content is stored
+     */
+    public String store(byte[] content, String extension) {
+        String hash = sha256(content);
+        Path target = resolve(hash, extension);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Path tmp = createTempFile();
+            try {
+                Files.write(tmp, content);
+                moveIntoPlace(tmp, target);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store media " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * Copies a stream into the store through one fixed-size buffer, hashing on the way, so
+     * an upload never has to fit in memory.
+     *
+     * @return hex SHA-256 under which the content is stored
+     * @throws IllegalArgumentException when the stream is longer than {@code maxBytes}
+     */
+    public String store(InputStream content, String extension, long maxBytes) {
+        try {
+            Path tmp = createTempFile();
+            try {
+                MessageDigest digest = newDigest();
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long size = 0;
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    int read;
+                    while ((read = content.read(buffer)) != -1) {
+                        size += read;
+                        if (size > maxBytes) {
+                            throw new IllegalArgumentException("Upload exceeds " + maxBytes + " bytes.");
+                        }
+                        digest.update(buffer, 0, read);
+                        out.write(buffer, 0, read);
+                    }
+                }
+                String hash = HexFormat.of().formatHex(digest.digest());
+                moveIntoPlace(tmp, resolve(hash, extension));
+                return hash;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store upload", e);
+        }
+    }
+
+    public Path resolve(String hash, String extension) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid content hash.");
+        }
+        if (extension == null || !extension.matches("[a-z0-9]{1,5}")) {
+            throw new IllegalArgumentException("Invalid media extension.");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    // Temp files live inside the store, so moving one into place never crosses file systems
+    private Path createTempFile() throws IOException {
+        Path tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        return Files.createTempFile(tmpDir, "media", ".tmp");
+    }
+
+    // Readers never see a partial file: the complete file is moved in under its final name
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target);
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently by another upload
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.ReservationDto;
+import com.example.event_service.dto.SeatAvailabilityDeltaDto;
+import com.example.event_service.dto.SeatAvailabilityMapDto;
+import com.example.event_service.dto.SeatLayoutDto;
+import com.example.event_service.dto.SeatLayoutItemDto;
+import com.example.event_service.dto.SeatStateDto;
+import com.example.event_service.feign_client.OrderServiceClient;
+import com.example.event_service.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-event seat maps: the seats of an event get a dense index in id order, and three bitsets
+ * over it say which seats are available and locked (as stored on the seat rows) and which are
+ * held by an active reservation in order_service. A 40k-seat map is about 15 KB.
+ * <p>
+ * A map is built on its first request. After that, holds are applied in place from the seat
+ * ids in availability messages, and seat row changes trigger a re-read. Every change bumps
+ * the map's version and goes into a bounded log, so clients can fetch only what changed
+ * since their version. A periodic re-read catches lost or reordered messages; its corrections
+ * are logged like any other change. Maps nobody requested since the last re-read are dropped.
+ * <p>
+ * Seat rows and reservations are read without the map's monitor, which is only taken to swap
+ * in the result, so requests and availability messages never wait for a database or
+ * order_service call.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatAvailabilityService {
+    private static final Logger log = LoggerFactory.getLogger(SeatAvailabilityService.class);
+
+    private final SeatRepository seatRepository;
+    private final OrderServiceClient orderServiceClient;
+
+    private final Map<Long, SeatMap> maps = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    // Changes kept per event; clients further behind re-fetch the whole map
+    @Value("${event.seat-map.max-changes:4096}")
+    private int maxChanges;
+
+    @Value("${event.seat-map.refresh-delay-ms:500}")
+    private long refreshDelayMs;
+
+    @Value("${event.seat-map.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @PostConstruct
+    void startRefresher() {
+        refresher = Executors.newSingleThreadScheduledExecutor();
+        refresher.scheduleWithFixedDelay(this::refreshAll, maxAgeSeconds, maxAgeSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        refresher.shutdownNow();
+    }
+
+    public SeatAvailabilityMapDto getMap(Long eventId) {
+        SeatMap map = loaded(eventId);
+        synchronized (map) {
+            map.read = true;
+            return SeatAvailabilityMapDto.builder()
+                    .eventId(eventId)
+                    .layoutVersion(layoutVersion(map.seatIds))
+                    .epoch(map.epoch)
+                    .version(map.version)
+                    .seatCount(map.seatIds.length)
+                    .available(encode(map.available))
+                    .locked(encode(map.locked))
+                    .held(encode(map.held))
+                    .build();
+        }
+    }
+
+    /**
+     * Seats changed after {@code since}, with their current flags. A seat that changed several
+     * times is listed once.
+     */
+    public SeatAvailabilityDeltaDto getChanges(Long eventId, String epoch, long since) {
+        SeatMap map = loaded(eventId);
+        synchronized (map) {
+            map.read = true;
+            SeatAvailabilityDeltaDto.SeatAvailabilityDeltaDtoBuilder delta = SeatAvailabilityDeltaDto.builder()
+                    .eventId(eventId)
+                    .epoch(map.epoch)
+                    .fromVersion(since)
+                    .version(map.version);
+            if (!map.epoch.equals(epoch) || since > map.version || since < map.logStart) {
+                return delta.resync(true).changes(List.of()).build();
+            }
+            Set<Integer> indexes = new LinkedHashSet<>();
+            for (Change change : map.changes) {
+                if (change.version() > since) {
+                    indexes.add(change.index());
+                }
+            }
+            return delta.changes(indexes.stream()
+                            .map(index -> new SeatAvailabilityDeltaDto.Change(index, map.available.get(index),
+                                    map.locked.get(index), map.held.get(index)))
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    public SeatLayoutDto getLayout(Long eventId) {
+        List<SeatLayoutItemDto> seats = seatRepository.findLayoutByEventId(eventId);
+        return SeatLayoutDto.builder()
+                .eventId(eventId)
+                .layoutVersion(layoutVersion(seats.stream().mapToLong(SeatLayoutItemDto::getId).toArray()))
+                .seats(seats)
+                .build();
+    }
+
+    // Seats of the event held by an active reservation
+    public Set<Long> getHeldSeatIds(Long eventId) {
+        SeatMap map = loaded(eventId);
+        synchronized (map) {
+            map.read = true;
+            Set<Long> held = new HashSet<>();
+            for (int index = map.held.nextSetBit(0); index >= 0; index = map.held.nextSetBit(index + 1)) {
+                held.add(map.seatIds[index]);
+            }
+            return held;
+        }
+    }
+
+    /**
+     * Applies the holds named in an availability message. Events without a map are ignored;
+     * their first request reads current data anyway.
+     */
+    public void applyHolds(Long eventId, Collection<Long> heldSeatIds, Collection<Long> releasedSeatIds) {
+        SeatMap map = maps.get(eventId);
+        if (map == null) {
+            return;
+        }
+        map.holdMessages.incrementAndGet();
+        boolean unknownSeat = false;
+        synchronized (map) {
+            if (map.seatIds == null) {
+                return;
+            }
+            long next = map.version + 1;
+            boolean changed = false;
+            for (Long seatId : heldSeatIds != null ? heldSeatIds : List.<Long>of()) {
+                int index = Arrays.binarySearch(map.seatIds, seatId);
+                if (index < 0) {
+                    unknownSeat = true;
+                } else if (!map.held.get(index)) {
+                    map.held.set(index);
+                    map.log(next, index, maxChanges);
+                    changed = true;
+                }
+            }
+            for (Long seatId : releasedSeatIds != null ? releasedSeatIds : List.<Long>of()) {
+                int index = Arrays.binarySearch(map.seatIds, seatId);
+                if (index < 0) {
+                    unknownSeat = true;
+                } else if (map.held.get(index)) {
+                    map.held.clear(index);
+                    map.log(next, index, maxChanges);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                map.version = next;
+            }
+        }
+        // e.g. seats added since the map was built
+        if (unknownSeat) {
+            markDirty(eventId);
+        }
+    }
+
+    // Schedules a re-read of the event's seats, e.g. after seat rows changed
+    public void markDirty(Long eventId) {
+        SeatMap map = maps.get(eventId);
+        if (map != null && map.dirty.compareAndSet(false, true)) {
+            refresher.schedule(() -> refresh(eventId, map), refreshDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private SeatMap loaded(Long eventId) {
+        SeatMap map = maps.computeIfAbsent(eventId, id -> new SeatMap());
+        if (map.seatIds == null) {
+            // Concurrent first requests wait for one build instead of each running it
+            synchronized (map.loadLock) {
+                if (map.seatIds == null) {
+                    try {
+                        load(eventId, map);
+                    } catch (RuntimeException e) {
+                        maps.remove(eventId, map);
+                        throw e;
+                    }
+                }
+            }
+        }
+        return map;
+    }
+
+    private void refreshAll() {
+        maps.forEach((eventId, map) -> {
+            synchronized (map) {
+                if (!map.read) {
+                    maps.remove(eventId, map);
+                    return;
+                }
+                map.read = false;
+            }
+            refresh(eventId, map);
+        });
+    }
+
+    private void refresh(Long eventId, SeatMap map) {
+        synchronized (map.loadLock) {
+            // Cleared first, so a change arriving during the re-read schedules another one
+            map.dirty.set(false);
+            try {
+                load(eventId, map);
+            } catch (Exception e) {
+                log.warn("Re-reading the seat map of eventId: {} failed, dropping it. Error: {}", eventId, e.getMessage());
+                maps.remove(eventId, map);
+            }
+        }
+    }
+
+    // Called with the map's load lock held
+    private void load(Long eventId, SeatMap map) {
+        long messagesBefore = map.holdMessages.get();
+        SeatStates states = read(eventId);
+        synchronized (map) {
+            apply(map, states);
+        }
+        // Holds that arrived during the read may be missing from it, so the map is read once more
+        if (map.holdMessages.get() != messagesBefore) {
+            markDirty(eventId);
+        }
+    }
+
+    private SeatStates read(Long eventId) {
+        List<SeatStateDto> states = seatRepository.findStatesByEventId(eventId);
+        long[] seatIds = states.stream().mapToLong(SeatStateDto::getId).toArray();
+        BitSet available = new BitSet(seatIds.length);
+        BitSet locked = new BitSet(seatIds.length);
+        for (int index = 0; index < states.size(); index++) {
+            SeatStateDto state = states.get(index);
+            // Seats saved without the flag count as available, as they did on the full seat list
+            available.set(index, !Boolean.FALSE.equals(state.getIsAvailable()));
+            locked.set(index, Boolean.TRUE.equals(state.getLocked()));
+        }
+
+        BitSet held = new BitSet(seatIds.length);
+        if (seatIds.length > 0) {
+            List<Long> reserved = orderServiceClient.getActiveReservationsForEvent(eventId).stream()
+                    .map(ReservationDto::getSeatId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            for (Long seatId : reserved) {
+                int index = Arrays.binarySearch(seatIds, seatId);
+                if (index >= 0) {
+                    held.set(index);
+                }
+            }
+        }
+        return new SeatStates(seatIds, available, locked, held);
+    }
+
+    // Called with the map's monitor held
+    private void apply(SeatMap map, SeatStates states) {
+        long[] seatIds = states.seatIds();
+        BitSet available = states.available();
+        BitSet locked = states.locked();
+        BitSet held = states.held();
+        if (map.seatIds != null && Arrays.equals(map.seatIds, seatIds)) {
+            // Same layout: whatever differs is logged as one change, so clients pick it up
+            BitSet changed = (BitSet) available.clone();
+            changed.xor(map.available);
+            BitSet lockedChanged = (BitSet) locked.clone();
+            lockedChanged.xor(map.locked);
+            BitSet heldChanged = (BitSet) held.clone();
+            heldChanged.xor(map.held);
+            changed.or(lockedChanged);
+            changed.or(heldChanged);
+            if (!changed.isEmpty()) {
+                long next = map.version + 1;
+                for (int index = changed.nextSetBit(0); index >= 0; index = changed.nextSetBit(index + 1)) {
+                    map.log(next, index, maxChanges);
+                }
+                map.version = next;
+            }
+        } else {
+            // New layout, so indexes mean other seats now; clients with the old epoch resync
+            map.epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            map.version = 0;
+            map.logStart = 0;
+            map.changes.clear();
+            map.seatIds = seatIds;
+        }
+        map.available = available;
+        map.locked = locked;
+        map.held = held;
+    }
+
+    private static String encode(BitSet bits) {
+        return Base64.getEncoder().encodeToString(bits.toByteArray());
+    }
+
+    static String layoutVersion(long[] seatIds) {
+        return seatIds.length + "-" + Integer.toHexString(Arrays.hashCode(seatIds));
+    }
+
+    private record Change(long version, int index) {
+    }
+
+    private record SeatStates(long[] seatIds, BitSet available, BitSet locked, BitSet held) {
+    }
+
+    // Guarded by its own monitor
+    private static class SeatMap {
+        // Serializes builds and re-reads, so an older read never replaces a newer one
+        final Object loadLock = new Object();
+        volatile long[] seatIds;
+        String epoch;
+        long version;
+        // Changes after this version are all in the log
+        long logStart;
+        BitSet available;
+        BitSet locked;
+        BitSet held;
+        final Deque<Change> changes = new ArrayDeque<>();
+        volatile boolean read;
+        final AtomicBoolean dirty = new AtomicBoolean();
+        // Availability messages seen, so a re-read can tell whether one arrived while it ran
+        final AtomicLong holdMessages = new AtomicLong();
+
+        void log(long version, int index, int maxChanges) {
+            changes.addLast(new Change(version, index));
+            while (changes.size() > maxChanges) {
+                logStart = changes.removeFirst().version();
+            }
+        }
+    }
+}
@@ -4,24 +4,48 @@ import com.example.event_service.model.TicketType;
 import com.example.event_service.repository.TicketTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
     private final TicketTypeRepository ticketTypeRepository;
+    private final EventService eventService;
+    private final EventChangePublisher eventChangePublisher;
 
     public List<TicketType> findByEvent(Long eventId) {
         return ticketTypeRepository.findByEventId(eventId);
     }
 
+    @Transactional
     public TicketType save(TicketType ticketType) {
-        return ticketTypeRepository.save(ticketType);
+        List<Long> eventIds = new ArrayList<>();
+        if (ticketType.getId() != null) {
+            ticketTypeRepository.findById(ticketType.getId()).ifPresent(existing -> eventIds.add(eventIdOf(existing)));
+        }
+        TicketType saved = ticketTypeRepository.save(ticketType);
+        eventIds.add(eventIdOf(saved));
+        eventService.updatePriceRanges(eventIds);
+        eventChangePublisher.publishAfterCommit(eventIds);
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
+        List<Long> eventIds = ticketTypeRepository.findById(id)
+                .map(ticketType -> Collections.singletonList(eventIdOf(ticketType)))
+                .orElse(List.of());
         ticketTypeRepository.deleteById(id);
+        eventService.updatePriceRanges(eventIds);
+        eventChangePublisher.publishAfterCommit(eventIds);
+    }
+
+    private static Long eventIdOf(TicketType ticketType) {
+        return ticketType.getEvent() != null ? ticketType.getEvent().getId() : null;
     }
 }
 
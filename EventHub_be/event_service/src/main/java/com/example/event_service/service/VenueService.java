@@ -1,6 +1,7 @@
 package com.example.event_service.service;
 
 import com.example.event_service.model.Venue;
+import com.example.event_service.repository.EventRepository;
 import com.example.event_service.repository.VenueRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VenueService {
     private final VenueRepository venueRepository;
+    private final MediaService mediaService;
+    private final EventRepository eventRepository;
+    private final EventChangePublisher eventChangePublisher;
 
     public List<Venue> findAll() {
         return venueRepository.findAll();
@@ -22,7 +26,11 @@ public class VenueService {
     }
 
     public Venue save(Venue venue) {
-        return venueRepository.save(venue);
+        venue.setMapImage(mediaService.internalize(venue.getMapImage()));
+        Venue saved = venueRepository.save(venue);
+        // Venue name and city are searchable on every event held there
+        eventChangePublisher.publishAfterCommit(eventRepository.findIdsByVenueId(saved.getId()));
+        return saved;
     }
 
     public void delete(Long id) {
@@ -1,7 +1,6 @@
 package com.example.event_service.specification;
 
 import com.example.event_service.model.Event;
-import com.example.event_service.model.TicketType;
 import com.example.event_service.model.Venue;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -11,6 +10,7 @@ import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class EventSpecification {
@@ -48,21 +48,19 @@ public class EventSpecification {
                 predicates.add(cb.equal(root.get("status"), status));
             }
 
-            // Price filtering requires joining with TicketType
-            if (minPrice != null || maxPrice != null) {
-                Join<Event, TicketType> ticketTypeJoin = root.join("ticketTypes", JoinType.LEFT); // Assuming "ticketTypes" is the field name in Event
-                // We need to ensure we only select DISTINCT events later or use distinct in query
-                query.distinct(true);
-
-                if (minPrice != null) {
-                    predicates.add(cb.greaterThanOrEqualTo(ticketTypeJoin.get("price"), minPrice));
-                }
-                if (maxPrice != null) {
-                    predicates.add(cb.lessThanOrEqualTo(ticketTypeJoin.get("price"), maxPrice));
-                }
+            // Events keep the range of their ticket prices, which must overlap the requested one
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("maxPrice"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("minPrice"), maxPrice));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    public static Specification<Event> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventBrowseResponse;
+import com.example.event_service.dto.EventFacetSource;
+import com.example.event_service.model.Event;
+import com.example.event_service.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventFacetIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventFacetIndex eventFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        eventFacetIndex = new EventFacetIndex(eventRepository, "0,200000,500000");
+        when(eventRepository.findFacetSourcesByStatus(eq(Event.Status.PUBLISHED), any(LocalDateTime.class))).thenReturn(List.of(
+                source(1L, "Music", "Hà Nội", LocalDateTime.of(2026, 11, 5, 19, 0), new BigDecimal("100000")),
+                source(1L, "Music", "Hà Nội", LocalDateTime.of(2026, 11, 5, 19, 0), new BigDecimal("300000")),
+                source(2L, "Music", "Hồ Chí Minh", LocalDateTime.of(2026, 11, 20, 19, 0), new BigDecimal("300000")),
+                source(3L, "Sports", "Hà Nội", LocalDateTime.of(2026, 12, 1, 15, 0), new BigDecimal("600000")),
+                source(4L, "Theatre", "Đà Nẵng", LocalDateTime.of(2026, 12, 10, 20, 0), null)));
+    }
+
+    @Test
+    void query_NoSelection_CountsEveryEvent() {
+        EventFacetIndex.Result result = eventFacetIndex.query(Map.of(), 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.ids());
+        assertEquals(4, result.total());
+        assertEquals(Map.of("music", 2, "sports", 1, "theatre", 1), counts(result, EventFacetIndex.CATEGORY));
+        // An event with several prices counts once in each of its bands
+        assertEquals(Map.of("0-200000", 1, "200000-500000", 2, "500000+", 1), counts(result, EventFacetIndex.PRICE));
+        assertEquals(Map.of("2026-11", 2, "2026-12", 2), counts(result, EventFacetIndex.MONTH));
+    }
+
+    @Test
+    void query_FacetCountsIgnoreTheirOwnSelection() {
+        Map<String, String> selected = new LinkedHashMap<>();
+        selected.put(EventFacetIndex.CATEGORY, "Music");
+        selected.put(EventFacetIndex.LOCATION, "hà nội");
+
+        EventFacetIndex.Result result = eventFacetIndex.query(selected, 0, 10);
+
+        assertEquals(List.of(1L), result.ids());
+        assertEquals(1, result.total());
+        // Categories are counted within Hà Nội only, locations within Music only
+        assertEquals(Map.of("music", 1, "sports", 1), counts(result, EventFacetIndex.CATEGORY));
+        assertEquals(Map.of("hà nội", 1, "hồ chí minh", 1), counts(result, EventFacetIndex.LOCATION));
+        // Facets without a selection are counted within both
+        assertEquals(Map.of("2026-11", 1), counts(result, EventFacetIndex.MONTH));
+    }
+
+    @Test
+    void query_UnknownValue_MatchesNothing() {
+        EventFacetIndex.Result result = eventFacetIndex.query(Map.of(EventFacetIndex.CATEGORY, "Opera"), 0, 10);
+
+        assertTrue(result.ids().isEmpty());
+        assertEquals(0, result.total());
+        // The other categories stay selectable, while the remaining facets have nothing left to count
+        assertEquals(Map.of("music", 2, "sports", 1, "theatre", 1), counts(result, EventFacetIndex.CATEGORY));
+        assertTrue(result.facets().get(EventFacetIndex.LOCATION).isEmpty());
+        assertTrue(result.facets().get(EventFacetIndex.PRICE).isEmpty());
+    }
+
+    @Test
+    void query_PagesInStartTimeOrder() {
+        EventFacetIndex.Result result = eventFacetIndex.query(Map.of(), 1, 2);
+
+        assertEquals(List.of(2L, 3L), result.ids());
+        assertEquals(4, result.total());
+    }
+
+    private static Map<String, Integer> counts(EventFacetIndex.Result result, String facet) {
+        return result.facets().get(facet).stream()
+                .collect(Collectors.toMap(EventBrowseResponse.FacetCount::getValue, EventBrowseResponse.FacetCount::getCount));
+    }
+
+    private static EventFacetSource source(Long id, String category, String city, LocalDateTime startTime, BigDecimal price) {
+        return new EventFacetSource(id, category, city, startTime, price);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.EventSearchSource;
+import com.example.event_service.model.Event;
+import com.example.event_service.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventSearchIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @TempDir
+    Path indexDir;
+
+    private EventSearchIndex eventSearchIndex;
+    private final List<EventSearchSource> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        eventSearchIndex = new EventSearchIndex(eventRepository, indexDir.toString());
+        ReflectionTestUtils.setField(eventSearchIndex, "maxHits", 1000);
+        lenient().when(eventRepository.findSearchSourcesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return events.stream()
+                    .filter(source -> source.getId() > afterId)
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventSearchIndex.close();
+    }
+
+    @Test
+    void search_FoldsAccents() throws Exception {
+        events.add(source(1L, "Lễ hội âm nhạc Hà Nội"));
+        events.add(source(2L, "Đêm nhạc Sài Gòn"));
+        open();
+
+        assertEquals(Optional.of(List.of(1L)), eventSearchIndex.search("ha noi", null));
+        assertEquals(Optional.of(List.of(1L)), eventSearchIndex.search("Hà Nội", null));
+        assertEquals(Optional.of(List.of(2L)), eventSearchIndex.search("dem nhac sai gon", null));
+    }
+
+    @Test
+    void update_ReindexesChangedEventAndDropsDeletedOne() throws Exception {
+        events.add(source(1L, "Jazz Night"));
+        events.add(source(2L, "Rock Festival"));
+        open();
+
+        when(eventRepository.findSearchSourcesByIdIn(List.of(1L))).thenReturn(List.of(source(1L, "Blues Night")));
+        eventSearchIndex.update(List.of(1L));
+
+        assertEquals(Optional.of(List.of(1L)), eventSearchIndex.search("blues", null));
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("jazz", null));
+
+        when(eventRepository.findSearchSourcesByIdIn(List.of(2L))).thenReturn(List.of());
+        eventSearchIndex.update(List.of(2L));
+
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("rock", null));
+        assertEquals(Optional.of(List.of(1L)), eventSearchIndex.search("night", null));
+    }
+
+    @Test
+    void rebuild_NeverPublishesPartialIndex() throws Exception {
+        events.add(source(999L, "Old Gala"));
+        open();
+
+        // The first page fills a whole batch, so the rebuild asks for a second one, which fails
+        List<EventSearchSource> firstPage = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> source(id, "Concert " + id))
+                .toList();
+        List<Optional<List<Long>>> midRebuild = new ArrayList<>();
+        doReturn(firstPage).when(eventRepository).findSearchSourcesAfter(eq(0L), any(Pageable.class));
+        when(eventRepository.findSearchSourcesByIdIn(anyCollection())).thenReturn(List.of(firstPage.get(0)));
+        doAnswer(invocation -> {
+            midRebuild.add(eventSearchIndex.search("gala", null));
+            // An update arriving during the rebuild must not publish the half-built index
+            eventSearchIndex.update(List.of(1L));
+            midRebuild.add(eventSearchIndex.search("concert", null));
+            throw new IllegalStateException("Database unavailable");
+        }).when(eventRepository).findSearchSourcesAfter(eq(500L), any(Pageable.class));
+
+        assertThrows(IllegalStateException.class, () -> eventSearchIndex.rebuild());
+
+        assertEquals(List.of(Optional.of(List.of(999L)), Optional.of(List.of())), midRebuild);
+        assertEquals(Optional.empty(), eventSearchIndex.search("gala", null));
+        assertEquals(Optional.empty(), eventSearchIndex.search("concert", null));
+    }
+
+    @Test
+    void search_WithoutIndexFallsBackToDatabase() throws Exception {
+        doThrow(new IllegalStateException("Database unavailable"))
+                .when(eventRepository).findSearchSourcesAfter(anyLong(), any(Pageable.class));
+        open();
+
+        assertEquals(Optional.empty(), eventSearchIndex.search("concert", null));
+    }
+
+    // Opens the index and waits for its startup rebuild, so each test sees a settled index
+    private void open() throws Exception {
+        eventSearchIndex.open();
+        ExecutorService rebuilder = (ExecutorService) ReflectionTestUtils.getField(eventSearchIndex, "rebuilder");
+        rebuilder.shutdown();
+        assertTrue(rebuilder.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static EventSearchSource source(Long id, String name) {
+        return new EventSearchSource(id, name, null, "Music", Event.Status.PUBLISHED, null, null, null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.event_service.service;
+
+import com.example.event_service.dto.ReservationDto;
+import com.example.event_service.dto.SeatAvailabilityDeltaDto;
+import com.example.event_service.dto.SeatAvailabilityMapDto;
+import com.example.event_service.dto.SeatStateDto;
+import com.example.event_service.feign_client.OrderServiceClient;
+import com.example.event_service.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatAvailabilityServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private OrderServiceClient orderServiceClient;
+
+    @Mock
+    private ScheduledExecutorService refresher;
+
+    @InjectMocks
+    private SeatAvailabilityService seatAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatAvailabilityService, "refresher", refresher);
+        ReflectionTestUtils.setField(seatAvailabilityService, "maxChanges", 4096);
+        ReflectionTestUtils.setField(seatAvailabilityService, "refreshDelayMs", 500L);
+    }
+
+    @Test
+    void getChanges_ListsSeatsChangedSinceVersion() {
+        when(seatRepository.findStatesByEventId(EVENT_ID)).thenReturn(seats(1, 2, 3));
+        when(orderServiceClient.getActiveReservationsForEvent(EVENT_ID)).thenReturn(List.of());
+        SeatAvailabilityMapDto map = seatAvailabilityService.getMap(EVENT_ID);
+
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(2L), List.of());
+        SeatAvailabilityDeltaDto delta = seatAvailabilityService.getChanges(EVENT_ID, map.getEpoch(), map.getVersion());
+
+        assertFalse(delta.isResync());
+        assertEquals(1, delta.getVersion());
+        assertEquals(List.of(new SeatAvailabilityDeltaDto.Change(1, true, false, true)), delta.getChanges());
+    }
+
+    @Test
+    void getChanges_ClientBehindLogLimit_Resyncs() {
+        ReflectionTestUtils.setField(seatAvailabilityService, "maxChanges", 2);
+        when(seatRepository.findStatesByEventId(EVENT_ID)).thenReturn(seats(1, 2, 3, 4));
+        when(orderServiceClient.getActiveReservationsForEvent(EVENT_ID)).thenReturn(List.of());
+        SeatAvailabilityMapDto map = seatAvailabilityService.getMap(EVENT_ID);
+
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(1L), List.of());
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(2L), List.of());
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(3L), List.of());
+
+        // Version 1 was dropped from the log, so a client at version 0 cannot catch up from it
+        SeatAvailabilityDeltaDto behind = seatAvailabilityService.getChanges(EVENT_ID, map.getEpoch(), 0);
+        assertTrue(behind.isResync());
+        assertTrue(behind.getChanges().isEmpty());
+        assertEquals(3, behind.getVersion());
+
+        SeatAvailabilityDeltaDto caughtUp = seatAvailabilityService.getChanges(EVENT_ID, map.getEpoch(), 1);
+        assertFalse(caughtUp.isResync());
+        assertEquals(List.of(new SeatAvailabilityDeltaDto.Change(1, true, false, true),
+                new SeatAvailabilityDeltaDto.Change(2, true, false, true)), caughtUp.getChanges());
+    }
+
+    @Test
+    void markDirty_LayoutChanged_StartsNewEpoch() {
+        when(seatRepository.findStatesByEventId(EVENT_ID)).thenReturn(seats(1, 2, 3), seats(1, 2, 3, 4));
+        when(orderServiceClient.getActiveReservationsForEvent(EVENT_ID)).thenReturn(List.of());
+        SeatAvailabilityMapDto before = seatAvailabilityService.getMap(EVENT_ID);
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(1L), List.of());
+
+        seatAvailabilityService.markDirty(EVENT_ID);
+        runScheduledRefresh();
+
+        SeatAvailabilityMapDto after = seatAvailabilityService.getMap(EVENT_ID);
+        assertNotEquals(before.getEpoch(), after.getEpoch());
+        assertNotEquals(before.getLayoutVersion(), after.getLayoutVersion());
+        assertEquals(0, after.getVersion());
+        assertEquals(4, after.getSeatCount());
+        assertTrue(seatAvailabilityService.getChanges(EVENT_ID, before.getEpoch(), 1).isResync());
+    }
+
+    @Test
+    void markDirty_SameLayout_LogsCorrectionsInSameEpoch() {
+        when(seatRepository.findStatesByEventId(EVENT_ID)).thenReturn(seats(1, 2, 3));
+        when(orderServiceClient.getActiveReservationsForEvent(EVENT_ID))
+                .thenReturn(List.of(), List.of(reservation(3L)));
+        SeatAvailabilityMapDto before = seatAvailabilityService.getMap(EVENT_ID);
+
+        seatAvailabilityService.markDirty(EVENT_ID);
+        runScheduledRefresh();
+
+        SeatAvailabilityDeltaDto delta = seatAvailabilityService.getChanges(EVENT_ID, before.getEpoch(), 0);
+        assertFalse(delta.isResync());
+        assertEquals(List.of(new SeatAvailabilityDeltaDto.Change(2, true, false, true)), delta.getChanges());
+    }
+
+    @Test
+    void applyHolds_UnknownSeat_AppliesKnownOnesAndReReadsMap() {
+        when(seatRepository.findStatesByEventId(EVENT_ID)).thenReturn(seats(1, 2), seats(1, 2, 3));
+        when(orderServiceClient.getActiveReservationsForEvent(EVENT_ID))
+                .thenReturn(List.of(), List.of(reservation(1L), reservation(3L)));
+        seatAvailabilityService.getMap(EVENT_ID);
+
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(1L, 3L), List.of());
+
+        assertEquals(Set.of(1L), seatAvailabilityService.getHeldSeatIds(EVENT_ID));
+        runScheduledRefresh();
+        assertEquals(Set.of(1L, 3L), seatAvailabilityService.getHeldSeatIds(EVENT_ID));
+    }
+
+    @Test
+    void applyHolds_EventWithoutMap_IsIgnored() {
+        seatAvailabilityService.applyHolds(EVENT_ID, List.of(1L), List.of());
+
+        verify(seatRepository, never()).findStatesByEventId(any());
+        verify(refresher, never()).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    // Runs the one re-read markDirty scheduled, as the refresher thread would after the delay
+    private void runScheduledRefresh() {
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(refresher).schedule(refresh.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        refresh.getValue().run();
+    }
+
+    private static List<SeatStateDto> seats(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new SeatStateDto(id, true, false))
+                .toList();
+    }
+
+    private static ReservationDto reservation(Long seatId) {
+        return ReservationDto.builder().eventId(EVENT_ID).seatId(seatId).build();
+    }
+}
@@ -11,7 +11,11 @@ public class SecurityConfig {
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
         http
-            .csrf(ServerHttpSecurity.CsrfSpec::disable); // Disable CSRF
+            .csrf(ServerHttpSecurity.CsrfSpec::disable) // Disable CSRF
+            // Service-to-service endpoints are only called on the internal network, never through the gateway
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/internal/**", "/api/*/internal/**").denyAll()
+                .anyExchange().permitAll());
         return http.build();
     }
 }
@@ -4,6 +4,7 @@ import com.example.notification_service.dto.OrderPaidEvent;
 import com.example.notification_service.dto.TicketTransferCompletedEvent;
 import com.example.notification_service.dto.TicketTransferRequestedEvent;
 import com.example.notification_service.dto.TicketSoldEvent;
+import com.example.notification_service.dto.WaitlistOfferEvent;
 import com.google.gson.Gson;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +19,7 @@ public class KafkaConsumerService {
     private static final String TICKET_TRANSFER_REQUESTED_TOPIC = "ticket.transfer.requested";
     private static final String TICKET_TRANSFER_COMPLETED_TOPIC = "ticket.transfer.completed";
     private static final String TICKET_SOLD_TOPIC = "ticket.sold";
+    private static final String WAITLIST_OFFER_TOPIC = "waitlist.offer";
 
     @Value("${notification.admin-email}")
     private String adminEmail;
@@ -65,4 +67,18 @@ public class KafkaConsumerService {
         String recipient = (event.getSellerEmail() != null && !event.getSellerEmail().isEmpty()) ? event.getSellerEmail() : adminEmail;
         emailService.sendEmail(recipient, subject, text);
     }
+
+    @KafkaListener(topics = WAITLIST_OFFER_TOPIC, groupId = "notification-group")
+    public void listenWaitlistOffer(String message) {
+        System.out.println("Received message from " + WAITLIST_OFFER_TOPIC + ": " + message);
+        WaitlistOfferEvent event = gson.fromJson(message, WaitlistOfferEvent.class);
+        if (event.getUserEmail() == null || event.getUserEmail().isEmpty()) {
+            return;
+        }
+        String subject = "Tickets are available for you";
+        String text = String.format("Good news! %d ticket(s) you were waiting for are now held for you until %s. " +
+                        "Complete your purchase with reservation %d before the hold expires.",
+                event.getQuantity(), event.getExpiresAt(), event.getReservationId());
+        emailService.sendEmail(event.getUserEmail(), subject, text);
+    }
 }
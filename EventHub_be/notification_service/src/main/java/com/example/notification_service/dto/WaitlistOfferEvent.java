@@ -0,0 +1,15 @@
+package com.example.notification_service.dto;
+
+import lombok.Data;
+
+@Data
+public class WaitlistOfferEvent {
+    private Long waitlistEntryId;
+    private String userId;
+    private String userEmail;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+    private Long reservationId;
+    private String expiresAt;
+}
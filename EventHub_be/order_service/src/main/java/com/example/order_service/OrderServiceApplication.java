@@ -3,9 +3,11 @@ package com.example.order_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = {"com.example.order_service.feign_client"})
+@EnableScheduling
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
@@ -1,17 +1,45 @@
 package com.example.order_service.controller;
 
+import com.example.order_service.dto.GroupOrderJobResponse;
+import com.example.order_service.dto.GroupOrderRequest;
+import com.example.order_service.dto.OrderChangeFeedResponse;
 import com.example.order_service.dto.OrderRequest;
 import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.dto.OrderSearchResult;
 import com.example.order_service.dto.PaymentTransactionDto;
+import com.example.order_service.dto.PriceQuoteResponse;
+import com.example.order_service.dto.SoldCountDto;
+import com.example.order_service.config.UserPrincipal;
+import com.example.order_service.metrics.CheckoutMetrics;
+import com.example.order_service.metrics.CheckoutTrace;
 import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderInvoice;
 import com.example.order_service.model.PaymentInfo;
+import com.example.order_service.service.GroupOrderService;
+import com.example.order_service.service.InvoiceService;
+import com.example.order_service.service.OrderChangeService;
+import com.example.order_service.service.OrderSearchService;
 import com.example.order_service.service.OrderService;
+import com.example.order_service.service.PriceQuoteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,11 +50,55 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderChangeService orderChangeService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final GroupOrderService groupOrderService;
+    private final PriceQuoteService priceQuoteService;
+    private final OrderSearchService orderSearchService;
+    private final InvoiceService invoiceService;
 
+    // Send "X-Checkout-Debug: true" to get the per-step breakdown back as a Server-Timing header
     @PostMapping
     @PreAuthorize("isAuthenticated() and authentication.principal.id == #req.userId")
-    public ResponseEntity<OrderResponse> create(@RequestBody OrderRequest req) {
-        return ResponseEntity.ok(orderService.createOrder(req));
+    public ResponseEntity<OrderResponse> create(
+            @RequestBody OrderRequest req,
+            @RequestHeader(value = "X-Checkout-Debug", defaultValue = "false") boolean debug,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        CheckoutTrace trace = checkoutMetrics.start(req.getEventId());
+        OrderResponse response;
+        try {
+            response = orderService.createOrder(req, principal != null ? principal.getEmail() : null, trace);
+        } catch (RuntimeException e) {
+            trace.finish(false);
+            throw e;
+        }
+        trace.finish(true);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (debug) {
+            builder.header("Server-Timing", trace.toServerTiming());
+        }
+        return builder.body(response);
+    }
+
+    // Validates the cart once and returns a signed quote; send it as quoteToken when creating the order
+    @PostMapping("/quote")
+    @PreAuthorize("isAuthenticated() and authentication.principal.id == #req.userId")
+    public ResponseEntity<PriceQuoteResponse> quote(@RequestBody OrderRequest req) {
+        return ResponseEntity.ok(priceQuoteService.createQuote(req));
+    }
+
+    // Corporate orders are placed by staff on behalf of the client account; poll the returned job for progress
+    @PostMapping("/group")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('ORGANIZER') and @orderSecurity.isOrganizerOfEvent(authentication.principal.id, #req.eventId))")
+    public ResponseEntity<GroupOrderJobResponse> createGroupOrder(@RequestBody GroupOrderRequest req) {
+        return ResponseEntity.accepted().body(groupOrderService.submit(req));
+    }
+
+    @GetMapping("/group/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('ORGANIZER') and @orderSecurity.isOrganizerOfGroupJob(authentication.principal.id, #jobId))")
+    public ResponseEntity<GroupOrderJobResponse> getGroupOrderJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(groupOrderService.getJob(jobId));
     }
 
     @GetMapping("/user/{userId}")
@@ -43,12 +115,64 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersForEvent(eventId, status));
     }
 
+    // Staff lookup; email matches by prefix, orderId by leading digits, and [from, to) bounds createdAt.
+    // Sort by createdAt or id; page size is capped by order.search.max-page-size
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<OrderSearchResult>> search(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) String discountCode,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Pageable pageable) {
+        return ResponseEntity.ok(orderSearchService.search(email, orderId, discountCode, status, from, to, pageable));
+    }
+
+    // Incremental change feed for downstream consumers; poll with the returned nextCursor
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OrderChangeFeedResponse> getChanges(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(orderChangeService.getChangesAfter(after, limit));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or (isAuthenticated() and authentication.principal.id == @orderSecurity.getOrder(#id).userId) or (isAuthenticated() and @orderSecurity.isOrganizerOfOrder(authentication.principal.id, #id))")
     public ResponseEntity<OrderResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrder(id));
     }
 
+    // Receipt/invoice PDF, rendered in the background after payment: 202 until it is ready.
+    // The ETag is the document's SHA-256. A document that went missing is rendered again and may differ,
+    // so clients keep their copy but revalidate it on every use
+    @GetMapping("/{id}/invoice")
+    @PreAuthorize("hasRole('ADMIN') or (isAuthenticated() and authentication.principal.id == @orderSecurity.getOrder(#id).userId) or (isAuthenticated() and @orderSecurity.isOrganizerOfOrder(authentication.principal.id, #id))")
+    public ResponseEntity<Resource> getInvoice(@PathVariable Long id, WebRequest webRequest) {
+        OrderInvoice invoice = invoiceService.getInvoice(id);
+        if (invoice == null || invoice.getStatus() == OrderInvoice.Status.FAILED) {
+            return ResponseEntity.notFound().build();
+        }
+        if (invoice.getStatus() == OrderInvoice.Status.PENDING) {
+            return ResponseEntity.accepted().header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+
+        String etag = "\"" + invoice.getContentHash() + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        String filename = invoice.getKind().name().toLowerCase() + "-" + id + ".pdf";
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(filename).build().toString())
+                .body(new FileSystemResource(invoiceService.getDocumentPath(invoice)));
+    }
+
     @PutMapping("/{id}/cancel")
     @PreAuthorize("hasRole('ADMIN') or (isAuthenticated() and authentication.principal.id == @orderSecurity.getOrder(#id).userId) or (isAuthenticated() and @orderSecurity.isOrganizerOfOrder(authentication.principal.id, #id))")
     public ResponseEntity<Void> cancel(@PathVariable Long id) {
@@ -102,4 +226,10 @@ public class OrderController {
         Integer soldCount = orderService.getSoldCountForTicketType(eventId, ticketTypeId);
         return ResponseEntity.ok(soldCount);
     }
+
+    // Sold counts of all ticket types and showtimes of an event (no auth required - internal call)
+    @GetMapping("/event/{eventId}/sold-counts")
+    public ResponseEntity<List<SoldCountDto>> getSoldCounts(@PathVariable Long eventId) {
+        return ResponseEntity.ok(orderService.getSoldCounts(eventId));
+    }
 }
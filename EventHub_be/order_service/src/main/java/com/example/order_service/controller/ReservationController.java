@@ -1,12 +1,21 @@
 package com.example.order_service.controller;
 
+import com.example.order_service.config.UserPrincipal;
+import com.example.order_service.dto.CartSnapshotResponse;
+import com.example.order_service.dto.ContentionHeatMapResponse;
+import com.example.order_service.dto.HeldCountDto;
+import com.example.order_service.dto.HoldHeartbeatResponse;
 import com.example.order_service.dto.ReservationDto;
 import com.example.order_service.dto.ReservationRequest;
 import com.example.order_service.model.Reservation;
+import com.example.order_service.service.CartService;
+import com.example.order_service.service.ReservationContentionTracker;
+import com.example.order_service.service.ReservationHoldIndex;
 import com.example.order_service.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,6 +27,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReservationController {
     private final ReservationService reservationService;
+    private final CartService cartService;
+    private final ReservationHoldIndex reservationHoldIndex;
+    private final ReservationContentionTracker contentionTracker;
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
@@ -45,6 +57,14 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.confirmReservation(id));
     }
 
+    // Called periodically by open checkout pages; extends the hold up to its hard cap
+    @PostMapping("/{id}/heartbeat")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<HoldHeartbeatResponse> heartbeat(@PathVariable Long id,
+                                                           @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(reservationHoldIndex.heartbeat(id, principal.getId()));
+    }
+
     @PostMapping("/{id}/cancel")
     @PreAuthorize("isAuthenticated() and authentication.principal.id == @reservationSecurity.getReservation(#id).userId")
     public ResponseEntity<Reservation> cancelReservation(@PathVariable Long id) {
@@ -58,11 +78,33 @@ public class ReservationController {
         return ResponseEntity.noContent().build();
     }
 
+    // Contention heat-map of this replica since the last reset
+    @GetMapping("/contention")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    public ResponseEntity<ContentionHeatMapResponse> getContentionHeatMap(
+            @RequestParam(value = "eventId", required = false) Long eventId,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(contentionTracker.heatMap(eventId, Math.max(1, Math.min(limit, 500))));
+    }
+
+    @DeleteMapping("/contention")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> resetContention() {
+        contentionTracker.reset();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/seat-availability/{seatId}")
     public ResponseEntity<Boolean> checkSeatAvailability(@PathVariable Long seatId) {
         return ResponseEntity.ok(reservationService.isSeatAvailable(seatId));
     }
 
+    // Held quantities per ticket type for event_service's availability snapshot
+    @GetMapping("/event/{eventId}/held-counts")
+    public ResponseEntity<List<HeldCountDto>> getHeldCounts(@PathVariable Long eventId) {
+        return ResponseEntity.ok(reservationService.getHeldCounts(eventId));
+    }
+
     // New endpoint for event_service to get active reservations
     @GetMapping("/event/{eventId}/active")
     public ResponseEntity<List<ReservationDto>> getActiveReservationsForEvent(@PathVariable Long eventId) {
@@ -118,4 +160,13 @@ public class ReservationController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(dtos);
     }
+
+    @GetMapping("/cart/user/{userId}/snapshot")
+    @PreAuthorize("isAuthenticated() and authentication.principal.id == #userId")
+    public ResponseEntity<CartSnapshotResponse> getCartSnapshot(
+            @PathVariable UUID userId,
+            @RequestParam(value = "eventId", required = false) Long eventId,
+            @RequestParam(value = "discountCode", required = false) String discountCode) {
+        return ResponseEntity.ok(cartService.getCartSnapshot(userId, eventId, discountCode));
+    }
 }
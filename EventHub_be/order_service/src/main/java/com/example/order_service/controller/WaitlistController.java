@@ -0,0 +1,42 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.config.UserPrincipal;
+import com.example.order_service.dto.WaitlistEntryDto;
+import com.example.order_service.dto.WaitlistRequest;
+import com.example.order_service.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+    private final WaitlistService waitlistService;
+
+    // Join instead of retrying reservations for a sold-out ticket type; an offer arrives by email
+    @PostMapping
+    @PreAuthorize("isAuthenticated() and authentication.principal.id == #req.userId")
+    public ResponseEntity<WaitlistEntryDto> join(@RequestBody WaitlistRequest req,
+                                                 @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(waitlistService.join(req, principal.getEmail()));
+    }
+
+    @GetMapping("/user/{userId}")
+    @PreAuthorize("isAuthenticated() and authentication.principal.id == #userId")
+    public ResponseEntity<List<WaitlistEntryDto>> getByUser(@PathVariable UUID userId) {
+        return ResponseEntity.ok(waitlistService.getEntriesForUser(userId));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated() and authentication.principal.id == @waitlistService.getEntry(#id).userId")
+    public ResponseEntity<Void> leave(@PathVariable Long id) {
+        waitlistService.leave(id);
+        return ResponseEntity.noContent().build();
+    }
+}
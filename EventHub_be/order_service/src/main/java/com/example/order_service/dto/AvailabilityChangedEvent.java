@@ -0,0 +1,24 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published after a commit that changed sold or held quantities of an event. It carries no
+ * counts: event_service re-reads them, so a lost or repeated message cannot skew its numbers.
+ * Seat ids, when present, name seats whose hold began or ended; they state the seat's new
+ * condition rather than a difference, so applying them twice is harmless.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityChangedEvent {
+    private Long eventId;
+    private List<Long> heldSeatIds;
+    private List<Long> releasedSeatIds;
+}
@@ -0,0 +1,57 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartSnapshotResponse {
+    private UUID userId;
+    private List<CartLine> lines;
+    private BigDecimal subtotal;
+    private DiscountPreview discount; // null when no discount code was supplied
+    private BigDecimal total;
+    private LocalDateTime serverTime; // Lets the client correct its countdown for clock skew
+    private LocalDateTime expiresAt;  // Earliest hold expiry across all lines
+    private long secondsRemaining;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CartLine {
+        private Long reservationId;
+        private Long eventId;
+        private String eventName;
+        private LocalDateTime eventStartTime;
+        private Long ticketTypeId;
+        private String ticketTypeName;
+        private Long seatId;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal lineTotal;
+        private LocalDateTime expireAt;
+        private long secondsRemaining;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DiscountPreview {
+        private String code;
+        private Long eventId;
+        private boolean valid;
+        private String message;
+        private BigDecimal discountAmount;
+    }
+}
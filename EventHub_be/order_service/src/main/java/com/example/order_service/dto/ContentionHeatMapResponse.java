@@ -0,0 +1,35 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentionHeatMapResponse {
+    private LocalDateTime since; // Counters cover this replica from here on
+    private long droppedRecords; // Records not kept because the key limit was reached
+    private List<Cell> ticketTypes;
+    private List<Cell> sections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private Long eventId;
+        private Long ticketTypeId; // Set on ticket type cells
+        private String section; // Set on section cells
+        private long attempts;
+        private long conflicts;
+        private long limitRejections;
+        private long expiries;
+        private double rejectionRate; // (conflicts + limitRejections) / attempts
+    }
+}
@@ -15,7 +15,9 @@ import java.util.UUID;
 public class EventDto {
     private Long id;
     private UUID organizerId; // New field: organizerId (UUID)
+    private String name;
     private LocalDateTime startTime;
+    private LocalDateTime endTime;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String status;
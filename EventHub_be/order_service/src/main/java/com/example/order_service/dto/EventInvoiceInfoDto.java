@@ -0,0 +1,18 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventInvoiceInfoDto {
+    private Long eventId;
+    private Boolean enabled;
+    private String companyName;
+    private String taxCode;
+    private String address;
+}
@@ -0,0 +1,16 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Number of overdue holds per ticket type and seat, read just before a bulk expiry.
+ */
+@Data
+@AllArgsConstructor
+public class ExpiredHoldCount {
+    private Long eventId;
+    private Long ticketTypeId;
+    private Long seatId;
+    private long count;
+}
@@ -0,0 +1,46 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.model.GroupOrderJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupOrderJobResponse {
+    private Long jobId;
+    private UUID userId;
+    private Long eventId;
+    private String status;
+    private int totalTickets;
+    private int ticketsReserved;
+    private int totalItems;
+    private int itemsWritten;
+    private Long orderId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static GroupOrderJobResponse fromEntity(GroupOrderJob job) {
+        return GroupOrderJobResponse.builder()
+                .jobId(job.getId())
+                .userId(job.getUserId())
+                .eventId(job.getEventId())
+                .status(job.getStatus().name())
+                .totalTickets(job.getTotalTickets())
+                .ticketsReserved(job.getTicketsReserved())
+                .totalItems(job.getTotalItems())
+                .itemsWritten(job.getItemsWritten())
+                .orderId(job.getOrderId())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.order_service.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupOrderRequest {
+    private UUID userId;          // Corporate account the order is placed for
+    private Long eventId;
+    private String paymentMethod;
+    private String currency;
+    private List<GroupOrderLine> lines;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class GroupOrderLine {
+        private Long ticketTypeId;
+        private Long showtimeId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantity held by unexpired PENDING reservations of one ticket type. Reservations carry no
+ * showtime, so holds are only known per ticket type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeldCountDto {
+    private Long ticketTypeId;
+    private long held;
+}
@@ -0,0 +1,18 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldHeartbeatResponse {
+    private Long reservationId;
+    private LocalDateTime expireAt;
+    private LocalDateTime maxExpireAt; // hard cap, heartbeats cannot extend the hold beyond it
+}
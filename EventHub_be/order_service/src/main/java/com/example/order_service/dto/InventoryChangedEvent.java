@@ -0,0 +1,17 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Published by event_service when a ticket type sells out or gets quota back
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryChangedEvent {
+    private Long ticketTypeId;
+    private Long eventId;
+    private Integer quota;
+}
@@ -0,0 +1,38 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.model.OrderChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangeDto {
+    private Long cursor;
+    private Long orderId;
+    private Long eventId;
+    private UUID userId;
+    private String changeType;
+    private String orderStatus;
+    private String paymentStatus; // null when the change did not touch payment info
+    private LocalDateTime changedAt;
+
+    public static OrderChangeDto fromEntity(OrderChange change) {
+        return OrderChangeDto.builder()
+                .cursor(change.getId())
+                .orderId(change.getOrderId())
+                .eventId(change.getEventId())
+                .userId(change.getUserId())
+                .changeType(change.getChangeType().name())
+                .orderStatus(change.getOrderStatus() != null ? change.getOrderStatus().name() : null)
+                .paymentStatus(change.getPaymentStatus() != null ? change.getPaymentStatus().name() : null)
+                .changedAt(change.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangeFeedResponse {
+    private List<OrderChangeDto> changes;
+    private Long nextCursor; // Pass as ?after= on the next poll
+    private boolean hasMore;
+}
@@ -17,6 +17,7 @@ public class OrderRequest {
     private String discountCode;       // New field: Discount code applied
     private String paymentMethod;      // New field: Payment method chosen
     private String currency;           // New field: Currency for the order
+    private String quoteToken;         // Optional signed quote from POST /api/orders/quote
 
     // OrderItemRequest might need to be re-evaluated or removed if tickets are created directly from reservations
     // For now, keeping it for potential general ticket purchases without prior reservation
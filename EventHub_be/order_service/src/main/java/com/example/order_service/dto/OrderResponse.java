@@ -1,5 +1,7 @@
 package com.example.order_service.dto;
 
+import com.example.order_service.model.ArchivedOrder;
+import com.example.order_service.model.ArchivedOrderItem;
 import com.example.order_service.model.Order;
 import lombok.*;
 
@@ -44,6 +46,30 @@ public class OrderResponse {
                 .build();
     }
 
+    public static OrderResponse fromArchive(ArchivedOrder order, List<ArchivedOrderItem> items) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .eventId(order.getEventId())
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .discountCode(order.getDiscountCode())
+                .paymentMethod(order.getPaymentMethod())
+                .status(order.getStatus().name())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .items(items.stream()
+                        .map(item -> OrderItemResponse.builder()
+                                .id(item.getId())
+                                .ticketTypeId(item.getTicketTypeId())
+                                .showtimeId(item.getShowtimeId())
+                                .quantity(item.getQuantity())
+                                .price(item.getPrice())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
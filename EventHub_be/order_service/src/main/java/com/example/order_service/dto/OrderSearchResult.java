@@ -0,0 +1,47 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the staff order search. Items are left out so a page is a single query;
+ * open the order by id for the full details.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSearchResult {
+    private Long id;
+    private UUID userId;
+    private String customerEmail;
+    private Long eventId;
+    private BigDecimal totalAmount;
+    private String currency;
+    private String discountCode;
+    private String paymentMethod;
+    private String status;
+    private LocalDateTime createdAt;
+
+    public static OrderSearchResult fromEntity(Order order) {
+        return OrderSearchResult.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .customerEmail(order.getCustomerEmail())
+                .eventId(order.getEventId())
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .discountCode(order.getDiscountCode())
+                .paymentMethod(order.getPaymentMethod())
+                .status(order.getStatus() != null ? order.getStatus().name() : null)
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload of a signed price quote. Everything checkout would otherwise re-validate against
+ * event_service is captured here; the token is only as good as its signature and expiry,
+ * and is accepted once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceQuote {
+    private UUID nonce; // Recorded when checkout uses the quote, so it cannot be used twice
+    private UUID userId;
+    private Long eventId;
+    private List<Long> reservationIds; // Empty for direct item purchases
+    private List<QuoteLine> lines;
+    private Long discountId;
+    private String discountCode;
+    private BigDecimal subtotal;
+    private BigDecimal discountAmount;
+    private BigDecimal total;
+    private long expiresAt; // Epoch seconds
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class QuoteLine {
+        private Long ticketTypeId;
+        private Long showtimeId;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceQuoteResponse {
+    private String quoteToken; // Pass back as OrderRequest.quoteToken
+    private List<PriceQuote.QuoteLine> lines;
+    private String discountCode;
+    private BigDecimal subtotal;
+    private BigDecimal discountAmount;
+    private BigDecimal total;
+    private LocalDateTime expiresAt;
+}
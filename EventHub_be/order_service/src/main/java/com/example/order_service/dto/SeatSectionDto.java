@@ -0,0 +1,17 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSectionDto {
+    private Long seatId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private String section;
+}
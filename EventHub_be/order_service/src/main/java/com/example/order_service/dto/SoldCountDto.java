@@ -0,0 +1,18 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tickets sold for one (ticketTypeId, showtimeId) pair of an event. Items ordered before
+ * showtimes were recorded come with a null showtimeId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoldCountDto {
+    private Long ticketTypeId;
+    private Long showtimeId;
+    private long sold;
+}
@@ -0,0 +1,42 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.model.WaitlistEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntryDto {
+    private Long id;
+    private UUID userId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+    private String status;
+    private Long position;       // 1-based place in the queue, only while WAITING
+    private Long reservationId;  // hold to check out with, only while OFFERED
+    private LocalDateTime offerExpiresAt;
+    private LocalDateTime createdAt;
+
+    public static WaitlistEntryDto fromEntity(WaitlistEntry entry, Long position) {
+        return WaitlistEntryDto.builder()
+                .id(entry.getId())
+                .userId(entry.getUserId())
+                .eventId(entry.getEventId())
+                .ticketTypeId(entry.getTicketTypeId())
+                .quantity(entry.getQuantity())
+                .status(entry.getStatus().name())
+                .position(position)
+                .reservationId(entry.getReservationId())
+                .offerExpiresAt(entry.getOfferExpiresAt())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+}
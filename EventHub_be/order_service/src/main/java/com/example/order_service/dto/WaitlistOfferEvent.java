@@ -0,0 +1,17 @@
+package com.example.order_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class WaitlistOfferEvent {
+    private Long waitlistEntryId;
+    private String userId;
+    private String userEmail;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+    private Long reservationId;
+    private String expiresAt; // ISO-8601 local time
+}
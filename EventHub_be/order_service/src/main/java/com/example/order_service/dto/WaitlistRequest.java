@@ -0,0 +1,17 @@
+package com.example.order_service.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistRequest {
+    private UUID userId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+}
@@ -2,24 +2,42 @@ package com.example.order_service.feign_client;
 
 import com.example.order_service.dto.DiscountDto;
 import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.EventInvoiceInfoDto;
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.dto.SeatSectionDto;
 import com.example.order_service.dto.TicketTypeDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @FeignClient(name = "event-service", url = "${event.service-url}")
 public interface EventServiceClient {
 
-    @GetMapping("/api/events/{eventId}")
+    @GetMapping("/api/events/{eventId}/summary")
     EventDto getEventById(@PathVariable("eventId") Long eventId);
 
     @GetMapping("/api/events/ticket-types/{id}")
     TicketTypeDto getTicketTypeById(@PathVariable("id") Long id);
 
+    @GetMapping("/api/events/batch")
+    List<EventDto> getEventsByIds(@RequestParam("ids") Collection<Long> ids);
+
+    @GetMapping("/api/events/ticket-types/batch")
+    List<TicketTypeDto> getTicketTypesByIds(@RequestParam("ids") Collection<Long> ids);
+
+    @GetMapping("/api/events/invoice-info/batch")
+    List<EventInvoiceInfoDto> getInvoiceInfos(@RequestParam("eventIds") Collection<Long> eventIds);
+
+    @GetMapping("/api/events/seats/sections/batch")
+    List<SeatSectionDto> getSeatSections(@RequestParam("seatIds") Collection<Long> seatIds);
+
     @GetMapping("/api/events/{eventId}/discounts/validate")
     Optional<DiscountDto> validateDiscountCode(@PathVariable("eventId") Long eventId, @RequestParam("code") String code);
 
@@ -28,4 +46,7 @@ public interface EventServiceClient {
 
     @PostMapping("/api/events/ticket-types/{id}/decrement-quota")
     void decrementTicketQuota(@PathVariable("id") Long ticketTypeId, @RequestParam("quantity") Integer quantity);
+
+    @PostMapping("/api/events/internal/inventory/release")
+    void releaseInventory(@RequestBody InventoryReleaseRequest request);
 }
@@ -3,6 +3,8 @@ package com.example.order_service.feign_client;
 import com.example.order_service.config.UserPrincipal;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,9 +14,25 @@ public class FeignClientInterceptor implements RequestInterceptor {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_TOKEN_TYPE = "Bearer";
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    // Lets internal endpoints trust calls made without a user, e.g. from scheduled jobs such as
+    // the customer email backfill, whose auth_service lookup has no JWT to forward
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    // The token is all an internal call needs, so a missing one or the old published default is refused
+    @PostConstruct
+    void checkInternalApiToken() {
+        if (internalApiToken == null || internalApiToken.isBlank() || "dev-internal-token".equals(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token must be set to a shared secret (INTERNAL_API_TOKEN)");
+        }
+    }
 
     @Override
     public void apply(RequestTemplate template) {
+        template.header(INTERNAL_TOKEN_HEADER, internalApiToken);
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
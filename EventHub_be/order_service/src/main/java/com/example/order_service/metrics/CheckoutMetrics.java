@@ -0,0 +1,21 @@
+package com.example.order_service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CheckoutMetrics {
+    private final MeterRegistry meterRegistry;
+
+    // eventIds are folded into a fixed number of buckets to keep tag cardinality bounded
+    @Value("${order.checkout-metrics.event-buckets:16}")
+    private int eventBuckets;
+
+    public CheckoutTrace start(Long eventId) {
+        String bucket = eventId == null ? "none" : String.valueOf(Math.floorMod(eventId, eventBuckets));
+        return new CheckoutTrace(meterRegistry, bucket);
+    }
+}
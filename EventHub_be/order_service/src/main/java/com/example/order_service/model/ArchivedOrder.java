@@ -0,0 +1,45 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order of a long-finished event, moved out of {@code orders} by the archival job.
+ * Keeps the original id so references from other services stay valid.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_event_status", columnList = "event_id, status"),
+        @Index(name = "idx_orders_archive_user_id", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID userId;
+    private Long eventId;
+    @Column(length = 191)
+    private String customerEmail;
+    private BigDecimal totalAmount;
+    private String currency;
+    private String discountCode;
+    private String paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    private Order.OrderStatus status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime eventEndTime;
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId; // Plain column: archive tables carry no foreign keys
+
+    @Column(name = "ticket_type_id")
+    private Long ticketTypeId;
+
+    @Column(name = "showtime_id")
+    private Long showtimeId;
+    private int quantity;
+    private BigDecimal price;
+}
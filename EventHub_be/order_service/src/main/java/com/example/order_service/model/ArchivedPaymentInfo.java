@@ -0,0 +1,33 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_info_archive", indexes = {
+        @Index(name = "idx_payment_info_archive_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedPaymentInfo {
+    @Id
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    private String method;
+    private String transactionId;
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentInfo.PaymentStatus status;
+
+    private LocalDateTime paidAt;
+}
@@ -0,0 +1,27 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Price quote already used by a checkout. Rows are only needed until the quote would have
+ * expired anyway.
+ */
+@Entity
+@Table(name = "consumed_quotes", indexes = @Index(name = "idx_consumed_quotes_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsumedQuote {
+    @Id
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID nonce;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
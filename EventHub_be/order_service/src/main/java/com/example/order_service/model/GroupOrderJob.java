@@ -0,0 +1,77 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Progress of an asynchronous group (corporate) order. Stored in the database so that
+ * any replica can answer status polls.
+ */
+@Entity
+@Table(name = "group_order_jobs", indexes = {
+        @Index(name = "idx_group_order_jobs_status_updated_at", columnList = "status, updated_at"),
+        @Index(name = "idx_group_order_jobs_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupOrderJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID userId;
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int totalTickets;
+    private int ticketsReserved;
+    private int totalItems;
+    private int itemsWritten;
+    private Long orderId; // set once the order has been written
+
+    // Quota taken from event_service so far, per ticket type; handed back if the job fails or is abandoned
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "group_order_job_reservations", joinColumns = @JoinColumn(name = "job_id"))
+    @MapKeyColumn(name = "ticket_type_id")
+    @Column(name = "quantity")
+    @Builder.Default
+    private Map<Long, Integer> reservedQuantities = new HashMap<>();
+
+    @Column(length = 1000)
+    private String error;
+
+    // Bumped by every change, so a worker never overwrites a job the recovery has given up; existing rows start at 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) status = Status.QUEUED;
+    }
+
+    @PreUpdate
+    public void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        QUEUED, RESERVING, WRITING, COMPLETED, FAILED
+    }
+}
@@ -9,7 +9,15 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at"),
+        // Staff order search: each filter can seek its own index and read rows in created_at order
+        @Index(name = "idx_orders_customer_email_created_at", columnList = "customer_email, created_at"),
+        @Index(name = "idx_orders_discount_code_created_at", columnList = "discount_code, created_at"),
+        @Index(name = "idx_orders_created_at", columnList = "created_at"),
+        // Per-event sold counts read only this event's rows
+        @Index(name = "idx_orders_event_id_status", columnList = "event_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +31,8 @@ public class Order {
     @Column(columnDefinition = "BINARY(16)")
     private UUID userId;
     private Long eventId;
+    @Column(length = 191)
+    private String customerEmail; // Lower-cased copy of the buyer's email, kept for staff search
     private BigDecimal totalAmount;
     private String currency; // New field for currency
     private String discountCode; // New field for applied discount code
@@ -31,6 +41,11 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    // Bumped by every status transition; existing rows start at 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -53,6 +68,14 @@ public class Order {
     }
 
     public enum OrderStatus {
-        PENDING, PAID, CANCELLED, REFUNDED
+        PENDING, PAID, CANCELLED, REFUNDED;
+
+        public boolean canTransitionTo(OrderStatus target) {
+            return switch (this) {
+                case PENDING -> target == PAID || target == CANCELLED;
+                case PAID -> target == REFUNDED;
+                case CANCELLED, REFUNDED -> false;
+            };
+        }
     }
 }
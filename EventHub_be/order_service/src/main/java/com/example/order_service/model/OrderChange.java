@@ -0,0 +1,54 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only log of order and payment status changes.
+ * The auto-increment id doubles as the cursor for the change feed; ids are not assigned in
+ * commit order, so the feed only serves rows older than a settle time.
+ */
+@Entity
+@Table(name = "order_changes", indexes = {
+        @Index(name = "idx_order_changes_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    private Long eventId;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    @Enumerated(EnumType.STRING)
+    private Order.OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentInfo.PaymentStatus paymentStatus;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+
+    public enum ChangeType {
+        ORDER_CREATED, ORDER_STATUS_CHANGED, PAYMENT_STATUS_CHANGED
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Receipt or invoice document of a paid order. The PDF itself lives on disk under its
+ * SHA-256; this row only tracks rendering and points at the content hash.
+ */
+@Entity
+@Table(name = "order_invoices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_invoices_order_id", columnNames = "order_id"),
+        indexes = @Index(name = "idx_order_invoices_status_id", columnList = "status, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderInvoice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    private Kind kind; // set when rendered, depends on the event's invoice settings
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(length = 64)
+    private String contentHash; // hex SHA-256 of the PDF
+    private Long sizeBytes;
+    private int attempts;
+    private LocalDateTime nextAttemptAt; // backoff after a failed render
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime renderedAt;
+
+    @PrePersist
+    public void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) status = Status.PENDING;
+    }
+
+    public enum Kind {
+        RECEIPT, INVOICE
+    }
+
+    public enum Status {
+        PENDING, READY, FAILED
+    }
+}
@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_status_expire_at", columnList = "status, expire_at"),
+        @Index(name = "idx_reservations_event_id_status", columnList = "event_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +27,10 @@ public class Reservation {
     private Long ticketTypeId;
     private Long seatId; // New field to link to a specific seat
     private Integer quantity;
+    // Quota already taken from event_service for this hold (waitlist offers); null for regular reservations
+    private Integer heldQuantity;
 
+    private LocalDateTime createdAt; // start of the hold; heartbeats cannot extend it past a fixed cap from here
     private LocalDateTime expireAt;
 
     @Enumerated(EnumType.STRING)
@@ -32,6 +38,7 @@ public class Reservation {
 
     @PrePersist
     public void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
         if (expireAt == null) expireAt = LocalDateTime.now().plusMinutes(5);
         if (status == null) status = ReservationStatus.PENDING;
     }
@@ -0,0 +1,25 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Liveness row for one order_service replica. Replicas with a recent heartbeat
+ * share partitioned background work between them.
+ */
+@Entity
+@Table(name = "scheduler_instances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerInstance {
+    @Id
+    private String instanceId;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,24 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Named time-bound lease for jobs that must run on exactly one replica.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+    @Id
+    private String name;
+
+    private String owner;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,60 @@
+package com.example.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A fan queued for a sold-out ticket type. The identity id gives the queue order
+ * within a ticket type; released quota is offered to the lowest WAITING ids first.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_ticket_type_status", columnList = "ticket_type_id, status, id"),
+        @Index(name = "idx_waitlist_status_offer_expires_at", columnList = "status, offer_expires_at"),
+        @Index(name = "idx_waitlist_user_id", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID userId;
+    private String userEmail; // captured on join, offers are made from background jobs
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Long reservationId; // hold created when the entry is offered
+    private LocalDateTime offerExpiresAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) status = Status.WAITING;
+    }
+
+    @PreUpdate
+    public void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        WAITING, OFFERED, CLAIMED, EXPIRED, CANCELLED
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.ArchivedOrder;
+import com.example.order_service.model.Order.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    List<ArchivedOrder> findByUserId(UUID userId);
+    List<ArchivedOrder> findByEventId(Long eventId);
+    List<ArchivedOrder> findByEventIdAndStatus(Long eventId, OrderStatus status);
+    List<ArchivedOrder> findByEventIdAndStatusAndCreatedAtBetween(Long eventId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM ArchivedOrder o WHERE o.status = :status")
+    BigDecimal sumTotalAmountByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM ArchivedOrder o WHERE o.eventId = :eventId AND o.status = :status")
+    BigDecimal sumTotalAmountByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") OrderStatus status);
+}
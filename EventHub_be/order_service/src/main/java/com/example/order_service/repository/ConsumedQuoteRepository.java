@@ -0,0 +1,21 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.ConsumedQuote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ConsumedQuoteRepository extends JpaRepository<ConsumedQuote, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ConsumedQuote q WHERE q.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,69 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.GroupOrderJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GroupOrderJobRepository extends JpaRepository<GroupOrderJob, Long> {
+
+    // Unfinished jobs of this replica's eventId partition that made no progress since the cutoff
+    @Query("SELECT j FROM GroupOrderJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff " +
+           "AND MOD(j.eventId, :partitionCount) = :partitionIndex ORDER BY j.id")
+    List<GroupOrderJob> findAbandoned(@Param("statuses") Collection<GroupOrderJob.Status> statuses,
+                                      @Param("cutoff") LocalDateTime cutoff,
+                                      @Param("partitionCount") int partitionCount,
+                                      @Param("partitionIndex") int partitionIndex,
+                                      Pageable pageable);
+
+    // Moves a job on only if nobody else did since it was read; 0 means it was taken over or finished
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GroupOrderJob j SET j.status = :newStatus, j.version = j.version + 1, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expectedStatus") GroupOrderJob.Status expectedStatus,
+                     @Param("newStatus") GroupOrderJob.Status newStatus,
+                     @Param("now") LocalDateTime now);
+
+    // Fails a job only while it is unfinished, so a job finished or given up meanwhile keeps its outcome
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GroupOrderJob j SET j.status = :newStatus, j.error = :error, j.version = j.version + 1, " +
+           "j.updatedAt = :now WHERE j.id = :id AND j.status IN :statuses")
+    int failIfIn(@Param("id") Long id,
+                 @Param("statuses") Collection<GroupOrderJob.Status> statuses,
+                 @Param("newStatus") GroupOrderJob.Status newStatus,
+                 @Param("error") String error,
+                 @Param("now") LocalDateTime now);
+
+    // Gives up on a job only if it still made no progress since the cutoff
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GroupOrderJob j SET j.status = :newStatus, j.error = :error, j.version = j.version + 1, " +
+           "j.updatedAt = :now WHERE j.id = :id AND j.status IN :statuses AND j.updatedAt < :cutoff")
+    int failIfAbandoned(@Param("id") Long id,
+                        @Param("statuses") Collection<GroupOrderJob.Status> statuses,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("newStatus") GroupOrderJob.Status newStatus,
+                        @Param("error") String error,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE GroupOrderJob j SET j.status = :newStatus, j.orderId = :orderId, j.itemsWritten = :itemsWritten, " +
+           "j.version = j.version + 1, j.updatedAt = :now WHERE j.id = :id AND j.status = :expectedStatus")
+    int completeWriting(@Param("id") Long id,
+                        @Param("expectedStatus") GroupOrderJob.Status expectedStatus,
+                        @Param("newStatus") GroupOrderJob.Status newStatus,
+                        @Param("orderId") Long orderId,
+                        @Param("itemsWritten") int itemsWritten,
+                        @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,65 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based statements that move orders of finished events into the archive tables.
+ * Each batch is copied with INSERT ... SELECT and then deleted, entirely inside MySQL.
+ */
+@org.springframework.stereotype.Repository
+public interface OrderArchiveRepository extends Repository<Order, Long> {
+
+    // Keyset page over idx_orders_event_id_status, so no run scans the whole table at once
+    @Query("SELECT DISTINCT o.eventId FROM Order o WHERE o.eventId > :afterId " +
+           "AND MOD(o.eventId, :partitionCount) = :partitionIndex ORDER BY o.eventId")
+    List<Long> findDistinctEventIdsAfter(@Param("afterId") Long afterId,
+                                         @Param("partitionCount") int partitionCount,
+                                         @Param("partitionIndex") int partitionIndex,
+                                         Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.eventId = :eventId ORDER BY o.id")
+    List<Long> findIdsByEventId(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, user_id, event_id, customer_email, total_amount, currency, discount_code, payment_method, " +
+                   "status, created_at, updated_at, event_end_time, archived_at) " +
+                   "SELECT id, user_id, event_id, customer_email, total_amount, currency, discount_code, payment_method, " +
+                   "status, created_at, updated_at, :eventEndTime, :archivedAt FROM orders WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids,
+                   @Param("eventEndTime") LocalDateTime eventEndTime,
+                   @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, ticket_type_id, showtime_id, quantity, price) " +
+                   "SELECT id, order_id, ticket_type_id, showtime_id, quantity, price FROM order_items WHERE order_id IN (:ids)",
+           nativeQuery = true)
+    int copyOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO payment_info_archive (id, order_id, method, transaction_id, amount, status, paid_at) " +
+                   "SELECT id, order_id, method, transaction_id, amount, status, paid_at FROM payment_info WHERE order_id IN (:ids)",
+           nativeQuery = true)
+    int copyPaymentInfo(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int deleteOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM payment_info WHERE order_id IN (:ids)", nativeQuery = true)
+    int deletePaymentInfo(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteOrders(@Param("ids") Collection<Long> ids);
+}
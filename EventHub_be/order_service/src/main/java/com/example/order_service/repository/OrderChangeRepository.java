@@ -0,0 +1,14 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.OrderChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderChangeRepository extends JpaRepository<OrderChange, Long> {
+    // Primary-key range scan: WHERE id > ? ORDER BY id LIMIT ?
+    List<OrderChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.OrderInvoice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderInvoiceRepository extends JpaRepository<OrderInvoice, Long> {
+    Optional<OrderInvoice> findByOrderId(Long orderId);
+
+    boolean existsByOrderId(Long orderId);
+
+    // Oldest pending documents of this replica's eventId partition that are not backing off
+    @Query("SELECT i FROM OrderInvoice i WHERE i.status = :status " +
+           "AND (i.nextAttemptAt IS NULL OR i.nextAttemptAt <= :now) " +
+           "AND MOD(i.eventId, :partitionCount) = :partitionIndex ORDER BY i.id")
+    List<OrderInvoice> findBatch(@Param("status") OrderInvoice.Status status,
+                                 @Param("now") LocalDateTime now,
+                                 @Param("partitionCount") int partitionCount,
+                                 @Param("partitionIndex") int partitionIndex,
+                                 Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC batch insert for large orders. Hibernate cannot batch inserts of
+ * IDENTITY-keyed entities, so saveAll would issue one INSERT per item.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderItemBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO order_items (order_id, ticket_type_id, showtime_id, quantity, price) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs on the connection of the surrounding JPA transaction
+    public void insertAll(Long orderId, List<OrderItem> items, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, batchSize, (ps, item) -> {
+            ps.setLong(1, orderId);
+            ps.setLong(2, item.getTicketTypeId());
+            if (item.getShowtimeId() != null) {
+                ps.setLong(3, item.getShowtimeId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setInt(4, item.getQuantity());
+            ps.setBigDecimal(5, item.getPrice());
+        });
+    }
+}
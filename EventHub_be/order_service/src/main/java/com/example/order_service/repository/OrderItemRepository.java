@@ -1,9 +1,23 @@
 package com.example.order_service.repository;
 
+import com.example.order_service.dto.SoldCountDto;
+import com.example.order_service.model.Order;
 import com.example.order_service.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
+
+    @Query("SELECT new com.example.order_service.dto.SoldCountDto(i.ticketTypeId, i.showtimeId, SUM(i.quantity)) " +
+           "FROM OrderItem i JOIN i.order o WHERE o.eventId = :eventId AND o.status IN :statuses " +
+           "GROUP BY i.ticketTypeId, i.showtimeId")
+    List<SoldCountDto> sumSoldByEventId(@Param("eventId") Long eventId,
+                                       @Param("statuses") Collection<Order.OrderStatus> statuses);
 }
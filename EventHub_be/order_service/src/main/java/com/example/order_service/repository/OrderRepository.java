@@ -2,18 +2,81 @@ package com.example.order_service.repository;
 
 import com.example.order_service.model.Order;
 import com.example.order_service.model.Order.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.time.LocalDateTime;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByUserId(UUID userId);
     List<Order> findByEventId(Long eventId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByEventIdAndStatus(Long eventId, OrderStatus status);
     List<Order> findByEventIdAndStatusAndCreatedAtBetween(Long eventId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = :status")
+    BigDecimal sumTotalAmountByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.eventId = :eventId AND o.status = :status")
+    BigDecimal sumTotalAmountByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") OrderStatus status);
+
+    // Batch scan over idx_orders_status_created_at, restricted to this replica's eventId partition;
+    // rows stay locked until the batch commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // Orders with an initiated payment are left alone; their callback settles them. Group orders
+    // get their own, longer timeout, since a corporate buyer pays by invoice
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.createdAt < :cutoff " +
+           "AND MOD(o.eventId, :partitionCount) = :partitionIndex " +
+           "AND NOT EXISTS (SELECT p.id FROM PaymentInfo p WHERE p.order = o AND p.transactionId IS NOT NULL) " +
+           "AND (o.createdAt < :groupCutoff OR NOT EXISTS (SELECT j.id FROM GroupOrderJob j WHERE j.orderId = o.id)) " +
+           "ORDER BY o.id")
+    List<Order> findStaleBatch(@Param("status") OrderStatus status,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               @Param("groupCutoff") LocalDateTime groupCutoff,
+                               @Param("partitionCount") int partitionCount,
+                               @Param("partitionIndex") int partitionIndex,
+                               Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id IN :ids AND o.status = :expectedStatus")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") OrderStatus expectedStatus,
+                         @Param("newStatus") OrderStatus newStatus,
+                         @Param("now") LocalDateTime now);
+
+    // Compare-and-set on (status, version): returns 0 when another request changed the order first
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = :expectedStatus AND o.version = :expectedVersion")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expectedStatus") OrderStatus expectedStatus,
+                         @Param("expectedVersion") Long expectedVersion,
+                         @Param("newStatus") OrderStatus newStatus,
+                         @Param("now") LocalDateTime now);
+
+    // Orders placed before customer_email existed, or by staff on behalf of a customer
+    @Query("SELECT DISTINCT o.userId FROM Order o WHERE o.customerEmail IS NULL")
+    List<UUID> findUserIdsMissingCustomerEmail(Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.customerEmail = :email WHERE o.userId = :userId AND o.customerEmail IS NULL")
+    int fillCustomerEmail(@Param("userId") UUID userId, @Param("email") String email);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
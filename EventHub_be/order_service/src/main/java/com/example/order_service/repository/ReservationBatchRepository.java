@@ -0,0 +1,33 @@
+package com.example.order_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch updates for reservation holds, where each row gets its own expiry.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationBatchRepository {
+    // Only moves expire_at forward and never revives a hold that is no longer pending
+    private static final String EXTEND_SQL =
+            "UPDATE reservations SET expire_at = ? WHERE id = ? AND status = 'PENDING' AND expire_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void extendHolds(Map<Long, LocalDateTime> expireAtById) {
+        List<Object[]> args = new ArrayList<>(expireAtById.size());
+        expireAtById.forEach((id, expireAt) -> {
+            Timestamp timestamp = Timestamp.valueOf(expireAt);
+            args.add(new Object[]{timestamp, id, timestamp});
+        });
+        jdbcTemplate.batchUpdate(EXTEND_SQL, args);
+    }
+}
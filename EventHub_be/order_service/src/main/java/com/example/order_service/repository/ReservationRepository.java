@@ -1,10 +1,19 @@
 package com.example.order_service.repository;
 
+import com.example.order_service.dto.ExpiredHoldCount;
+import com.example.order_service.dto.HeldCountDto;
 import com.example.order_service.model.Reservation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,4 +32,42 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     // For shopping cart like functionality
     Optional<Reservation> findByUserIdAndEventIdAndTicketTypeIdAndSeatIdAndStatus(UUID userId, Long eventId, Long ticketTypeId, Long seatId, Reservation.ReservationStatus status);
     List<Reservation> findByUserIdAndStatusAndExpireAtAfter(UUID userId, Reservation.ReservationStatus status, LocalDateTime now);
+
+    // Bulk checkout: SELECT ... WHERE id IN (...) FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids")
+    List<Reservation> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Same filter as bulkExpire, grouped for the contention counters
+    @Query("SELECT new com.example.order_service.dto.HeldCountDto(r.ticketTypeId, SUM(r.quantity)) " +
+           "FROM Reservation r WHERE r.eventId = :eventId AND r.status = :status AND r.expireAt > :now " +
+           "GROUP BY r.ticketTypeId")
+    List<HeldCountDto> sumHeldByEventId(@Param("eventId") Long eventId,
+                                        @Param("status") Reservation.ReservationStatus status,
+                                        @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.example.order_service.dto.ExpiredHoldCount(r.eventId, r.ticketTypeId, r.seatId, COUNT(r)) " +
+           "FROM Reservation r WHERE r.status = :status AND r.expireAt < :now " +
+           "AND MOD(r.eventId, :partitionCount) = :partitionIndex GROUP BY r.eventId, r.ticketTypeId, r.seatId")
+    List<ExpiredHoldCount> countOverdue(@Param("status") Reservation.ReservationStatus status,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("partitionCount") int partitionCount,
+                                        @Param("partitionIndex") int partitionIndex);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.status = :newStatus WHERE r.status = :expectedStatus AND r.expireAt < :now " +
+           "AND MOD(r.eventId, :partitionCount) = :partitionIndex")
+    int bulkExpire(@Param("expectedStatus") Reservation.ReservationStatus expectedStatus,
+                   @Param("newStatus") Reservation.ReservationStatus newStatus,
+                   @Param("now") LocalDateTime now,
+                   @Param("partitionCount") int partitionCount,
+                   @Param("partitionIndex") int partitionIndex);
+
+    // Clears the persistence context so the stale PENDING copies are not flushed back afterwards
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :newStatus WHERE r.id IN :ids AND r.status = :expectedStatus")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") Reservation.ReservationStatus expectedStatus,
+                         @Param("newStatus") Reservation.ReservationStatus newStatus);
 }
@@ -0,0 +1,19 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.SchedulerInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SchedulerInstanceRepository extends JpaRepository<SchedulerInstance, String> {
+    List<SchedulerInstance> findByHeartbeatAtAfterOrderByInstanceIdAsc(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    void deleteByHeartbeatAtBefore(LocalDateTime before);
+}
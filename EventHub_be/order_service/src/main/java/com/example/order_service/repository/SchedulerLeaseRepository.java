@@ -0,0 +1,30 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Renews our own lease or takes over an expired one; 0 rows means someone else holds it
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
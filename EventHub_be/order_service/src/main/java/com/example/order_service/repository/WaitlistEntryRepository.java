@@ -0,0 +1,39 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.model.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(UUID userId);
+    Optional<WaitlistEntry> findFirstByUserIdAndTicketTypeIdAndStatusIn(UUID userId, Long ticketTypeId, Collection<WaitlistEntry.Status> statuses);
+    long countByTicketTypeIdAndStatusAndIdLessThan(Long ticketTypeId, WaitlistEntry.Status status, Long id);
+
+    // Head of the queue, locked so concurrent releases cannot offer the same entry twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.ticketTypeId = :ticketTypeId AND w.status = :status ORDER BY w.id")
+    List<WaitlistEntry> findQueueHeadForUpdate(@Param("ticketTypeId") Long ticketTypeId,
+                                               @Param("status") WaitlistEntry.Status status,
+                                               Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = :status AND w.offerExpiresAt < :now " +
+           "AND MOD(w.eventId, :partitionCount) = :partitionIndex ORDER BY w.id")
+    List<WaitlistEntry> findExpiredOffersForUpdate(@Param("status") WaitlistEntry.Status status,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("partitionCount") int partitionCount,
+                                                   @Param("partitionIndex") int partitionIndex,
+                                                   Pageable pageable);
+}
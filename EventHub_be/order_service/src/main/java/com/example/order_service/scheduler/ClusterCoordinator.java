@@ -0,0 +1,133 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.model.SchedulerInstance;
+import com.example.order_service.model.SchedulerLease;
+import com.example.order_service.repository.SchedulerInstanceRepository;
+import com.example.order_service.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Coordinates scheduled jobs across order_service replicas through the shared database.
+ * <p>
+ * Every replica heartbeats into {@code scheduler_instances}. The live replicas, sorted by id,
+ * split events between them by {@code eventId mod liveCount}, so partitioned jobs scale out
+ * instead of fighting over the same rows. Jobs that must run exactly once use a
+ * {@code scheduler_leases} row instead.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+    private static final String PRUNE_LEASE = "scheduler-instance-prune";
+
+    private final SchedulerInstanceRepository instanceRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String instanceId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile SchedulerPartition partition = SchedulerPartition.NONE;
+
+    @Value("${order.cluster.instance-ttl-seconds:30}")
+    private long instanceTtlSeconds;
+
+    public ClusterCoordinator(SchedulerInstanceRepository instanceRepository,
+                              SchedulerLeaseRepository leaseRepository,
+                              @Value("${HOSTNAME:order-service}") String hostname) {
+        this.instanceRepository = instanceRepository;
+        this.leaseRepository = leaseRepository;
+        this.instanceId = hostname + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Partition owned by this replica as of the last heartbeat; inactive until the first one lands.
+     */
+    public SchedulerPartition currentPartition() {
+        return partition;
+    }
+
+    @Scheduled(fixedDelayString = "${order.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            instanceRepository.save(SchedulerInstance.builder()
+                    .instanceId(instanceId)
+                    .startedAt(startedAt)
+                    .heartbeatAt(now)
+                    .build());
+
+            List<SchedulerInstance> live = instanceRepository.findByHeartbeatAtAfterOrderByInstanceIdAsc(now.minusSeconds(instanceTtlSeconds));
+            int index = -1;
+            for (int i = 0; i < live.size(); i++) {
+                if (live.get(i).getInstanceId().equals(instanceId)) {
+                    index = i;
+                    break;
+                }
+            }
+            SchedulerPartition next = index >= 0 ? new SchedulerPartition(index, live.size()) : SchedulerPartition.NONE;
+            if (next.getIndex() != partition.getIndex() || next.getCount() != partition.getCount()) {
+                log.info("Scheduler partition for {} changed from {} to {}", instanceId, partition, next);
+            }
+            partition = next;
+
+            if (tryAcquireLease(PRUNE_LEASE, Duration.ofSeconds(instanceTtlSeconds))) {
+                instanceRepository.deleteByHeartbeatAtBefore(now.minusSeconds(instanceTtlSeconds * 10));
+            }
+        } catch (Exception e) {
+            // Without a fresh heartbeat we cannot tell which partition is ours, so stand down
+            log.error("Scheduler heartbeat failed for {}", instanceId, e);
+            partition = SchedulerPartition.NONE;
+        }
+    }
+
+    /**
+     * Acquires or renews a named lease for this replica.
+     *
+     * @return true if this replica holds the lease until {@code now + ttl}
+     */
+    public boolean tryAcquireLease(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (leaseRepository.tryAcquire(name, instanceId, expiresAt, now) > 0) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            leaseRepository.saveAndFlush(SchedulerLease.builder()
+                    .name(name)
+                    .owner(instanceId)
+                    .expiresAt(expiresAt)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false; // Another replica created the lease first
+        }
+    }
+
+    public void releaseLease(String name) {
+        leaseRepository.release(name, instanceId, LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void leave() {
+        partition = SchedulerPartition.NONE;
+        try {
+            instanceRepository.deleteById(instanceId);
+        } catch (Exception e) {
+            log.warn("Failed to deregister scheduler instance {}", instanceId, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.PriceQuoteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Not keyed by event, so only the replica holding partition 0 runs it
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsumedQuoteCleanupScheduler {
+    private final PriceQuoteService priceQuoteService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Scheduled(fixedDelayString = "${order.quote.purge-interval-ms:600000}")
+    public void purgeConsumedQuotes() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive() || partition.getIndex() != 0) {
+            return;
+        }
+        try {
+            int purged = priceQuoteService.purgeConsumed();
+            if (purged > 0) {
+                log.debug("Purged {} expired used quotes", purged);
+            }
+        } catch (Exception e) {
+            log.error("Purging used quotes failed, will retry on next run", e);
+        }
+    }
+}
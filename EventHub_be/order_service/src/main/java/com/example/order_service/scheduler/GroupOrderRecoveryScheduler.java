@@ -0,0 +1,50 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.model.GroupOrderJob;
+import com.example.order_service.service.GroupOrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Workers run in memory, so jobs of a replica that stopped are never finished; this fails them and returns their quota
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupOrderRecoveryScheduler {
+    private final GroupOrderService groupOrderService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${order.group.abandoned-after-minutes:15}")
+    private long abandonedAfterMinutes;
+
+    @Value("${order.group.recovery-batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.group.recovery-interval-ms:60000}")
+    public void recoverAbandonedJobs() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(abandonedAfterMinutes);
+        int recovered = 0;
+        try {
+            List<GroupOrderJob> jobs = groupOrderService.findAbandonedJobs(partition, cutoff, batchSize);
+            for (GroupOrderJob job : jobs) {
+                if (groupOrderService.recoverJob(job, cutoff)) {
+                    recovered++;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Group order recovery failed in partition {} after {} jobs, will retry on next run", partition, recovered, e);
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} abandoned group order jobs in partition {}", recovered, partition);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.InvoiceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvoiceRenderScheduler {
+    private final InvoiceService invoiceService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${order.invoice.batch-size:50}")
+    private int batchSize;
+
+    @Value("${order.invoice.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${order.invoice.render-interval-ms:5000}")
+    public void renderPendingInvoices() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int batch = invoiceService.renderBatch(partition, batchSize);
+                total += batch;
+                if (batch < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Invoice rendering failed in partition {} after {} documents, will retry on next run", partition, total, e);
+        }
+        if (total > 0) {
+            log.info("Processed {} invoice documents in partition {}", total, partition);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.service.OrderArchivalService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchivalScheduler {
+    private final OrderArchivalService orderArchivalService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.archive.months-after-event:6}")
+    private long monthsAfterEvent;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void archiveFinishedEvents() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(monthsAfterEvent);
+        List<EventDto> events;
+        try {
+            events = orderArchivalService.findArchivableEvents(partition, cutoff);
+        } catch (Exception e) {
+            log.error("Order archival could not list finished events in partition {}", partition, e);
+            return;
+        }
+
+        for (EventDto event : events) {
+            int archived = 0;
+            try {
+                int batch;
+                // One transaction per batch keeps locks and undo log small
+                do {
+                    batch = orderArchivalService.archiveBatch(event, batchSize);
+                    archived += batch;
+                } while (batch == batchSize);
+            } catch (Exception e) {
+                log.error("Order archival failed for eventId: {} after {} orders", event.getId(), archived, e);
+            }
+            if (archived > 0) {
+                meterRegistry.counter("orders.archived").increment(archived);
+                log.info("Archived {} orders of eventId: {} (ended {})", archived, event.getId(),
+                        event.getEndTime() != null ? event.getEndTime() : event.getStartTime());
+            }
+        }
+    }
+}
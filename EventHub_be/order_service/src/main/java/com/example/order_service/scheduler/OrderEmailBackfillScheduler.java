@@ -0,0 +1,36 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.OrderSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keyed by user rather than event, so only the replica holding partition 0 runs it
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEmailBackfillScheduler {
+    private final OrderSearchService orderSearchService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${order.search.email-backfill-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.search.email-backfill-interval-ms:60000}")
+    public void backfillCustomerEmails() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive() || partition.getIndex() != 0) {
+            return;
+        }
+        try {
+            int users = orderSearchService.backfillCustomerEmails(batchSize);
+            if (users > 0) {
+                log.info("Backfilled customer email on orders of {} users", users);
+            }
+        } catch (Exception e) {
+            log.error("Customer email backfill failed, will retry on next run", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler {
+    private final ReservationService reservationService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Scheduled(fixedDelayString = "${order.reservation-expiry.interval-ms:30000}")
+    public void expireReservations() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        try {
+            int expired = reservationService.expireReservations(partition);
+            if (expired > 0) {
+                log.info("Expired {} reservations in partition {}", expired, partition);
+            }
+        } catch (Exception e) {
+            log.error("Reservation expiry failed in partition {}", partition, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.ReservationHoldIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Not partitioned: every replica flushes the holds in its own memory
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationHoldFlushScheduler {
+    private final ReservationHoldIndex reservationHoldIndex;
+
+    @Scheduled(fixedDelayString = "${order.reservation-hold.flush-interval-ms:15000}")
+    public void flushHolds() {
+        try {
+            reservationHoldIndex.flush();
+        } catch (Exception e) {
+            log.error("Reservation hold flush failed, will retry on next run", e);
+        }
+    }
+}
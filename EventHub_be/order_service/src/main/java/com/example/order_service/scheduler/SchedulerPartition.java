@@ -0,0 +1,32 @@
+package com.example.order_service.scheduler;
+
+import lombok.Getter;
+
+/**
+ * Slice of the eventId space owned by this replica: events where eventId mod count == index.
+ */
+@Getter
+public class SchedulerPartition {
+    public static final SchedulerPartition NONE = new SchedulerPartition(-1, 0);
+
+    private final int index;
+    private final int count;
+
+    public SchedulerPartition(int index, int count) {
+        this.index = index;
+        this.count = count;
+    }
+
+    public boolean isActive() {
+        return count > 0 && index >= 0;
+    }
+
+    public boolean owns(Long eventId) {
+        return isActive() && eventId != null && Math.floorMod(eventId, (long) count) == index;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.StaleOrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleOrderCleanupScheduler {
+    private final StaleOrderService staleOrderService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${order.payment-timeout-minutes:15}")
+    private long paymentTimeoutMinutes;
+
+    @Value("${order.group.payment-timeout-hours:72}")
+    private long groupPaymentTimeoutHours;
+
+    @Value("${order.stale-cleanup.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.stale-cleanup.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${order.stale-cleanup.interval-ms:60000}")
+    public void cancelStaleOrders() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(paymentTimeoutMinutes);
+        LocalDateTime groupCutoff = now.minusHours(groupPaymentTimeoutHours);
+        int total = 0;
+        // Each batch runs in its own transaction so locks are held only briefly
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int cancelled;
+            try {
+                cancelled = staleOrderService.cancelStaleBatch(cutoff, groupCutoff, batchSize, partition);
+            } catch (Exception e) {
+                log.error("Stale order cleanup batch failed, will retry on next run", e);
+                break;
+            }
+            total += cancelled;
+            if (cancelled < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Stale order cleanup cancelled {} orders older than {} in partition {}", total, cutoff, partition);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitlistOfferScheduler {
+    private final WaitlistService waitlistService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${order.waitlist.recycle-batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.waitlist.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${order.waitlist.recycle-interval-ms:30000}")
+    public void recycleExpiredOffers() {
+        SchedulerPartition partition = clusterCoordinator.currentPartition();
+        if (!partition.isActive()) {
+            return;
+        }
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int settled;
+            try {
+                settled = waitlistService.recycleExpiredOffers(partition, batchSize);
+            } catch (Exception e) {
+                log.error("Waitlist offer recycling failed, will retry on next run", e);
+                break;
+            }
+            total += settled;
+            if (settled < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Settled {} expired waitlist offers in partition {}", total, partition);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.order_service.security;
 import com.example.order_service.dto.EventDto;
 import com.example.order_service.feign_client.EventServiceClient;
 import com.example.order_service.model.Order;
+import com.example.order_service.service.GroupOrderService;
 import com.example.order_service.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -19,6 +20,7 @@ public class OrderSecurity {
     private static final Logger log = LoggerFactory.getLogger(OrderSecurity.class); // Logger instance
 
     private final OrderService orderService;
+    private final GroupOrderService groupOrderService;
     private final EventServiceClient eventServiceClient;
 
     public Order getOrder(Long orderId) {
@@ -41,4 +43,18 @@ public class OrderSecurity {
         log.debug("OrderSecurity.isOrganizerOfOrder: currentUserId {} equals event.organizerId {}? -> {}", currentUserId, event.getOrganizerId(), isOrganizer);
         return isOrganizer;
     }
+
+    public boolean isOrganizerOfEvent(UUID currentUserId, Long eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        EventDto event = eventServiceClient.getEventById(eventId);
+        boolean isOrganizer = event != null && currentUserId.equals(event.getOrganizerId());
+        log.debug("OrderSecurity.isOrganizerOfEvent: userId {} organizes eventId {}? -> {}", currentUserId, eventId, isOrganizer);
+        return isOrganizer;
+    }
+
+    public boolean isOrganizerOfGroupJob(UUID currentUserId, Long jobId) {
+        return isOrganizerOfEvent(currentUserId, groupOrderService.getJob(jobId).getEventId());
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.AvailabilityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tells event_service which events' availability changed, once the surrounding transaction
+ * commits, so it never re-reads counts that are about to be rolled back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityEventPublisher {
+    private static final String AVAILABILITY_CHANGED_TOPIC = "availability.changed";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void publishAfterCommit(Long eventId) {
+        publishAfterCommit(Collections.singleton(eventId));
+    }
+
+    public void publishAfterCommit(Collection<Long> eventIds) {
+        Set<Long> distinct = new LinkedHashSet<>(eventIds);
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        sendAfterCommit(distinct.stream()
+                .map(eventId -> AvailabilityChangedEvent.builder().eventId(eventId).build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Like {@link #publishAfterCommit(Long)}, also naming the seats whose hold began or ended,
+     * so event_service can update its seat maps in place.
+     */
+    public void publishSeatsAfterCommit(Long eventId, Collection<Long> heldSeatIds, Collection<Long> releasedSeatIds) {
+        if (eventId == null) {
+            return;
+        }
+        sendAfterCommit(List.of(AvailabilityChangedEvent.builder()
+                .eventId(eventId)
+                .heldSeatIds(withoutNulls(heldSeatIds))
+                .releasedSeatIds(withoutNulls(releasedSeatIds))
+                .build()));
+    }
+
+    private void sendAfterCommit(List<AvailabilityChangedEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(events);
+            }
+        });
+    }
+
+    private void send(List<AvailabilityChangedEvent> events) {
+        for (AvailabilityChangedEvent event : events) {
+            try {
+                kafkaTemplate.send(AVAILABILITY_CHANGED_TOPIC, String.valueOf(event.getEventId()), event);
+            } catch (Exception e) {
+                log.error("Failed to publish availability change for eventId: {}", event.getEventId(), e);
+            }
+        }
+    }
+
+    private static List<Long> withoutNulls(Collection<Long> seatIds) {
+        return seatIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.CartSnapshotResponse;
+import com.example.order_service.dto.DiscountDto;
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Reservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartService {
+    private final ReservationService reservationService;
+    private final EventCatalogService eventCatalogService;
+    private final EventServiceClient eventServiceClient;
+    private final PricingService pricingService;
+
+    /**
+     * Builds a fully priced view of the user's active holds. Ticket types and events for
+     * all lines are resolved together through the catalog cache.
+     *
+     * @param eventId      event the discount code belongs to; optional when the cart holds a single event
+     * @param discountCode optional code to preview
+     */
+    public CartSnapshotResponse getCartSnapshot(UUID userId, Long eventId, String discountCode) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> reservations = reservationService.getCartItemsForUser(userId);
+
+        Set<Long> ticketTypeIds = reservations.stream().map(Reservation::getTicketTypeId).collect(Collectors.toSet());
+        Set<Long> eventIds = reservations.stream().map(Reservation::getEventId).collect(Collectors.toSet());
+        Map<Long, TicketTypeDto> ticketTypes = eventCatalogService.getTicketTypes(ticketTypeIds);
+        Map<Long, EventDto> events = eventCatalogService.getEvents(eventIds);
+
+        List<CartSnapshotResponse.CartLine> lines = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        LocalDateTime earliestExpiry = null;
+        for (Reservation res : reservations) {
+            TicketTypeDto ticketType = ticketTypes.get(res.getTicketTypeId());
+            EventDto event = events.get(res.getEventId());
+            BigDecimal unitPrice = ticketType != null && ticketType.getPrice() != null ? ticketType.getPrice() : BigDecimal.ZERO;
+            int quantity = res.getQuantity() != null ? res.getQuantity() : 0;
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            subtotal = subtotal.add(lineTotal);
+            if (earliestExpiry == null || res.getExpireAt().isBefore(earliestExpiry)) {
+                earliestExpiry = res.getExpireAt();
+            }
+
+            lines.add(CartSnapshotResponse.CartLine.builder()
+                    .reservationId(res.getId())
+                    .eventId(res.getEventId())
+                    .eventName(event != null ? event.getName() : null)
+                    .eventStartTime(event != null ? event.getStartTime() : null)
+                    .ticketTypeId(res.getTicketTypeId())
+                    .ticketTypeName(ticketType != null ? ticketType.getName() : null)
+                    .seatId(res.getSeatId())
+                    .quantity(quantity)
+                    .unitPrice(unitPrice)
+                    .lineTotal(lineTotal)
+                    .expireAt(res.getExpireAt())
+                    .secondsRemaining(secondsUntil(now, res.getExpireAt()))
+                    .build());
+        }
+
+        CartSnapshotResponse.DiscountPreview discount = null;
+        BigDecimal total = subtotal;
+        if (discountCode != null && !discountCode.isBlank()) {
+            discount = previewDiscount(lines, eventIds, eventId, discountCode);
+            if (discount.isValid()) {
+                total = subtotal.subtract(discount.getDiscountAmount());
+            }
+        }
+
+        return CartSnapshotResponse.builder()
+                .userId(userId)
+                .lines(lines)
+                .subtotal(subtotal)
+                .discount(discount)
+                .total(total)
+                .serverTime(now)
+                .expiresAt(earliestExpiry)
+                .secondsRemaining(earliestExpiry != null ? secondsUntil(now, earliestExpiry) : 0)
+                .build();
+    }
+
+    private CartSnapshotResponse.DiscountPreview previewDiscount(List<CartSnapshotResponse.CartLine> lines,
+                                                                 Set<Long> cartEventIds,
+                                                                 Long requestedEventId,
+                                                                 String code) {
+        CartSnapshotResponse.DiscountPreview.DiscountPreviewBuilder preview = CartSnapshotResponse.DiscountPreview.builder()
+                .code(code)
+                .discountAmount(BigDecimal.ZERO);
+
+        Long targetEventId = requestedEventId;
+        if (targetEventId == null) {
+            if (cartEventIds.size() != 1) {
+                return preview.valid(false).message("Specify the event the discount code applies to.").build();
+            }
+            targetEventId = cartEventIds.iterator().next();
+        }
+        final Long discountEventId = targetEventId;
+        preview.eventId(discountEventId);
+
+        Optional<DiscountDto> discount;
+        try {
+            discount = eventServiceClient.validateDiscountCode(discountEventId, code);
+        } catch (Exception e) {
+            log.warn("Discount lookup failed for eventId: {}, code: {}", discountEventId, code, e);
+            return preview.valid(false).message("Discount code could not be verified.").build();
+        }
+        if (discount.isEmpty()) {
+            return preview.valid(false).message("Invalid or expired discount code.").build();
+        }
+
+        BigDecimal eventSubtotal = lines.stream()
+                .filter(line -> discountEventId.equals(line.getEventId()))
+                .map(CartSnapshotResponse.CartLine::getLineTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        try {
+            pricingService.validateDiscount(discount.get(), eventSubtotal);
+        } catch (IllegalArgumentException e) {
+            return preview.valid(false).message(e.getMessage()).build();
+        }
+        BigDecimal discounted = pricingService.applyDiscount(discount.get(), eventSubtotal);
+        return preview.valid(true).discountAmount(eventSubtotal.subtract(discounted)).build();
+    }
+
+    private long secondsUntil(LocalDateTime now, LocalDateTime expireAt) {
+        return Math.max(0, Duration.between(now, expireAt).getSeconds());
+    }
+}
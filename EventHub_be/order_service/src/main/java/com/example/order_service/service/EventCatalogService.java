@@ -0,0 +1,93 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived read-through cache in front of event_service. Cache misses for a
+ * whole request are resolved with a single batch call instead of one call per id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventCatalogService {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final EventServiceClient eventServiceClient;
+    private final Map<Long, CachedEntry<TicketTypeDto>> ticketTypeCache = new ConcurrentHashMap<>();
+    private final Map<Long, CachedEntry<EventDto>> eventCache = new ConcurrentHashMap<>();
+
+    @Value("${order.catalog-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    public Map<Long, TicketTypeDto> getTicketTypes(Collection<Long> ids) {
+        return resolve(ids, ticketTypeCache, eventServiceClient::getTicketTypesByIds, TicketTypeDto::getId);
+    }
+
+    public Map<Long, EventDto> getEvents(Collection<Long> ids) {
+        return resolve(ids, eventCache, eventServiceClient::getEventsByIds, EventDto::getId);
+    }
+
+    private <T> Map<Long, T> resolve(Collection<Long> ids,
+                                     Map<Long, CachedEntry<T>> cache,
+                                     Function<Collection<Long>, List<T>> loader,
+                                     Function<T, Long> idOf) {
+        Map<Long, T> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        long now = System.currentTimeMillis();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            CachedEntry<T> entry = cache.get(id);
+            if (entry != null && entry.expiresAt > now) {
+                result.put(id, entry.value);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<T> loaded = loader.apply(missing);
+        if (cache.size() + missing.size() > MAX_ENTRIES) {
+            cache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (cache.size() + missing.size() > MAX_ENTRIES) {
+                cache.clear();
+            }
+        }
+        long expiresAt = now + ttlSeconds * 1000;
+        if (loaded != null) {
+            for (T value : loaded) {
+                Long id = idOf.apply(value);
+                cache.put(id, new CachedEntry<>(value, expiresAt));
+                result.put(id, value);
+            }
+        }
+        log.debug("Catalog lookup resolved {} ids with {} remote misses", ids.size(), missing.size());
+        return result;
+    }
+
+    private static final class CachedEntry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private CachedEntry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
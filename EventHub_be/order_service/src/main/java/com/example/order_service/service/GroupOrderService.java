@@ -0,0 +1,245 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.GroupOrderJobResponse;
+import com.example.order_service.dto.GroupOrderRequest;
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.GroupOrderJob;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.GroupOrderJobRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Corporate orders of thousands of tickets placed as one request. The request is validated
+ * synchronously, then a background worker reserves inventory in chunks and writes the order;
+ * progress is kept in {@link GroupOrderJob} for polling. The result is a single PENDING order,
+ * so payment produces one order.paid event for the whole group.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GroupOrderService {
+    private static final Set<GroupOrderJob.Status> UNFINISHED = EnumSet.of(
+            GroupOrderJob.Status.QUEUED, GroupOrderJob.Status.RESERVING, GroupOrderJob.Status.WRITING);
+
+    private final GroupOrderJobRepository groupOrderJobRepository;
+    private final GroupOrderWriter groupOrderWriter;
+    private final EventCatalogService eventCatalogService;
+    private final EventServiceClient eventServiceClient;
+
+    @Value("${order.group.max-tickets:5000}")
+    private int maxTickets;
+
+    @Value("${order.group.max-lines:5000}")
+    private int maxLines;
+
+    @Value("${order.group.inventory-chunk-size:500}")
+    private int inventoryChunkSize;
+
+    @Value("${order.group.item-batch-size:500}")
+    private int itemBatchSize;
+
+    @Value("${order.group.worker-threads:2}")
+    private int workerThreads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startWorkers() {
+        // Workers call event_service with the submitting user's token
+        executor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(workerThreads));
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        executor.shutdown();
+    }
+
+    public GroupOrderJobResponse submit(GroupOrderRequest request) {
+        int totalTickets = validateLines(request);
+        Set<Long> ticketTypeIds = request.getLines().stream()
+                .map(GroupOrderRequest.GroupOrderLine::getTicketTypeId)
+                .collect(Collectors.toSet());
+        Map<Long, TicketTypeDto> ticketTypes = eventCatalogService.getTicketTypes(ticketTypeIds);
+        validateTicketTypes(request, ticketTypeIds, ticketTypes);
+
+        GroupOrderJob job = groupOrderJobRepository.save(GroupOrderJob.builder()
+                .userId(request.getUserId())
+                .eventId(request.getEventId())
+                .status(GroupOrderJob.Status.QUEUED)
+                .totalTickets(totalTickets)
+                .totalItems(request.getLines().size())
+                .build());
+        Long jobId = job.getId();
+        executor.execute(() -> process(jobId, request, ticketTypes));
+        log.info("Queued group order job {} for eventId: {}, {} tickets in {} lines",
+                jobId, request.getEventId(), totalTickets, request.getLines().size());
+        return GroupOrderJobResponse.fromEntity(job);
+    }
+
+    public GroupOrderJobResponse getJob(Long jobId) {
+        return groupOrderJobRepository.findById(jobId)
+                .map(GroupOrderJobResponse::fromEntity)
+                .orElseThrow(() -> new RuntimeException("Group order job not found"));
+    }
+
+    void process(Long jobId, GroupOrderRequest request, Map<Long, TicketTypeDto> ticketTypes) {
+        // A job that waited in the queue for too long may have been given up as abandoned
+        if (groupOrderJobRepository.updateStatus(jobId, GroupOrderJob.Status.QUEUED, GroupOrderJob.Status.RESERVING,
+                LocalDateTime.now()) == 0) {
+            log.warn("Group order job {} is no longer queued, skipping it", jobId);
+            return;
+        }
+        GroupOrderJob job = groupOrderJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Group order job not found"));
+        try {
+            // Quota is taken in fixed-size chunks so each event_service call stays short and
+            // progress is visible; whatever was taken is handed back if a later step fails
+            Map<Long, Integer> quantities = request.getLines().stream()
+                    .collect(Collectors.toMap(GroupOrderRequest.GroupOrderLine::getTicketTypeId,
+                            GroupOrderRequest.GroupOrderLine::getQuantity, Integer::sum, LinkedHashMap::new));
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                int remaining = entry.getValue();
+                while (remaining > 0) {
+                    int chunk = Math.min(inventoryChunkSize, remaining);
+                    eventServiceClient.decrementTicketQuota(entry.getKey(), chunk);
+                    // Recorded with the job, so the quota can be handed back even if this replica dies.
+                    // The save fails on the version if the recovery gave the job up meanwhile
+                    job.getReservedQuantities().merge(entry.getKey(), chunk, Integer::sum);
+                    remaining -= chunk;
+                    job.setTicketsReserved(job.getTicketsReserved() + chunk);
+                    job = groupOrderJobRepository.save(job);
+                }
+            }
+
+            job.setStatus(GroupOrderJob.Status.WRITING);
+            job = groupOrderJobRepository.save(job);
+            // Marks the job COMPLETED in the order's transaction, or writes nothing if it is no longer WRITING
+            Order order = groupOrderWriter.writeOrder(jobId, request, ticketTypes, itemBatchSize);
+            log.info("Group order job {} completed with orderId: {}", jobId, order.getId());
+        } catch (Exception e) {
+            log.error("Group order job {} failed after reserving {} tickets", jobId, job.getTicketsReserved(), e);
+            // Also after a takeover: chunks the recovery already released are skipped by their keys
+            releaseReserved(jobId, job.getReservedQuantities());
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            groupOrderJobRepository.failIfIn(jobId, UNFINISHED, GroupOrderJob.Status.FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message, LocalDateTime.now());
+        }
+    }
+
+    // Jobs of this replica's partition whose worker stopped, e.g. because its replica was restarted
+    public List<GroupOrderJob> findAbandonedJobs(SchedulerPartition partition, LocalDateTime cutoff, int batchSize) {
+        return groupOrderJobRepository.findAbandoned(UNFINISHED, cutoff, partition.getCount(), partition.getIndex(),
+                PageRequest.of(0, batchSize));
+    }
+
+    /**
+     * Fails an abandoned job and hands its reserved quota back. The release is keyed like the
+     * one of a failing worker, chunk by chunk, so quota is never returned twice; if event_service cannot be
+     * reached the job stays as it was and is retried on the next run.
+     *
+     * @return false if the job made progress or finished in the meantime
+     */
+    @Transactional
+    public boolean recoverJob(GroupOrderJob job, LocalDateTime cutoff) {
+        if (groupOrderJobRepository.failIfAbandoned(job.getId(), UNFINISHED, cutoff, GroupOrderJob.Status.FAILED,
+                "Abandoned while " + job.getStatus() + ", reserved quota released", LocalDateTime.now()) == 0) {
+            return false;
+        }
+        if (!job.getReservedQuantities().isEmpty()) {
+            eventServiceClient.releaseInventory(releaseRequest(job.getId(), job.getReservedQuantities()));
+        }
+        log.warn("Group order job {} was abandoned while {}, released {} reserved tickets",
+                job.getId(), job.getStatus(), job.getTicketsReserved());
+        return true;
+    }
+
+    private void releaseReserved(Long jobId, Map<Long, Integer> reserved) {
+        if (reserved.isEmpty()) {
+            return;
+        }
+        try {
+            eventServiceClient.releaseInventory(releaseRequest(jobId, reserved));
+        } catch (Exception e) {
+            log.error("Group order job {} could not release reserved quota {}, manual reconciliation needed",
+                    jobId, reserved, e);
+        }
+    }
+
+    /**
+     * One release per reserved chunk, keyed by its ticket type and offset. A worker that took
+     * one more chunk after the recovery released the job then returns just that chunk.
+     */
+    private InventoryReleaseRequest releaseRequest(Long jobId, Map<Long, Integer> reserved) {
+        List<InventoryReleaseRequest.Release> releases = new ArrayList<>();
+        reserved.forEach((ticketTypeId, quantity) -> {
+            for (int offset = 0; offset < quantity; offset += inventoryChunkSize) {
+                releases.add(InventoryReleaseRequest.Release.builder()
+                        .key("group-order-job:" + jobId + ":" + ticketTypeId + ":" + offset)
+                        .ticketTypeQuantities(Map.of(ticketTypeId, Math.min(inventoryChunkSize, quantity - offset)))
+                        .build());
+            }
+        });
+        return InventoryReleaseRequest.builder().releases(releases).build();
+    }
+
+    private int validateLines(GroupOrderRequest request) {
+        if (request.getUserId() == null || request.getEventId() == null) {
+            throw new IllegalArgumentException("userId and eventId are required.");
+        }
+        if (request.getLines() == null || request.getLines().isEmpty()) {
+            throw new IllegalArgumentException("Group order must contain at least one line.");
+        }
+        if (request.getLines().size() > maxLines) {
+            throw new IllegalArgumentException("Group order cannot contain more than " + maxLines + " lines.");
+        }
+        int totalTickets = 0;
+        for (GroupOrderRequest.GroupOrderLine line : request.getLines()) {
+            if (line.getTicketTypeId() == null || line.getQuantity() == null || line.getQuantity() < 1) {
+                throw new IllegalArgumentException("Each line needs a ticketTypeId and a quantity of at least 1.");
+            }
+            totalTickets += line.getQuantity();
+            if (totalTickets > maxTickets) {
+                throw new IllegalArgumentException("Group order cannot exceed " + maxTickets + " tickets.");
+            }
+        }
+        return totalTickets;
+    }
+
+    private void validateTicketTypes(GroupOrderRequest request, Set<Long> ticketTypeIds, Map<Long, TicketTypeDto> ticketTypes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long ticketTypeId : ticketTypeIds) {
+            TicketTypeDto ticketType = ticketTypes.get(ticketTypeId);
+            if (ticketType == null || !request.getEventId().equals(ticketType.getEventId())) {
+                throw new IllegalArgumentException("Ticket type " + ticketTypeId + " does not belong to event " + request.getEventId());
+            }
+            if (ticketType.getPrice() == null) {
+                throw new IllegalArgumentException("Ticket type " + ticketTypeId + " has no price.");
+            }
+            if (ticketType.getEndSale() != null && now.isAfter(ticketType.getEndSale())) {
+                throw new IllegalArgumentException("Sales for ticket type " + ticketTypeId + " have ended.");
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.GroupOrderRequest;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.model.GroupOrderJob;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.model.PaymentInfo;
+import com.example.order_service.repository.GroupOrderJobRepository;
+import com.example.order_service.repository.OrderItemBatchRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.repository.PaymentInfoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class GroupOrderWriter {
+    private final OrderRepository orderRepository;
+    private final OrderItemBatchRepository orderItemBatchRepository;
+    private final PaymentInfoRepository paymentInfoRepository;
+    private final OrderChangeService orderChangeService;
+    private final GroupOrderJobRepository groupOrderJobRepository;
+
+    /**
+     * Writes the order, its items and payment info in one transaction, and marks the job
+     * COMPLETED in the same transaction. Inventory must already be reserved; lines are priced
+     * from the event catalog, not from the request.
+     *
+     * @throws IllegalStateException when the job is no longer WRITING, e.g. it was given up as
+     * abandoned and its quota released; nothing is written then
+     */
+    @Transactional
+    public Order writeOrder(Long jobId, GroupOrderRequest request, Map<Long, TicketTypeDto> ticketTypes, int batchSize) {
+        List<OrderItem> items = request.getLines().stream()
+                .map(line -> OrderItem.builder()
+                        .ticketTypeId(line.getTicketTypeId())
+                        .showtimeId(line.getShowtimeId())
+                        .quantity(line.getQuantity())
+                        .price(ticketTypes.get(line.getTicketTypeId()).getPrice())
+                        .build())
+                .collect(Collectors.toList());
+        BigDecimal totalAmount = items.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Order order = orderRepository.save(Order.builder()
+                .userId(request.getUserId())
+                .eventId(request.getEventId())
+                .totalAmount(totalAmount)
+                .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
+                .paymentMethod(request.getPaymentMethod())
+                .status(Order.OrderStatus.PENDING)
+                .build());
+
+        orderItemBatchRepository.insertAll(order.getId(), items, batchSize);
+
+        PaymentInfo paymentInfo = paymentInfoRepository.save(PaymentInfo.builder()
+                .order(order)
+                .method(request.getPaymentMethod())
+                .amount(totalAmount)
+                .status(PaymentInfo.PaymentStatus.PENDING)
+                .build());
+        order.setPaymentInfo(paymentInfo);
+        orderChangeService.recordOrderChange(order, OrderChange.ChangeType.ORDER_CREATED);
+
+        if (groupOrderJobRepository.completeWriting(jobId, GroupOrderJob.Status.WRITING, GroupOrderJob.Status.COMPLETED,
+                order.getId(), request.getLines().size(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Group order job " + jobId + " is no longer writing.");
+        }
+        return order;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.InventoryChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEventListener {
+    private static final String INVENTORY_CHANGED_TOPIC = "inventory.changed";
+
+    private final SoldOutRegistry soldOutRegistry;
+    private final ObjectMapper objectMapper;
+
+    // Every replica keeps its own flags, so each one consumes in its own group
+    @KafkaListener(topics = INVENTORY_CHANGED_TOPIC,
+            groupId = "order-inventory-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = {"auto.offset.reset=latest"})
+    public void listenInventoryChanged(String message) {
+        InventoryChangedEvent event;
+        try {
+            event = objectMapper.readValue(message, InventoryChangedEvent.class);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable inventory event: {}", message, e);
+            return;
+        }
+        if (event.getTicketTypeId() == null) {
+            return;
+        }
+        if (event.getQuota() != null && event.getQuota() <= 0) {
+            soldOutRegistry.markSoldOut(event.getTicketTypeId());
+        } else {
+            soldOutRegistry.markAvailable(event.getTicketTypeId());
+        }
+    }
+}
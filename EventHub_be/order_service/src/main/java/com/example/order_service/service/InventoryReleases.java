@@ -0,0 +1,34 @@
+package com.example.order_service.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits what is left of released quota after waiters claimed their share back onto the
+ * sources it came from, so each source can be released to event_service under its own key.
+ */
+final class InventoryReleases {
+
+    private InventoryReleases() {
+    }
+
+    /**
+     * @param released  quantities per ticket type, keyed by source in the order to fill them
+     * @param unclaimed quantities per ticket type not taken by waiters
+     * @return the part of each source's quantities that goes back to event_service; sources
+     * left with nothing are omitted
+     */
+    static Map<String, Map<Long, Integer>> split(Map<String, Map<Long, Integer>> released, Map<Long, Integer> unclaimed) {
+        Map<Long, Integer> remaining = new HashMap<>(unclaimed);
+        Map<String, Map<Long, Integer>> result = new LinkedHashMap<>();
+        released.forEach((key, quantities) -> quantities.forEach((ticketTypeId, quantity) -> {
+            int share = Math.min(quantity, remaining.getOrDefault(ticketTypeId, 0));
+            if (share > 0) {
+                remaining.merge(ticketTypeId, -share, Integer::sum);
+                result.computeIfAbsent(key, k -> new HashMap<>()).put(ticketTypeId, share);
+            }
+        }));
+        return result;
+    }
+}
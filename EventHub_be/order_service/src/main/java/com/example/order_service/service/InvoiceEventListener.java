@@ -0,0 +1,34 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderPaidEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvoiceEventListener {
+    private static final String ORDER_PAID_TOPIC = "order.paid";
+
+    private final InvoiceService invoiceService;
+    private final ObjectMapper objectMapper;
+
+    // One shared group: each paid order is queued by a single replica
+    @KafkaListener(topics = ORDER_PAID_TOPIC, groupId = "order-invoice-group",
+            properties = {"auto.offset.reset=earliest"})
+    public void listenOrderPaid(String message) {
+        OrderPaidEvent event;
+        try {
+            event = objectMapper.readValue(message, OrderPaidEvent.class);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable order.paid event: {}", message, e);
+            return;
+        }
+        if (event.getOrderId() != null) {
+            invoiceService.enqueue(event.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.order_service.service;
+
+import com.example.order_service.model.OrderInvoice;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.Builder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders receipts and invoices from one shared layout. Fonts are loaded once at startup
+ * and reused by every document; {@link #render} only touches immutable input, so batches
+ * can be rendered in parallel.
+ */
+@Component
+public class InvoiceRenderer {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final float[] ITEM_COLUMNS = {5f, 1f, 2f, 2f};
+
+    private final Font titleFont;
+    private final Font headerFont;
+    private final Font bodyFont;
+    private final Font mutedFont;
+
+    public InvoiceRenderer(@Value("${order.invoice.font-path:}") String fontPath) {
+        BaseFont base = loadFont(fontPath);
+        this.titleFont = new Font(base, 18, Font.BOLD);
+        this.headerFont = new Font(base, 10, Font.BOLD);
+        this.bodyFont = new Font(base, 10, Font.NORMAL);
+        this.mutedFont = new Font(base, 8, Font.NORMAL);
+    }
+
+    public byte[] render(InvoiceData data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        Document document = new Document(PageSize.A4, 40, 40, 48, 48);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.addTitle((data.getKind() == OrderInvoice.Kind.INVOICE ? "Invoice" : "Receipt") + " #" + data.getOrderId());
+            document.open();
+
+            document.add(new Paragraph(data.getKind() == OrderInvoice.Kind.INVOICE ? "INVOICE" : "RECEIPT", titleFont));
+            if (data.getKind() == OrderInvoice.Kind.INVOICE) {
+                document.add(new Paragraph(nullToEmpty(data.getSellerName()), headerFont));
+                document.add(new Paragraph("Tax code: " + nullToEmpty(data.getSellerTaxCode()), bodyFont));
+                if (data.getSellerAddress() != null) {
+                    document.add(new Paragraph(data.getSellerAddress(), bodyFont));
+                }
+            }
+            document.add(new Paragraph(" ", bodyFont));
+            document.add(new Paragraph("Order #" + data.getOrderId(), headerFont));
+            if (data.getPaidAt() != null) {
+                document.add(new Paragraph("Paid: " + DATE_FORMAT.format(data.getPaidAt()), bodyFont));
+            }
+            if (data.getCustomerEmail() != null) {
+                document.add(new Paragraph("Customer: " + data.getCustomerEmail(), bodyFont));
+            }
+            String event = nullToEmpty(data.getEventName());
+            if (data.getEventStartTime() != null) {
+                event += " (" + DATE_FORMAT.format(data.getEventStartTime()) + ")";
+            }
+            document.add(new Paragraph("Event: " + event, bodyFont));
+            document.add(new Paragraph(" ", bodyFont));
+
+            PdfPTable table = new PdfPTable(ITEM_COLUMNS);
+            table.setWidthPercentage(100);
+            addCell(table, "Ticket", headerFont, Element.ALIGN_LEFT);
+            addCell(table, "Qty", headerFont, Element.ALIGN_RIGHT);
+            addCell(table, "Unit price", headerFont, Element.ALIGN_RIGHT);
+            addCell(table, "Amount", headerFont, Element.ALIGN_RIGHT);
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (Line line : data.getLines()) {
+                BigDecimal amount = line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+                subtotal = subtotal.add(amount);
+                addCell(table, line.getDescription(), bodyFont, Element.ALIGN_LEFT);
+                addCell(table, String.valueOf(line.getQuantity()), bodyFont, Element.ALIGN_RIGHT);
+                addCell(table, money(line.getUnitPrice()), bodyFont, Element.ALIGN_RIGHT);
+                addCell(table, money(amount), bodyFont, Element.ALIGN_RIGHT);
+            }
+            document.add(table);
+
+            String currency = data.getCurrency() != null ? data.getCurrency() : "";
+            if (data.getDiscountCode() != null && subtotal.compareTo(data.getTotal()) > 0) {
+                document.add(rightAligned("Subtotal: " + money(subtotal) + " " + currency, bodyFont));
+                document.add(rightAligned("Discount (" + data.getDiscountCode() + "): -" + money(subtotal.subtract(data.getTotal())) + " " + currency, bodyFont));
+            }
+            document.add(rightAligned("Total: " + money(data.getTotal()) + " " + currency, headerFont));
+            document.add(new Paragraph(" ", bodyFont));
+            document.add(new Paragraph("Issued by EventHub on behalf of the event organizer.", mutedFont));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to render document for order " + data.getOrderId(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static BaseFont loadFont(String fontPath) {
+        try {
+            if (fontPath != null && !fontPath.isBlank()) {
+                // An embedded Unicode font is needed for names outside Latin-1
+                return BaseFont.createFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            }
+            return BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load invoice font " + fontPath, e);
+        }
+    }
+
+    private static void addCell(PdfPTable table, String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(nullToEmpty(text), font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(4);
+        table.addCell(cell);
+    }
+
+    private static Paragraph rightAligned(String text, Font font) {
+        Paragraph paragraph = new Paragraph(text, font);
+        paragraph.setAlignment(Element.ALIGN_RIGHT);
+        return paragraph;
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Everything printed on one document, resolved before rendering starts.
+     */
+    @lombok.Value
+    @Builder
+    public static class InvoiceData {
+        OrderInvoice.Kind kind;
+        Long orderId;
+        LocalDateTime paidAt;
+        String customerEmail;
+        String eventName;
+        LocalDateTime eventStartTime;
+        String sellerName;
+        String sellerTaxCode;
+        String sellerAddress;
+        List<Line> lines;
+        String discountCode;
+        BigDecimal total;
+        String currency;
+    }
+
+    @lombok.Value
+    @Builder
+    public static class Line {
+        String description;
+        int quantity;
+        BigDecimal unitPrice;
+    }
+}
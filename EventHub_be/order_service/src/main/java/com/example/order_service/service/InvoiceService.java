@@ -0,0 +1,221 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.EventInvoiceInfoDto;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderInvoice;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.repository.OrderInvoiceRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background receipt/invoice pipeline. Paid orders are queued as PENDING rows; batches are
+ * resolved with one lookup per kind of data, rendered in parallel and stored content-addressed
+ * by {@link InvoiceStore}. Nothing here runs on the payment callback.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvoiceService {
+    private static final Set<Order.OrderStatus> BILLABLE = EnumSet.of(Order.OrderStatus.PAID, Order.OrderStatus.REFUNDED);
+
+    private final OrderInvoiceRepository orderInvoiceRepository;
+    private final OrderRepository orderRepository;
+    private final EventCatalogService eventCatalogService;
+    private final EventServiceClient eventServiceClient;
+    private final InvoiceRenderer invoiceRenderer;
+    private final InvoiceStore invoiceStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.invoice.render-threads:4}")
+    private int renderThreads;
+
+    @Value("${order.invoice.max-attempts:5}")
+    private int maxAttempts;
+
+    private ExecutorService renderPool;
+
+    @PostConstruct
+    void startRenderPool() {
+        renderPool = Executors.newFixedThreadPool(renderThreads);
+    }
+
+    @PreDestroy
+    void stopRenderPool() {
+        renderPool.shutdown();
+    }
+
+    /**
+     * Queues the document of a paid order. Redelivered events are ignored.
+     */
+    public void enqueue(Long orderId) {
+        if (orderInvoiceRepository.existsByOrderId(orderId)) {
+            return;
+        }
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            log.warn("Paid order {} not found, no invoice queued", orderId);
+            return;
+        }
+        try {
+            orderInvoiceRepository.save(OrderInvoice.builder()
+                    .orderId(orderId)
+                    .eventId(order.getEventId())
+                    .status(OrderInvoice.Status.PENDING)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Queued concurrently by another consumer
+        }
+    }
+
+    /**
+     * Renders one batch of pending documents of this replica's partition.
+     *
+     * @return number of documents picked up
+     */
+    public int renderBatch(SchedulerPartition partition, int batchSize) {
+        List<OrderInvoice> batch = orderInvoiceRepository.findBatch(OrderInvoice.Status.PENDING, LocalDateTime.now(),
+                partition.getCount(), partition.getIndex(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Order> orders = orderRepository.findAllWithItemsByIdIn(
+                        batch.stream().map(OrderInvoice::getOrderId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Set<Long> eventIds = orders.values().stream().map(Order::getEventId).collect(Collectors.toSet());
+        Set<Long> ticketTypeIds = orders.values().stream()
+                .flatMap(order -> order.getItems().stream())
+                .map(OrderItem::getTicketTypeId)
+                .collect(Collectors.toSet());
+        Map<Long, EventDto> events = eventCatalogService.getEvents(eventIds);
+        Map<Long, TicketTypeDto> ticketTypes = eventCatalogService.getTicketTypes(ticketTypeIds);
+        Map<Long, EventInvoiceInfoDto> sellers = eventServiceClient.getInvoiceInfos(eventIds).stream()
+                .filter(info -> Boolean.TRUE.equals(info.getEnabled()))
+                .collect(Collectors.toMap(EventInvoiceInfoDto::getEventId, Function.identity(), (a, b) -> a));
+
+        List<OrderInvoice> rendering = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (OrderInvoice invoice : batch) {
+            Order order = orders.get(invoice.getOrderId());
+            if (order == null || !BILLABLE.contains(order.getStatus())) {
+                // order.paid can arrive before the payment transaction commits, so PENDING is retried
+                boolean permanent = order == null || order.getStatus() != Order.OrderStatus.PENDING;
+                fail(invoice, order == null ? "Order not found" : "Order is " + order.getStatus(), permanent);
+                continue;
+            }
+            EventInvoiceInfoDto seller = sellers.get(order.getEventId());
+            invoice.setKind(seller != null ? OrderInvoice.Kind.INVOICE : OrderInvoice.Kind.RECEIPT);
+            InvoiceRenderer.InvoiceData data = toInvoiceData(invoice.getKind(), order, events.get(order.getEventId()), seller, ticketTypes);
+            rendering.add(invoice);
+            results.add(CompletableFuture.supplyAsync(() -> invoiceStore.store(invoiceRenderer.render(data)), renderPool));
+        }
+
+        for (int i = 0; i < rendering.size(); i++) {
+            OrderInvoice invoice = rendering.get(i);
+            try {
+                String hash = results.get(i).join();
+                invoice.setContentHash(hash);
+                invoice.setSizeBytes(invoiceStore.resolve(hash).toFile().length());
+                invoice.setStatus(OrderInvoice.Status.READY);
+                invoice.setRenderedAt(LocalDateTime.now());
+                invoice.setError(null);
+            } catch (Exception e) {
+                log.error("Rendering document for order {} failed", invoice.getOrderId(), e);
+                fail(invoice, e.getMessage(), false);
+            }
+        }
+        orderInvoiceRepository.saveAll(batch);
+        meterRegistry.counter("invoices.rendered").increment(rendering.stream()
+                .filter(invoice -> invoice.getStatus() == OrderInvoice.Status.READY)
+                .count());
+        return batch.size();
+    }
+
+    /**
+     * The order's document record. A ready document whose file is gone (e.g. storage lost on
+     * redeploy) is queued for rendering again and returned as PENDING.
+     */
+    public OrderInvoice getInvoice(Long orderId) {
+        OrderInvoice invoice = orderInvoiceRepository.findByOrderId(orderId).orElse(null);
+        if (invoice != null && invoice.getStatus() == OrderInvoice.Status.READY && !Files.exists(getDocumentPath(invoice))) {
+            log.warn("Document file of order {} is missing, rendering it again", orderId);
+            invoice.setStatus(OrderInvoice.Status.PENDING);
+            invoice.setAttempts(0);
+            invoice.setNextAttemptAt(null);
+            invoice.setError("Document file missing");
+            orderInvoiceRepository.save(invoice);
+        }
+        return invoice;
+    }
+
+    public Path getDocumentPath(OrderInvoice invoice) {
+        return invoiceStore.resolve(invoice.getContentHash());
+    }
+
+    private void fail(OrderInvoice invoice, String error, boolean permanent) {
+        invoice.setAttempts(invoice.getAttempts() + 1);
+        invoice.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (permanent || invoice.getAttempts() >= maxAttempts) {
+            invoice.setStatus(OrderInvoice.Status.FAILED);
+        } else {
+            invoice.setNextAttemptAt(LocalDateTime.now().plusSeconds(30L * invoice.getAttempts()));
+        }
+    }
+
+    private InvoiceRenderer.InvoiceData toInvoiceData(OrderInvoice.Kind kind, Order order, EventDto event,
+                                                      EventInvoiceInfoDto seller, Map<Long, TicketTypeDto> ticketTypes) {
+        List<InvoiceRenderer.Line> lines = order.getItems().stream()
+                .map(item -> {
+                    TicketTypeDto ticketType = ticketTypes.get(item.getTicketTypeId());
+                    return InvoiceRenderer.Line.builder()
+                            .description(ticketType != null ? ticketType.getName() : "Ticket type " + item.getTicketTypeId())
+                            .quantity(item.getQuantity())
+                            .unitPrice(item.getPrice())
+                            .build();
+                })
+                .collect(Collectors.toList());
+        return InvoiceRenderer.InvoiceData.builder()
+                .kind(kind)
+                .orderId(order.getId())
+                .paidAt(order.getPaymentInfo() != null && order.getPaymentInfo().getPaidAt() != null
+                        ? order.getPaymentInfo().getPaidAt() : order.getUpdatedAt())
+                .customerEmail(order.getCustomerEmail() != null && !order.getCustomerEmail().isEmpty() ? order.getCustomerEmail() : null)
+                .eventName(event != null ? event.getName() : null)
+                .eventStartTime(event != null ? event.getStartTime() : null)
+                .sellerName(seller != null ? seller.getCompanyName() : null)
+                .sellerTaxCode(seller != null ? seller.getTaxCode() : null)
+                .sellerAddress(seller != null ? seller.getAddress() : null)
+                .lines(lines)
+                .discountCode(order.getDiscountCode())
+                .total(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.order_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store for rendered documents: each file is named after the SHA-256
+ * of its bytes and fanned out into 256 sub-directories. Files never change once written,
+ * so identical documents are stored once and the hash doubles as a strong ETag.
+ */
+@Service
+public class InvoiceStore {
+    private final Path root;
+
+    public InvoiceStore(@Value("${order.invoice.storage-dir:./data/invoices}") String storageDir) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return hex SHA-256 under which the content is stored
+     */
+    public String store(byte[] content) {
+        String hash = sha256(content);
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            // Write next to the target and move it in, so readers never see a partial file
+            Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(tmp, content);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // Same content written concurrently by another renderer
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store document " + hash, e);
+        }
+        return hash;
+    }
+
+    public Path resolve(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid content hash.");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
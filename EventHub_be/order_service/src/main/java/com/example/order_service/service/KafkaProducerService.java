@@ -1,6 +1,7 @@
 package com.example.order_service.service;
 
 import com.example.order_service.dto.OrderPaidEvent;
+import com.example.order_service.dto.WaitlistOfferEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -10,9 +11,14 @@ import org.springframework.stereotype.Service;
 public class KafkaProducerService {
 
     private static final String ORDER_PAID_TOPIC = "order.paid";
+    private static final String WAITLIST_OFFER_TOPIC = "waitlist.offer";
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     public void sendOrderPaidEvent(OrderPaidEvent event) {
         kafkaTemplate.send(ORDER_PAID_TOPIC, event);
     }
+
+    public void sendWaitlistOfferEvent(WaitlistOfferEvent event) {
+        kafkaTemplate.send(WAITLIST_OFFER_TOPIC, event);
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.repository.OrderArchiveRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchivalService {
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final EventServiceClient eventServiceClient;
+
+    // Event ids per event_service batch call, which keeps the request URL short
+    @Value("${order.archive.event-lookup-batch-size:200}")
+    private int eventLookupBatchSize;
+
+    /**
+     * Events of the given partition that still have live orders and ended before the cutoff.
+     * Events unknown to event_service are skipped, since their end date cannot be checked.
+     * Ids are paged and looked up in chunks straight from event_service; the catalog cache
+     * is meant for checkout and would only be flushed by old events.
+     */
+    public List<EventDto> findArchivableEvents(SchedulerPartition partition, LocalDateTime cutoff) {
+        List<EventDto> archivable = new ArrayList<>();
+        long afterId = 0;
+        List<Long> eventIds;
+        do {
+            eventIds = orderArchiveRepository.findDistinctEventIdsAfter(afterId, partition.getCount(),
+                    partition.getIndex(), PageRequest.of(0, eventLookupBatchSize));
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            afterId = eventIds.get(eventIds.size() - 1);
+            for (EventDto event : eventServiceClient.getEventsByIds(eventIds)) {
+                LocalDateTime end = eventEnd(event);
+                if (end != null && end.isBefore(cutoff)) {
+                    archivable.add(event);
+                }
+            }
+        } while (eventIds.size() == eventLookupBatchSize);
+        return archivable;
+    }
+
+    /**
+     * Moves one batch of an event's orders, with their items and payment info, into the archive tables.
+     *
+     * @return number of orders archived
+     */
+    @Transactional
+    public int archiveBatch(EventDto event, int batchSize) {
+        List<Long> orderIds = orderArchiveRepository.findIdsByEventId(event.getId(), PageRequest.of(0, batchSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        orderArchiveRepository.copyOrders(orderIds, eventEnd(event), now);
+        orderArchiveRepository.copyOrderItems(orderIds);
+        orderArchiveRepository.copyPaymentInfo(orderIds);
+
+        // Children first: live tables still carry foreign keys to orders
+        orderArchiveRepository.deleteOrderItems(orderIds);
+        orderArchiveRepository.deletePaymentInfo(orderIds);
+        orderArchiveRepository.deleteOrders(orderIds);
+        return orderIds.size();
+    }
+
+    private LocalDateTime eventEnd(EventDto event) {
+        return event.getEndTime() != null ? event.getEndTime() : event.getStartTime();
+    }
+}
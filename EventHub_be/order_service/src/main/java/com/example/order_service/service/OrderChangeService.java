@@ -0,0 +1,100 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderChangeDto;
+import com.example.order_service.dto.OrderChangeFeedResponse;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.model.PaymentInfo;
+import com.example.order_service.repository.OrderChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class OrderChangeService {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final OrderChangeRepository orderChangeRepository;
+    private final AvailabilityEventPublisher availabilityEventPublisher;
+
+    // Ids are taken at insert, but checkout commits only after its remote calls, so a lower id
+    // can become visible after a higher one; must exceed the longest order transaction
+    @Value("${order.change-feed.settle-seconds:120}")
+    private long settleSeconds;
+
+    /**
+     * Appends a change record in the caller's transaction, so the log entry
+     * commits or rolls back together with the order update it describes.
+     * Every order change can move sold counts, so event_service is told after the commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderChange(Order order, OrderChange.ChangeType changeType) {
+        PaymentInfo paymentInfo = order.getPaymentInfo();
+        orderChangeRepository.save(OrderChange.builder()
+                .orderId(order.getId())
+                .eventId(order.getEventId())
+                .userId(order.getUserId())
+                .changeType(changeType)
+                .orderStatus(order.getStatus())
+                .paymentStatus(paymentInfo != null ? paymentInfo.getStatus() : null)
+                .build());
+        availabilityEventPublisher.publishAfterCommit(order.getEventId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderChanges(List<Order> orders, OrderChange.ChangeType changeType) {
+        List<OrderChange> changes = orders.stream()
+                .map(order -> OrderChange.builder()
+                        .orderId(order.getId())
+                        .eventId(order.getEventId())
+                        .userId(order.getUserId())
+                        .changeType(changeType)
+                        .orderStatus(order.getStatus())
+                        .paymentStatus(order.getPaymentInfo() != null ? order.getPaymentInfo().getStatus() : null)
+                        .build())
+                .collect(Collectors.toList());
+        orderChangeRepository.saveAll(changes);
+        availabilityEventPublisher.publishAfterCommit(orders.stream().map(Order::getEventId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Changes after the cursor, in id order. Only rows older than the settle time are served,
+     * and a page stops at the first row that is not, so a change whose transaction is still
+     * open can never be skipped by a cursor that moved past its id.
+     */
+    @Transactional(readOnly = true)
+    public OrderChangeFeedResponse getChangesAfter(Long after, Integer limit) {
+        long cursor = after != null ? after : 0L;
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        // Fetch one extra row to know whether another page is waiting
+        List<OrderChange> rows = orderChangeRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, pageSize + 1));
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        int settled = 0;
+        while (settled < rows.size() && rows.get(settled).getCreatedAt().isBefore(settledBefore)) {
+            settled++;
+        }
+        boolean hasMore = settled > pageSize;
+        rows = rows.subList(0, Math.min(settled, pageSize));
+
+        List<OrderChangeDto> changes = rows.stream()
+                .map(OrderChangeDto::fromEntity)
+                .collect(Collectors.toList());
+        Long nextCursor = rows.isEmpty() ? cursor : rows.get(rows.size() - 1).getId();
+
+        return OrderChangeFeedResponse.builder()
+                .changes(changes)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderSearchResult;
+import com.example.order_service.feign_client.AuthServiceClient;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.specification.OrderSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSearchService {
+    // Only columns that lead or follow in one of the search indexes
+    private static final Set<String> SORTABLE = Set.of("createdAt", "id");
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final OrderRepository orderRepository;
+    private final AuthServiceClient authServiceClient;
+
+    @Value("${order.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public Page<OrderSearchResult> search(String email, String orderIdPrefix, String discountCode,
+                                          Order.OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                          Pageable pageable) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'.");
+        }
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT;
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Orders can only be sorted by " + SORTABLE + ".");
+            }
+        }
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), maxPageSize), sort);
+
+        return orderRepository.findAll(OrderSpecification.withFilters(email, orderIdPrefix, discountCode, status, from, to), page)
+                .map(OrderSearchResult::fromEntity);
+    }
+
+    /**
+     * Copies customer emails from auth_service onto orders that do not have one yet. Each user
+     * is updated in its own short transaction, so no row locks are held across remote calls.
+     *
+     * @return number of users processed; smaller than {@code batchSize} once nothing is left
+     */
+    public int backfillCustomerEmails(int batchSize) {
+        List<UUID> userIds = orderRepository.findUserIdsMissingCustomerEmail(PageRequest.of(0, batchSize));
+        for (UUID userId : userIds) {
+            String email = normalizeEmail(authServiceClient.getUserEmailById(userId));
+            // An empty value marks users auth_service has no email for, so they are not fetched again
+            orderRepository.fillCustomerEmail(userId, email != null ? email : "");
+        }
+        return userIds.size();
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,7 +4,10 @@ import com.example.order_service.dto.*;
 import com.example.order_service.feign_client.AuthServiceClient;
 import com.example.order_service.feign_client.EventServiceClient;
 import com.example.order_service.feign_client.PaymentServiceClient;
+import com.example.order_service.metrics.CheckoutTrace;
 import com.example.order_service.model.*;
+import com.example.order_service.repository.ArchivedOrderItemRepository;
+import com.example.order_service.repository.ArchivedOrderRepository;
 import com.example.order_service.repository.OrderItemRepository;
 import com.example.order_service.repository.OrderRepository;
 import com.example.order_service.repository.PaymentInfoRepository;
@@ -30,9 +33,25 @@ public class OrderService {
     private final PaymentServiceClient paymentServiceClient;
     private final KafkaProducerService kafkaProducerService;
     private final AuthServiceClient authServiceClient;
+    private final OrderChangeService orderChangeService;
+    private final OrderStateMachine orderStateMachine;
+    private final PricingService pricingService;
+    private final PriceQuoteService priceQuoteService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
 
+    /**
+     * Places an order. Each checkout step is timed on {@code trace}; the caller finishes the
+     * trace once the transaction has committed, which closes the final "commit" step.
+     * <p>
+     * With a valid {@code quoteToken} the purchase limit and discount checks already done by
+     * the quote are skipped and the quoted prices are used. A quote places one order only.
+     *
+     * @param customerEmail buyer's email from the token, stored for staff search; may be null
+     */
     @Transactional
-    public OrderResponse createOrder(OrderRequest request) {
+    public OrderResponse createOrder(OrderRequest request, String customerEmail, CheckoutTrace trace) {
         log.info("Creating order for user {} with {} items", request.getUserId(), 
                 request.getItems() != null ? request.getItems().size() : 0);
         if (request.getItems() != null) {
@@ -42,30 +61,39 @@ public class OrderService {
             }
         }
         
+        PriceQuote quote = null;
+        if (request.getQuoteToken() != null && !request.getQuoteToken().isBlank()) {
+            trace.step("quote");
+            quote = priceQuoteService.verify(request.getQuoteToken(), request);
+            priceQuoteService.consume(quote);
+        }
+
         // 1. Validate and process reservations
+        trace.step("reservations");
         List<Reservation> reservations = new ArrayList<>();
         if (request.getReservationIds() != null && !request.getReservationIds().isEmpty()) {
-            for (Long resId : request.getReservationIds()) {
-                Reservation reservation = reservationService.getReservationById(resId)
-                        .orElseThrow(() -> new RuntimeException("Reservation not found: " + resId));
-                if (reservation.getStatus() != Reservation.ReservationStatus.PENDING || reservation.getExpireAt().isBefore(LocalDateTime.now())) {
-                    throw new RuntimeException("Reservation " + resId + " is not valid for order (expired or not pending).");
+            reservations = reservationService.confirmReservations(request.getReservationIds(), request.getUserId());
+            // Waitlist holds already own their quota; everything else still needs stock
+            for (Reservation res : reservations) {
+                if (res.getHeldQuantity() == null) {
+                    soldOutRegistry.ensureAvailable(res.getTicketTypeId());
                 }
-                reservations.add(reservation);
             }
         } else if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new RuntimeException("Order must contain either reservations or direct order items.");
+        } else {
+            for (OrderRequest.OrderItemRequest item : request.getItems()) {
+                soldOutRegistry.ensureAvailable(item.getTicketTypeId());
+            }
         }
 
         // 2. Calculate total amount and prepare order items
+        trace.step("line_items");
         BigDecimal totalAmount = BigDecimal.ZERO;
         Map<String, OrderItem> orderItemMap = new HashMap<>(); // Map to group items by ticketTypeId+showtimeId
 
                     // Process reservations first
                 for (Reservation res : reservations) {
-                    // Confirm the reservation
-                    reservationService.confirmReservation(res.getId());
-        
                     // Use ticketTypeId as key for reservations (no showtime concept in reservations)
                     String key = String.valueOf(res.getTicketTypeId());
                     
@@ -78,14 +106,15 @@ public class OrderService {
                                     .quantity(0)
                                     .build()
                     );
-                    orderItem.setQuantity(orderItem.getQuantity() + 1);
+                    int reservedQuantity = res.getQuantity() != null ? res.getQuantity() : 1;
+                    orderItem.setQuantity(orderItem.getQuantity() + reservedQuantity);
         
                     // Assuming price comes from the reservation or an external service
                     // For now, let's assume a placeholder price per ticket type
                     // In a real scenario, you'd fetch the actual TicketType price from event_service
                     BigDecimal ticketPrice = BigDecimal.valueOf(100.00); // Placeholder
                     orderItem.setPrice(ticketPrice); // Set price for the order item
-                    totalAmount = totalAmount.add(ticketPrice);
+                    totalAmount = totalAmount.add(ticketPrice.multiply(BigDecimal.valueOf(reservedQuantity)));
                 }
         
                 // Handle direct order items if no reservations were used (e.g., general admission)
@@ -107,66 +136,55 @@ public class OrderService {
                     }
                 }
 
-        // Validate purchase limits before proceeding
-        for (Map.Entry<String, OrderItem> entry : orderItemMap.entrySet()) {
-            String key = entry.getKey();
-            OrderItem orderItem = entry.getValue();
-            Long ticketTypeId = orderItem.getTicketTypeId();
-            Integer quantityInOrder = orderItem.getQuantity();
+        Long appliedDiscountId = null;
+        if (quote != null) {
+            // Limits and discount terms were checked when the quote was issued
+            totalAmount = priceQuoteService.applyTo(quote, orderItemMap.values());
+            appliedDiscountId = quote.getDiscountId();
+        } else {
+            // Validate purchase limits before proceeding
+            trace.step("purchase_limits");
+            for (Map.Entry<String, OrderItem> entry : orderItemMap.entrySet()) {
+                String key = entry.getKey();
+                OrderItem orderItem = entry.getValue();
+                Long ticketTypeId = orderItem.getTicketTypeId();
+                Integer quantityInOrder = orderItem.getQuantity();
             
-            try {
-                TicketTypeDto ticketType = eventServiceClient.getTicketTypeById(ticketTypeId);
+                try {
+                    TicketTypeDto ticketType = eventServiceClient.getTicketTypeById(ticketTypeId);
                 
-                if (ticketType.getPurchaseLimit() != null && quantityInOrder > ticketType.getPurchaseLimit()) {
-                    throw new IllegalArgumentException(
-                        String.format("Order exceeds purchase limit for ticket type %s. Max allowed: %d, Requested: %d",
-                            ticketType.getName(), ticketType.getPurchaseLimit(), quantityInOrder)
-                    );
+                    if (ticketType.getPurchaseLimit() != null && quantityInOrder > ticketType.getPurchaseLimit()) {
+                        throw new IllegalArgumentException(
+                            String.format("Order exceeds purchase limit for ticket type %s. Max allowed: %d, Requested: %d",
+                                ticketType.getName(), ticketType.getPurchaseLimit(), quantityInOrder)
+                        );
+                    }
+                    log.info("Validated purchase limit for ticketTypeId: {}, quantity: {}, limit: {}", 
+                        ticketTypeId, quantityInOrder, ticketType.getPurchaseLimit());
+                } catch (Exception e) {
+                    log.error("Failed to validate purchase limit for ticketTypeId: {}", ticketTypeId, e);
+                    throw new RuntimeException("Failed to validate purchase limit for ticket type: " + ticketTypeId, e);
                 }
-                log.info("Validated purchase limit for ticketTypeId: {}, quantity: {}, limit: {}", 
-                    ticketTypeId, quantityInOrder, ticketType.getPurchaseLimit());
-            } catch (Exception e) {
-                log.error("Failed to validate purchase limit for ticketTypeId: {}", ticketTypeId, e);
-                throw new RuntimeException("Failed to validate purchase limit for ticket type: " + ticketTypeId, e);
             }
-        }
 
-        // 3. Apply discount
-        DiscountDto appliedDiscount = null;
-        if (request.getDiscountCode() != null && !request.getDiscountCode().isEmpty()) {
-            DiscountDto discount = eventServiceClient.validateDiscountCode(request.getEventId(), request.getDiscountCode())
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid or expired discount code."));
+            // 3. Apply discount
+            trace.step("discount");
+            if (request.getDiscountCode() != null && !request.getDiscountCode().isEmpty()) {
+                DiscountDto discount = eventServiceClient.validateDiscountCode(request.getEventId(), request.getDiscountCode())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid or expired discount code."));
 
-            // Validate discount conditions
-            if (discount.getValidFrom() != null && discount.getValidFrom().isAfter(LocalDateTime.now())) {
-                throw new IllegalArgumentException("Discount code is not yet active.");
+                pricingService.validateDiscount(discount, totalAmount);
+                totalAmount = pricingService.applyDiscount(discount, totalAmount);
+                appliedDiscountId = discount.getId();
             }
-            if (discount.getValidTo() != null && discount.getValidTo().isBefore(LocalDateTime.now())) {
-                throw new IllegalArgumentException("Discount code has expired.");
-            }
-            if (discount.getUsageLimit() != null && discount.getUsedCount() != null && discount.getUsedCount() >= discount.getUsageLimit()) {
-                throw new IllegalArgumentException("Discount code usage limit reached.");
-            }
-            if (discount.getMinimumOrderAmount() != null && totalAmount.compareTo(discount.getMinimumOrderAmount()) < 0) {
-                throw new IllegalArgumentException("Minimum order amount for this discount not met.");
-            }
-
-            // Apply discount
-            if (discount.getDiscountPercent() != null) {
-                totalAmount = totalAmount.multiply(BigDecimal.valueOf(100 - discount.getDiscountPercent()).divide(BigDecimal.valueOf(100), BigDecimal.ROUND_HALF_UP));
-            } else if (discount.getDiscountAmount() != null) {
-                totalAmount = totalAmount.subtract(discount.getDiscountAmount());
-                if (totalAmount.compareTo(BigDecimal.ZERO) < 0) {
-                    totalAmount = BigDecimal.ZERO;
-                }
-            }
-            appliedDiscount = discount;
         }
 
         // 4. Create the Order
+        trace.step("save_order");
         Order order = Order.builder()
                 .userId(request.getUserId())
                 .eventId(request.getEventId())
+                .customerEmail(OrderSearchService.normalizeEmail(customerEmail))
                 .totalAmount(totalAmount)
                 .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
                 .discountCode(request.getDiscountCode())
@@ -183,6 +201,7 @@ public class OrderService {
         order = savedOrder; // Use the saved instance for further operations
 
         // 5. Link OrderItems to Order and save
+        trace.step("save_items");
         List<OrderItem> orderItems = new ArrayList<>(orderItemMap.values());
         for (OrderItem item : orderItems) {
             item.setOrder(order);
@@ -192,11 +211,17 @@ public class OrderService {
         // 6. Link Tickets to their respective OrderItems and save
         order.setItems(orderItems); // Ensure order has items before saving tickets
 
-        // 6b. Decrement ticket quotas immediately for purchased ticket types
+        // 6b. Decrement ticket quotas immediately for purchased ticket types.
+        // Waitlist holds already carry quota taken when it was released, only the rest is decremented
+        trace.step("quota_decrement");
+        Map<Long, Integer> heldQuota = reservations.stream()
+                .filter(res -> res.getHeldQuantity() != null)
+                .collect(Collectors.groupingBy(Reservation::getTicketTypeId, Collectors.summingInt(Reservation::getHeldQuantity)));
         for (OrderItem item : orderItems) {
-            if (item.getTicketTypeId() != null && item.getQuantity() > 0) {
+            int toDecrement = item.getQuantity() - heldQuota.getOrDefault(item.getTicketTypeId(), 0);
+            if (item.getTicketTypeId() != null && toDecrement > 0) {
                 try {
-                    eventServiceClient.decrementTicketQuota(item.getTicketTypeId(), item.getQuantity());
+                    eventServiceClient.decrementTicketQuota(item.getTicketTypeId(), toDecrement);
                 } catch (Exception e) {
                     throw new RuntimeException("Failed to decrement ticket quota for ticket type " + item.getTicketTypeId() + ": " + e.getMessage(), e);
                 }
@@ -204,6 +229,7 @@ public class OrderService {
         }
 
         // 7. Create PaymentInfo
+        trace.step("payment_info");
         PaymentInfo paymentInfo = PaymentInfo.builder()
                 .order(order)
                 .method(request.getPaymentMethod())
@@ -214,53 +240,105 @@ public class OrderService {
 
         order.setItems(orderItems);
         order.setPaymentInfo(paymentInfo);
+        trace.step("change_feed");
+        orderChangeService.recordOrderChange(order, OrderChange.ChangeType.ORDER_CREATED);
 
         // Increment discount usage count if a discount was applied
-        if (appliedDiscount != null) {
-            eventServiceClient.incrementDiscountUsedCount(appliedDiscount.getId());
+        if (appliedDiscountId != null) {
+            trace.step("discount_usage");
+            eventServiceClient.incrementDiscountUsedCount(appliedDiscountId);
         }
 
-        return OrderResponse.fromEntity(order);
+        OrderResponse response = OrderResponse.fromEntity(order);
+        trace.step("commit");
+        return response;
     }
 
     public List<OrderResponse> getOrdersByUser(UUID userId) {
         List<OrderResponse> orderResponses = orderRepository.findByUserId(userId).stream()
                 .map(OrderResponse::fromEntity)
                 .collect(Collectors.toList());
+
+        // Order history also covers orders of long-finished events that were archived
+        orderResponses.addAll(archivedResponses(archivedOrderRepository.findByUserId(userId)));
         log.info(orderResponses.toString());
         return orderResponses;
     }
 
     public List<OrderResponse> getOrdersForEvent(Long eventId, Order.OrderStatus status) {
         List<Order> orders;
+        List<ArchivedOrder> archivedOrders;
         if (status != null) {
             orders = orderRepository.findByEventIdAndStatus(eventId, status);
+            archivedOrders = archivedOrderRepository.findByEventIdAndStatus(eventId, status);
         } else {
             orders = orderRepository.findByEventId(eventId);
+            archivedOrders = archivedOrderRepository.findByEventId(eventId);
         }
-        return orders.stream()
+        List<OrderResponse> orderResponses = orders.stream()
                 .map(OrderResponse::fromEntity)
                 .collect(Collectors.toList());
+        // Orders the archival job moved out since are still orders of the event
+        orderResponses.addAll(archivedResponses(archivedOrders));
+        return orderResponses;
+    }
+
+    // Archived orders with their items, read in one query
+    private List<OrderResponse> archivedResponses(List<ArchivedOrder> archivedOrders) {
+        if (archivedOrders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ArchivedOrderItem>> itemsByOrderId = archivedOrderItemRepository
+                .findByOrderIdIn(archivedOrders.stream().map(ArchivedOrder::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ArchivedOrderItem::getOrderId));
+        return archivedOrders.stream()
+                .map(archived -> OrderResponse.fromArchive(archived, itemsByOrderId.getOrDefault(archived.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     public OrderResponse getOrder(Long id) {
-        return orderRepository.findById(id)
-                .map(OrderResponse::fromEntity)
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            return OrderResponse.fromEntity(order.get());
+        }
+        // Orders of long-finished events live in the archive tables under their original id
+        ArchivedOrder archived = archivedOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        return OrderResponse.fromArchive(archived, archivedOrderItemRepository.findByOrderIdIn(List.of(id)));
     }
 
     // New method to get the Order entity directly for security checks
     public Order getOrderEntity(Long id) {
         return orderRepository.findById(id)
+                .or(() -> archivedOrderRepository.findById(id).map(OrderService::detachedCopy))
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
+    // Unmanaged copy of an archived order for ownership checks; it is never saved
+    private static Order detachedCopy(ArchivedOrder archived) {
+        return Order.builder()
+                .id(archived.getId())
+                .userId(archived.getUserId())
+                .eventId(archived.getEventId())
+                .customerEmail(archived.getCustomerEmail())
+                .totalAmount(archived.getTotalAmount())
+                .currency(archived.getCurrency())
+                .discountCode(archived.getDiscountCode())
+                .paymentMethod(archived.getPaymentMethod())
+                .status(archived.getStatus())
+                .createdAt(archived.getCreatedAt())
+                .updatedAt(archived.getUpdatedAt())
+                .items(List.of())
+                .build();
+    }
+
     @Transactional
     public Order updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
-        order.setStatus(newStatus);
-        return orderRepository.save(order);
+        orderStateMachine.transition(order, newStatus, OrderChange.ChangeType.ORDER_STATUS_CHANGED);
+        return order;
     }
 
     // This method now acts as a callback from the payment service
@@ -279,27 +357,14 @@ public class OrderService {
         paymentInfo.setPaidAt(LocalDateTime.now());
         paymentInfoRepository.save(paymentInfo);
 
-        if (paymentStatus == PaymentInfo.PaymentStatus.SUCCESS) {
-            order.setStatus(Order.OrderStatus.PAID);
-            
-            try {
-                String userEmail = authServiceClient.getUserEmailById(order.getUserId());
-                OrderPaidEvent event = OrderPaidEvent.builder()
-                        .orderId(order.getId())
-                        .userId(order.getUserId().toString())
-                        .userEmail(userEmail)
-                        .totalAmount(order.getTotalAmount().toString())
-                        .currency(order.getCurrency())
-                        .build();
-                kafkaProducerService.sendOrderPaidEvent(event);
-            } catch (Exception e) {
-                log.error("Failed to send order paid event or fetch user email for order: " + orderId, e);
-                // We do not rethrow here to ensure the order status update is committed
+        // Duplicate callbacks find the order already moved and do not publish a second paid event
+        if (applyPaymentOutcome(order, paymentStatus)) {
+            if (paymentStatus == PaymentInfo.PaymentStatus.SUCCESS) {
+                publishOrderPaid(order);
             }
-        } else if (paymentStatus == PaymentInfo.PaymentStatus.FAILED) {
-            order.setStatus(Order.OrderStatus.CANCELLED); // Or a specific FAILED status
-            orderRepository.save(order);
             // Optionally, release reservations here if payment failed
+        } else {
+            orderChangeService.recordOrderChange(order, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
         }
         return paymentInfo;
     }
@@ -347,27 +412,13 @@ public class OrderService {
             paymentInfoRepository.save(paymentInfo);
 
             // Update order status based on payment transaction status
-            if (paymentTransaction.getStatus().equals(PaymentInfo.PaymentStatus.SUCCESS.name())) {
-                order.setStatus(Order.OrderStatus.PAID);
-
-                try {
-                    String userEmail = authServiceClient.getUserEmailById(order.getUserId());
-                    OrderPaidEvent event = OrderPaidEvent.builder()
-                            .orderId(order.getId())
-                            .userId(order.getUserId().toString())
-                            .userEmail(userEmail)
-                            .totalAmount(order.getTotalAmount().toString())
-                            .currency(order.getCurrency())
-                            .build();
-                    kafkaProducerService.sendOrderPaidEvent(event);
-                } catch (Exception e) {
-                    log.error("Failed to send order paid event or fetch user email for order: " + orderId, e);
-                    // We do not rethrow here to ensure the order status update is committed
+            if (applyPaymentOutcome(order, newStatus)) {
+                if (newStatus == PaymentInfo.PaymentStatus.SUCCESS) {
+                    publishOrderPaid(order);
                 }
-            } else if (paymentTransaction.getStatus().equals(PaymentInfo.PaymentStatus.FAILED.name())) {
-                order.setStatus(Order.OrderStatus.CANCELLED); // Or a specific FAILED status
+            } else {
+                orderChangeService.recordOrderChange(order, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
             }
-            orderRepository.save(order);
 
             return paymentTransaction;
         } catch (Exception e){
@@ -379,8 +430,9 @@ public class OrderService {
 
     @Transactional
     public void cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+        Order order = orderRepository.findById(id).orElseThrow(() -> archivedOrderRepository.existsById(id)
+                ? new IllegalStateException("Orders of finished events are archived and can no longer be cancelled.")
+                : new RuntimeException("Order not found"));
 
         if (order.getStatus() == Order.OrderStatus.CANCELLED || order.getStatus() == Order.OrderStatus.REFUNDED) {
             throw new RuntimeException("Order is already cancelled or refunded.");
@@ -402,8 +454,14 @@ public class OrderService {
             }
         }
 
-        // 3. Process Refund if Paid
-        if (order.getStatus() == Order.OrderStatus.PAID) {
+        // Claim the order first: of two concurrent cancellations only one passes the
+        // conditional update, so a payment is never refunded twice
+        boolean paid = order.getStatus() == Order.OrderStatus.PAID;
+        orderStateMachine.transition(order, paid ? Order.OrderStatus.REFUNDED : Order.OrderStatus.CANCELLED,
+                OrderChange.ChangeType.ORDER_STATUS_CHANGED);
+
+        // 3. Process Refund if Paid; a failed refund rolls the transition back
+        if (paid) {
             BigDecimal refundAmount = order.getTotalAmount();
 
             // Apply fee
@@ -420,16 +478,41 @@ public class OrderService {
                         .build();
                 paymentServiceClient.processRefund(refundReq);
             }
-            order.setStatus(Order.OrderStatus.REFUNDED);
-        } else {
-            order.setStatus(Order.OrderStatus.CANCELLED);
         }
 
-        orderRepository.save(order);
-
         // TODO: Publish 'order.cancelled' event to Kafka
     }
 
+    // Moves a PENDING order to PAID or CANCELLED; true if this call made the change
+    private boolean applyPaymentOutcome(Order order, PaymentInfo.PaymentStatus paymentStatus) {
+        if (paymentStatus == PaymentInfo.PaymentStatus.SUCCESS) {
+            return orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
+        }
+        if (paymentStatus == PaymentInfo.PaymentStatus.FAILED) {
+            return orderStateMachine.transition(order, Order.OrderStatus.CANCELLED, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
+        }
+        return false;
+    }
+
+    private void publishOrderPaid(Order order) {
+        try {
+            String userEmail = order.getCustomerEmail() != null && !order.getCustomerEmail().isEmpty()
+                    ? order.getCustomerEmail()
+                    : authServiceClient.getUserEmailById(order.getUserId());
+            OrderPaidEvent event = OrderPaidEvent.builder()
+                    .orderId(order.getId())
+                    .userId(order.getUserId().toString())
+                    .userEmail(userEmail)
+                    .totalAmount(order.getTotalAmount().toString())
+                    .currency(order.getCurrency())
+                    .build();
+            kafkaProducerService.sendOrderPaidEvent(event);
+        } catch (Exception e) {
+            log.error("Failed to send order paid event or fetch user email for order: " + order.getId(), e);
+            // We do not rethrow here to ensure the order status update is committed
+        }
+    }
+
     @Transactional
     public void resendTicketsForOrder(Long orderId, String recipientEmail) {
         // This functionality is now handled by the notification_service.
@@ -459,5 +542,13 @@ public class OrderService {
         return totalCount;
     }
 
+    /**
+     * Sold counts of every (ticketTypeId, showtimeId) pair of an event in one grouped query,
+     * counting the same PAID and PENDING orders as {@link #getSoldCountForTicketType}.
+     */
+    public List<SoldCountDto> getSoldCounts(Long eventId) {
+        return orderItemRepository.sumSoldByEventId(eventId, EnumSet.of(Order.OrderStatus.PAID, Order.OrderStatus.PENDING));
+    }
+
     // Removed getTicketsForUser, updateTicketStatus, and transferTicket as they are now in TicketService
 }
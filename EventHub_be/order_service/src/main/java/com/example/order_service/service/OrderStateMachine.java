@@ -0,0 +1,61 @@
+package com.example.order_service.service;
+
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single entry point for order status changes. A transition is applied as a conditional
+ * update on the status and version the caller loaded, so concurrent payment callbacks and
+ * cancellations cannot overwrite each other and no row lock is held between read and write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStateMachine {
+    private final OrderRepository orderRepository;
+    private final OrderChangeService orderChangeService;
+    private final EntityManager entityManager;
+
+    /**
+     * Moves the order to {@code target} and records the change.
+     *
+     * @return true if this call changed the status, false if the order was already in {@code target}
+     * @throws IllegalStateException if the transition is not allowed from the current status
+     * @throws ObjectOptimisticLockingFailureException if the order changed since it was loaded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean transition(Order order, Order.OrderStatus target, OrderChange.ChangeType changeType) {
+        Order.OrderStatus current = order.getStatus();
+        if (current == target) {
+            return false;
+        }
+        if (!current.canTransitionTo(target)) {
+            throw new IllegalStateException(
+                    String.format("Order %d cannot move from %s to %s.", order.getId(), current, target));
+        }
+
+        int updated = orderRepository.transitionStatus(order.getId(), current, order.getVersion(), target, LocalDateTime.now());
+        // Re-read the row so the managed entity carries the new status and version and is not flushed again
+        entityManager.refresh(order);
+        if (updated == 0) {
+            if (order.getStatus() == target) {
+                log.info("Order {} already moved to {} by a concurrent request", order.getId(), target);
+                return false;
+            }
+            throw new ObjectOptimisticLockingFailureException(Order.class, order.getId());
+        }
+
+        orderChangeService.recordOrderChange(order, changeType);
+        return true;
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.order_service.service;
 
 import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
 import com.example.order_service.model.PaymentInfo;
 import com.example.order_service.repository.OrderRepository;
 import com.example.order_service.repository.PaymentInfoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +17,10 @@ import java.time.LocalDateTime;
 public class PaymentService {
     private final PaymentInfoRepository paymentRepo;
     private final OrderRepository orderRepo;
+    private final OrderChangeService orderChangeService;
+    private final OrderStateMachine orderStateMachine;
 
+    @Transactional
     public PaymentInfo recordPayment(Long orderId, String method, String txId, BigDecimal amount, boolean success) {
         Order order = orderRepo.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -29,11 +34,14 @@ public class PaymentService {
                 .paidAt(LocalDateTime.now())
                 .build();
 
-        if (success) {
-            order.setStatus(Order.OrderStatus.PAID);
-            orderRepo.save(order);
-        }
+        PaymentInfo savedPayment = paymentRepo.save(payment);
+        order.setPaymentInfo(savedPayment);
 
-        return paymentRepo.save(payment);
+        boolean transitioned = success
+                && orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
+        if (!transitioned) {
+            orderChangeService.recordOrderChange(order, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
+        }
+        return savedPayment;
     }
 }
@@ -0,0 +1,286 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.DiscountDto;
+import com.example.order_service.dto.OrderRequest;
+import com.example.order_service.dto.PriceQuote;
+import com.example.order_service.dto.PriceQuoteResponse;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.ConsumedQuote;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.repository.ConsumedQuoteRepository;
+import com.example.order_service.repository.ReservationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Issues and verifies HMAC-signed price quotes. The quote endpoint runs the ticket type,
+ * purchase limit and discount checks once; checkout accepts the signed result instead of
+ * repeating those event_service calls and goes straight to committing inventory.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceQuoteService {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ReservationRepository reservationRepository;
+    private final EventCatalogService eventCatalogService;
+    private final EventServiceClient eventServiceClient;
+    private final PricingService pricingService;
+    private final ObjectMapper objectMapper;
+    private final ConsumedQuoteRepository consumedQuoteRepository;
+
+    @Value("${order.quote.secret}")
+    private String secret;
+
+    @Value("${order.quote.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    public PriceQuoteResponse createQuote(OrderRequest request) {
+        if (request.getUserId() == null || request.getEventId() == null) {
+            throw new IllegalArgumentException("userId and eventId are required for a quote.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(ttlSeconds);
+        List<Long> reservationIds = request.getReservationIds() != null ? request.getReservationIds() : List.of();
+
+        // Lines are keyed the way checkout groups its order items
+        Map<String, PriceQuote.QuoteLine> lines = new LinkedHashMap<>();
+        if (!reservationIds.isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(reservationIds);
+            if (ids.size() != reservationIds.size()) {
+                throw new IllegalArgumentException("Duplicate reservation ids in order.");
+            }
+            List<Reservation> reservations = reservationRepository.findAllById(ids);
+            if (reservations.size() != ids.size()) {
+                throw new IllegalArgumentException("One or more reservations were not found.");
+            }
+            for (Reservation res : reservations) {
+                if (!request.getUserId().equals(res.getUserId()) || !request.getEventId().equals(res.getEventId())) {
+                    throw new IllegalArgumentException("Reservation " + res.getId() + " does not belong to this user and event.");
+                }
+                if (res.getStatus() != Reservation.ReservationStatus.PENDING || !res.getExpireAt().isAfter(now)) {
+                    throw new IllegalArgumentException("Reservation " + res.getId() + " is not valid for order (expired or not pending).");
+                }
+                // A quote never outlives the holds it prices
+                if (res.getExpireAt().isBefore(expiresAt)) {
+                    expiresAt = res.getExpireAt();
+                }
+                addLine(lines, res.getTicketTypeId(), null, res.getQuantity() != null ? res.getQuantity() : 1);
+            }
+        } else if (request.getItems() != null && !request.getItems().isEmpty()) {
+            for (OrderRequest.OrderItemRequest item : request.getItems()) {
+                if (item.getQuantity() == null || item.getQuantity() < 1) {
+                    throw new IllegalArgumentException("Quantity must be at least 1.");
+                }
+                addLine(lines, item.getTicketTypeId(), item.getShowtimeId(), item.getQuantity());
+            }
+        } else {
+            throw new IllegalArgumentException("Order must contain either reservations or direct order items.");
+        }
+
+        Set<Long> ticketTypeIds = new HashSet<>();
+        lines.values().forEach(line -> ticketTypeIds.add(line.getTicketTypeId()));
+        Map<Long, TicketTypeDto> ticketTypes = eventCatalogService.getTicketTypes(ticketTypeIds);
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (PriceQuote.QuoteLine line : lines.values()) {
+            TicketTypeDto ticketType = ticketTypes.get(line.getTicketTypeId());
+            if (ticketType == null || !request.getEventId().equals(ticketType.getEventId())) {
+                throw new IllegalArgumentException("Ticket type " + line.getTicketTypeId() + " does not belong to event " + request.getEventId());
+            }
+            if (ticketType.getPurchaseLimit() != null && line.getQuantity() > ticketType.getPurchaseLimit()) {
+                throw new IllegalArgumentException(
+                        String.format("Order exceeds purchase limit for ticket type %s. Max allowed: %d, Requested: %d",
+                                ticketType.getName(), ticketType.getPurchaseLimit(), line.getQuantity()));
+            }
+            BigDecimal unitPrice = ticketType.getPrice() != null ? ticketType.getPrice() : BigDecimal.ZERO;
+            line.setUnitPrice(unitPrice);
+            subtotal = subtotal.add(unitPrice.multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+
+        BigDecimal total = subtotal;
+        DiscountDto discount = null;
+        String discountCode = normalize(request.getDiscountCode());
+        if (discountCode != null) {
+            discount = eventServiceClient.validateDiscountCode(request.getEventId(), discountCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid or expired discount code."));
+            pricingService.validateDiscount(discount, subtotal);
+            total = pricingService.applyDiscount(discount, subtotal);
+            // Discount windows are part of what the quote vouches for
+            if (discount.getValidTo() != null && discount.getValidTo().isBefore(expiresAt)) {
+                expiresAt = discount.getValidTo();
+            }
+        }
+
+        PriceQuote quote = PriceQuote.builder()
+                .nonce(UUID.randomUUID())
+                .userId(request.getUserId())
+                .eventId(request.getEventId())
+                .reservationIds(new ArrayList<>(reservationIds))
+                .lines(new ArrayList<>(lines.values()))
+                .discountId(discount != null ? discount.getId() : null)
+                .discountCode(discountCode)
+                .subtotal(subtotal)
+                .discountAmount(subtotal.subtract(total))
+                .total(total)
+                .expiresAt(expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond())
+                .build();
+
+        return PriceQuoteResponse.builder()
+                .quoteToken(sign(quote))
+                .lines(quote.getLines())
+                .discountCode(discountCode)
+                .subtotal(subtotal)
+                .discountAmount(quote.getDiscountAmount())
+                .total(total)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Checks the signature and expiry of a quote token and that it was issued for this request.
+     *
+     * @throws IllegalArgumentException when the token is forged, expired or belongs to another order
+     */
+    public PriceQuote verify(String token, OrderRequest request) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            throw new IllegalArgumentException("Invalid quote token.");
+        }
+        String payload = token.substring(0, dot);
+        byte[] signature;
+        PriceQuote quote;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid quote token.");
+        }
+        if (!MessageDigest.isEqual(hmac(payload), signature)) {
+            throw new IllegalArgumentException("Invalid quote token.");
+        }
+        try {
+            quote = objectMapper.readValue(Base64.getUrlDecoder().decode(payload), PriceQuote.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid quote token.");
+        }
+
+        if (Instant.now().getEpochSecond() >= quote.getExpiresAt()) {
+            throw new IllegalArgumentException("Quote has expired, request a new one.");
+        }
+        List<Long> requested = request.getReservationIds() != null ? request.getReservationIds() : List.of();
+        List<Long> quoted = quote.getReservationIds() != null ? quote.getReservationIds() : List.of();
+        if (!Objects.equals(quote.getUserId(), request.getUserId())
+                || !Objects.equals(quote.getEventId(), request.getEventId())
+                || !Objects.equals(quote.getDiscountCode(), normalize(request.getDiscountCode()))
+                || requested.size() != quoted.size()
+                || !new HashSet<>(requested).equals(new HashSet<>(quoted))) {
+            throw new IllegalArgumentException("Quote does not match this order.");
+        }
+        if (quote.getNonce() == null) {
+            throw new IllegalArgumentException("Invalid quote token.");
+        }
+        return quote;
+    }
+
+    /**
+     * Marks a verified quote as used. Call inside the checkout transaction, so a failed
+     * checkout leaves the quote usable.
+     *
+     * @throws IllegalStateException when the quote was used by another checkout
+     */
+    public void consume(PriceQuote quote) {
+        if (consumedQuoteRepository.existsById(quote.getNonce())) {
+            throw new IllegalStateException("Quote has already been used, request a new one.");
+        }
+        try {
+            consumedQuoteRepository.saveAndFlush(ConsumedQuote.builder()
+                    .nonce(quote.getNonce())
+                    .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(quote.getExpiresAt()), ZoneId.systemDefault()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Used by a concurrent checkout
+            throw new IllegalStateException("Quote has already been used, request a new one.");
+        }
+    }
+
+    // Used quotes that expired no longer need to be remembered
+    public int purgeConsumed() {
+        return consumedQuoteRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    /**
+     * Prices the order items at the quoted unit prices. Items must match the quoted lines
+     * exactly, so a cart changed after quoting needs a new quote.
+     *
+     * @return the quoted total, discount included
+     */
+    public BigDecimal applyTo(PriceQuote quote, Collection<OrderItem> items) {
+        Map<String, PriceQuote.QuoteLine> lines = new HashMap<>();
+        quote.getLines().forEach(line -> lines.put(lineKey(line.getTicketTypeId(), line.getShowtimeId()), line));
+        if (lines.size() != items.size()) {
+            throw new IllegalArgumentException("Quote does not match this order.");
+        }
+        for (OrderItem item : items) {
+            PriceQuote.QuoteLine line = lines.get(lineKey(item.getTicketTypeId(), item.getShowtimeId()));
+            if (line == null || !line.getQuantity().equals(item.getQuantity())) {
+                throw new IllegalArgumentException("Quote does not match this order.");
+            }
+            item.setPrice(line.getUnitPrice());
+        }
+        return quote.getTotal();
+    }
+
+    private void addLine(Map<String, PriceQuote.QuoteLine> lines, Long ticketTypeId, Long showtimeId, int quantity) {
+        PriceQuote.QuoteLine line = lines.computeIfAbsent(lineKey(ticketTypeId, showtimeId), k -> PriceQuote.QuoteLine.builder()
+                .ticketTypeId(ticketTypeId)
+                .showtimeId(showtimeId)
+                .quantity(0)
+                .build());
+        line.setQuantity(line.getQuantity() + quantity);
+    }
+
+    private String sign(PriceQuote quote) {
+        String payload;
+        try {
+            payload = Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(quote));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to encode price quote", e);
+        }
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(payload));
+    }
+
+    private byte[] hmac(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to sign price quote", e);
+        }
+    }
+
+    private static String lineKey(Long ticketTypeId, Long showtimeId) {
+        return ticketTypeId + ":" + showtimeId;
+    }
+
+    private static String normalize(String discountCode) {
+        return discountCode == null || discountCode.isBlank() ? null : discountCode;
+    }
+}
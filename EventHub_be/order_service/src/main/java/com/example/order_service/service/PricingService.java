@@ -0,0 +1,45 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.DiscountDto;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Discount rules shared by checkout and the cart preview.
+ */
+@Service
+public class PricingService {
+
+    /**
+     * @throws IllegalArgumentException when the discount cannot be applied to the given subtotal
+     */
+    public void validateDiscount(DiscountDto discount, BigDecimal subtotal) {
+        LocalDateTime now = LocalDateTime.now();
+        if (discount.getValidFrom() != null && discount.getValidFrom().isAfter(now)) {
+            throw new IllegalArgumentException("Discount code is not yet active.");
+        }
+        if (discount.getValidTo() != null && discount.getValidTo().isBefore(now)) {
+            throw new IllegalArgumentException("Discount code has expired.");
+        }
+        if (discount.getUsageLimit() != null && discount.getUsedCount() != null && discount.getUsedCount() >= discount.getUsageLimit()) {
+            throw new IllegalArgumentException("Discount code usage limit reached.");
+        }
+        if (discount.getMinimumOrderAmount() != null && subtotal.compareTo(discount.getMinimumOrderAmount()) < 0) {
+            throw new IllegalArgumentException("Minimum order amount for this discount not met.");
+        }
+    }
+
+    public BigDecimal applyDiscount(DiscountDto discount, BigDecimal subtotal) {
+        BigDecimal total = subtotal;
+        if (discount.getDiscountPercent() != null) {
+            total = subtotal.multiply(BigDecimal.valueOf(100 - discount.getDiscountPercent()))
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        } else if (discount.getDiscountAmount() != null) {
+            total = subtotal.subtract(discount.getDiscountAmount());
+        }
+        return total.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : total;
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.order_service.service;
 
 import com.example.order_service.dto.DailySalesDto;
+import com.example.order_service.model.ArchivedOrder;
+import com.example.order_service.model.ArchivedOrderItem;
 import com.example.order_service.model.Order;
+import com.example.order_service.repository.ArchivedOrderItemRepository;
+import com.example.order_service.repository.ArchivedOrderRepository;
 import com.example.order_service.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,17 +19,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReportingService {
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
 
+    // Revenue figures combine live orders with those moved to the archive tables
     public BigDecimal getRevenueByEvent(Long eventId) {
-        List<Order> orders = orderRepository.findByEventIdAndStatus(eventId, Order.OrderStatus.PAID);
-        return orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderRepository.sumTotalAmountByEventIdAndStatus(eventId, Order.OrderStatus.PAID)
+                .add(archivedOrderRepository.sumTotalAmountByEventIdAndStatus(eventId, Order.OrderStatus.PAID));
     }
 
     public long getTicketsSoldByEvent(Long eventId) {
@@ -35,10 +41,8 @@ public class ReportingService {
     }
 
     public BigDecimal calculateTotalRevenue() {
-        List<Order> orders = orderRepository.findByStatus(Order.OrderStatus.PAID);
-        return orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderRepository.sumTotalAmountByStatus(Order.OrderStatus.PAID)
+                .add(archivedOrderRepository.sumTotalAmountByStatus(Order.OrderStatus.PAID));
     }
 
     public long getTotalTicketsSold() {
@@ -70,6 +74,17 @@ public class ReportingService {
             totals.put(orderDate, totals.getOrDefault(orderDate, 0L) + quantity);
         }
 
+        List<ArchivedOrder> archivedOrders = archivedOrderRepository.findByEventIdAndStatusAndCreatedAtBetween(
+                eventId, Order.OrderStatus.PAID, startDateTime, endDateTime);
+        if (!archivedOrders.isEmpty()) {
+            Map<Long, LocalDate> dateByOrderId = archivedOrders.stream()
+                    .collect(Collectors.toMap(ArchivedOrder::getId, o -> o.getCreatedAt().toLocalDate()));
+            for (ArchivedOrderItem item : archivedOrderItemRepository.findByOrderIdIn(dateByOrderId.keySet())) {
+                LocalDate orderDate = dateByOrderId.get(item.getOrderId());
+                totals.put(orderDate, totals.getOrDefault(orderDate, 0L) + item.getQuantity());
+            }
+        }
+
         List<DailySalesDto> response = new ArrayList<>();
         LocalDate cursor = startDate;
         while (!cursor.isAfter(endDate)) {
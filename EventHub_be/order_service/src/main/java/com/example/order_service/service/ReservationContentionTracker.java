@@ -0,0 +1,220 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.ContentionHeatMapResponse;
+import com.example.order_service.dto.SeatSectionDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counts reservation attempts, seat conflicts, purchase-limit rejections and hold expiries
+ * per (eventId, ticketTypeId) and per seat, so hotspots of an on-sale show up while it runs.
+ * Recording is a map lookup plus a {@link LongAdder} increment and never blocks the
+ * reservation path; seats are only mapped to their sections when the heat-map is read.
+ * <p>
+ * Counters are per replica. The {@code reservation.contention} meter carries the same
+ * outcomes without event tags, so totals across replicas come from the metrics backend.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationContentionTracker {
+    private static final int SECTION_LOOKUP_CHUNK = 500;
+
+    public enum Outcome {
+        ATTEMPT, CONFLICT, LIMIT_REJECTED, EXPIRED
+    }
+
+    private final EventServiceClient eventServiceClient;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TicketTypeKey, Counters> byTicketType = new ConcurrentHashMap<>();
+    private final Map<Long, SeatCounters> bySeat = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> meters = new EnumMap<>(Outcome.class);
+    private final LongAdder dropped = new LongAdder();
+    private volatile LocalDateTime since = LocalDateTime.now();
+
+    // Keeps memory bounded when an on-sale spans many events or seats
+    @Value("${order.contention.max-keys:100000}")
+    private int maxKeys;
+
+    @PostConstruct
+    void registerMeters() {
+        for (Outcome outcome : Outcome.values()) {
+            meters.put(outcome, meterRegistry.counter("reservation.contention",
+                    "outcome", outcome.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    public void record(Long eventId, Long ticketTypeId, Long seatId, Outcome outcome) {
+        record(eventId, ticketTypeId, seatId, outcome, 1);
+    }
+
+    public void record(Long eventId, Long ticketTypeId, Long seatId, Outcome outcome, long count) {
+        meters.get(outcome).increment(count);
+
+        Counters typeCounters = counters(byTicketType, new TicketTypeKey(eventId, ticketTypeId),
+                key -> new Counters(eventId));
+        if (typeCounters != null) {
+            typeCounters.add(outcome, count);
+        }
+        if (seatId != null) {
+            SeatCounters seatCounters = counters(bySeat, seatId, key -> new SeatCounters(eventId));
+            if (seatCounters != null) {
+                seatCounters.add(outcome, count);
+            }
+        }
+    }
+
+    /**
+     * Hottest ticket types and seat sections, ranked by rejections and then attempts.
+     *
+     * @param eventId optional filter
+     * @param limit   maximum cells per list
+     */
+    public ContentionHeatMapResponse heatMap(Long eventId, int limit) {
+        List<ContentionHeatMapResponse.Cell> ticketTypes = byTicketType.entrySet().stream()
+                .filter(entry -> eventId == null || eventId.equals(entry.getKey().eventId()))
+                .map(entry -> entry.getValue().toCell(entry.getKey().ticketTypeId(), null))
+                .collect(Collectors.toList());
+
+        Map<Long, SeatCounters> seats = bySeat.entrySet().stream()
+                .filter(entry -> eventId == null || eventId.equals(entry.getValue().eventId))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        resolveSections(seats);
+
+        Map<SectionKey, Counters> sectionTotals = new HashMap<>();
+        seats.values().forEach(seat -> sectionTotals
+                .computeIfAbsent(new SectionKey(seat.eventId, seat.section), key -> new Counters(seat.eventId))
+                .addAll(seat));
+        List<ContentionHeatMapResponse.Cell> sections = sectionTotals.entrySet().stream()
+                .map(entry -> entry.getValue().toCell(null, entry.getKey().section()))
+                .collect(Collectors.toList());
+
+        return ContentionHeatMapResponse.builder()
+                .since(since)
+                .droppedRecords(dropped.sum())
+                .ticketTypes(hottest(ticketTypes, limit))
+                .sections(hottest(sections, limit))
+                .build();
+    }
+
+    /**
+     * Starts a new observation window, e.g. right before an on-sale opens.
+     */
+    public void reset() {
+        byTicketType.clear();
+        bySeat.clear();
+        dropped.reset();
+        since = LocalDateTime.now();
+    }
+
+    private <K, C> C counters(Map<K, C> map, K key, Function<K, C> factory) {
+        C existing = map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (map.size() >= maxKeys) {
+            dropped.increment();
+            return null;
+        }
+        return map.computeIfAbsent(key, factory);
+    }
+
+    private void resolveSections(Map<Long, SeatCounters> seats) {
+        List<Long> unresolved = seats.entrySet().stream()
+                .filter(entry -> !entry.getValue().sectionResolved)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        for (int from = 0; from < unresolved.size(); from += SECTION_LOOKUP_CHUNK) {
+            List<Long> chunk = unresolved.subList(from, Math.min(from + SECTION_LOOKUP_CHUNK, unresolved.size()));
+            try {
+                for (SeatSectionDto dto : eventServiceClient.getSeatSections(chunk)) {
+                    SeatCounters seat = seats.get(dto.getSeatId());
+                    if (seat != null) {
+                        seat.section = dto.getSection();
+                        seat.sectionResolved = true;
+                    }
+                }
+            } catch (Exception e) {
+                // Unresolved seats are reported without a section and retried on the next read
+                log.warn("Seat section lookup failed for {} seats", chunk.size(), e);
+            }
+        }
+    }
+
+    private static List<ContentionHeatMapResponse.Cell> hottest(List<ContentionHeatMapResponse.Cell> cells, int limit) {
+        return cells.stream()
+                .sorted(Comparator.comparingLong((ContentionHeatMapResponse.Cell cell) -> cell.getConflicts() + cell.getLimitRejections())
+                        .thenComparingLong(ContentionHeatMapResponse.Cell::getAttempts)
+                        .reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private record TicketTypeKey(Long eventId, Long ticketTypeId) {
+    }
+
+    private record SectionKey(Long eventId, String section) {
+    }
+
+    private static class Counters {
+        final Long eventId;
+        final LongAdder[] adders = new LongAdder[Outcome.values().length];
+
+        Counters(Long eventId) {
+            this.eventId = eventId;
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+
+        void add(Outcome outcome, long count) {
+            adders[outcome.ordinal()].add(count);
+        }
+
+        void addAll(Counters other) {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i].add(other.adders[i].sum());
+            }
+        }
+
+        ContentionHeatMapResponse.Cell toCell(Long ticketTypeId, String section) {
+            long attempts = adders[Outcome.ATTEMPT.ordinal()].sum();
+            long conflicts = adders[Outcome.CONFLICT.ordinal()].sum();
+            long limitRejections = adders[Outcome.LIMIT_REJECTED.ordinal()].sum();
+            return ContentionHeatMapResponse.Cell.builder()
+                    .eventId(eventId)
+                    .ticketTypeId(ticketTypeId)
+                    .section(section)
+                    .attempts(attempts)
+                    .conflicts(conflicts)
+                    .limitRejections(limitRejections)
+                    .expiries(adders[Outcome.EXPIRED.ordinal()].sum())
+                    .rejectionRate(attempts > 0 ? (double) (conflicts + limitRejections) / attempts : 0)
+                    .build();
+        }
+    }
+
+    private static class SeatCounters extends Counters {
+        // Written by heat-map reads only; a seat keeps its section for the life of the window
+        volatile String section;
+        volatile boolean sectionResolved;
+
+        SeatCounters(Long eventId) {
+            super(eventId);
+        }
+    }
+}
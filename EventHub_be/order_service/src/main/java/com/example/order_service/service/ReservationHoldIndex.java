@@ -0,0 +1,185 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.HoldHeartbeatResponse;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.repository.ReservationBatchRepository;
+import com.example.order_service.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of active reservation holds, kept per replica. Heartbeats extend the hold
+ * here only; {@link #flush()} writes an extended expiry to the database shortly before the
+ * persisted one would lapse, so a checkout page polling every few seconds costs roughly one
+ * batched UPDATE per extension window instead of one per heartbeat.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationHoldIndex {
+    private final ReservationRepository reservationRepository;
+    private final ReservationBatchRepository reservationBatchRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+
+    @Value("${order.reservation-hold.extension-seconds:180}")
+    private long extensionSeconds;
+
+    @Value("${order.reservation-hold.max-hold-minutes:20}")
+    private long maxHoldMinutes;
+
+    @Value("${order.reservation-hold.flush-lead-seconds:60}")
+    private long flushLeadSeconds;
+
+    @Value("${order.reservation-hold.max-entries:200000}")
+    private int maxEntries;
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gaugeMapSize("reservations.hold.index.size", Tags.empty(), holds);
+    }
+
+    /**
+     * Extends an active hold to now + extension, never past its hard cap.
+     */
+    public HoldHeartbeatResponse heartbeat(Long reservationId, UUID userId) {
+        Hold hold = holds.get(reservationId);
+        boolean cached = true;
+        if (hold == null) {
+            hold = load(reservationId);
+            if (holds.size() < maxEntries) {
+                Hold existing = holds.putIfAbsent(reservationId, hold);
+                if (existing != null) {
+                    hold = existing;
+                }
+            } else {
+                cached = false; // index full: fall back to writing this heartbeat through
+            }
+        }
+        if (!hold.userId.equals(userId)) {
+            throw new AccessDeniedException("Reservation does not belong to this user.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireAt;
+        synchronized (hold) {
+            if (hold.expireAt.isBefore(now)) {
+                holds.remove(reservationId);
+                throw new IllegalStateException("Reservation hold has expired.");
+            }
+            LocalDateTime target = now.plusSeconds(extensionSeconds);
+            if (target.isAfter(hold.maxExpireAt)) {
+                target = hold.maxExpireAt;
+            }
+            if (target.isAfter(hold.expireAt)) {
+                hold.expireAt = target;
+            }
+            expireAt = hold.expireAt;
+        }
+        if (!cached && expireAt.isAfter(hold.persistedExpireAt)) {
+            reservationBatchRepository.extendHolds(Map.of(reservationId, expireAt));
+        }
+        meterRegistry.counter("reservations.hold.heartbeats").increment();
+
+        return HoldHeartbeatResponse.builder()
+                .reservationId(reservationId)
+                .expireAt(expireAt)
+                .maxExpireAt(hold.maxExpireAt)
+                .build();
+    }
+
+    // Drops holds that were checked out, cancelled or changed elsewhere
+    public void evict(Collection<Long> reservationIds) {
+        reservationIds.forEach(holds::remove);
+    }
+
+    /**
+     * Persists extended holds whose stored expiry falls within the flush lead, and forgets
+     * holds that have run out. Must run more often than the lead time.
+     */
+    public void flush() {
+        flush(LocalDateTime.now().plusSeconds(flushLeadSeconds));
+    }
+
+    @PreDestroy
+    void flushAll() {
+        // On shutdown write every pending extension, the index is lost with this replica
+        flush(LocalDateTime.MAX);
+    }
+
+    private void flush(LocalDateTime persistBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LocalDateTime> due = new HashMap<>();
+        for (Iterator<Map.Entry<Long, Hold>> it = holds.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Hold> entry = it.next();
+            Hold hold = entry.getValue();
+            synchronized (hold) {
+                if (hold.expireAt.isBefore(now)) {
+                    it.remove();
+                } else if (hold.expireAt.isAfter(hold.persistedExpireAt) && hold.persistedExpireAt.isBefore(persistBefore)) {
+                    due.put(entry.getKey(), hold.expireAt);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        reservationBatchRepository.extendHolds(due);
+        due.forEach((id, expireAt) -> {
+            Hold hold = holds.get(id);
+            if (hold != null) {
+                synchronized (hold) {
+                    if (expireAt.isAfter(hold.persistedExpireAt)) {
+                        hold.persistedExpireAt = expireAt;
+                    }
+                }
+            }
+        });
+        meterRegistry.counter("reservations.hold.flushed").increment(due.size());
+        log.debug("Persisted {} extended reservation holds", due.size());
+    }
+
+    private Hold load(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        if (reservation.getStatus() != Reservation.ReservationStatus.PENDING) {
+            throw new IllegalStateException("Reservation is no longer pending.");
+        }
+        // Waitlist holds end with their offer; holds created before createdAt existed are not extended
+        LocalDateTime maxExpireAt = reservation.getHeldQuantity() == null && reservation.getCreatedAt() != null
+                ? reservation.getCreatedAt().plusMinutes(maxHoldMinutes)
+                : reservation.getExpireAt();
+        return new Hold(reservation.getUserId(), reservation.getExpireAt(), maxExpireAt);
+    }
+
+    private static final class Hold {
+        private final UUID userId;
+        private final LocalDateTime maxExpireAt;
+        private LocalDateTime expireAt;
+        private LocalDateTime persistedExpireAt;
+
+        private Hold(UUID userId, LocalDateTime expireAt, LocalDateTime maxExpireAt) {
+            this.userId = userId;
+            this.expireAt = expireAt;
+            this.persistedExpireAt = expireAt;
+            this.maxExpireAt = maxExpireAt.isBefore(expireAt) ? expireAt : maxExpireAt;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.order_service.service;
 
+import com.example.order_service.dto.ExpiredHoldCount;
+import com.example.order_service.dto.HeldCountDto;
 import com.example.order_service.dto.ReservationRequest;
 import com.example.order_service.dto.TicketTypeDto;
 import com.example.order_service.feign_client.EventServiceClient;
@@ -7,14 +9,23 @@ import com.example.order_service.feign_client.TicketServiceClient;
 import com.example.order_service.model.Reservation;
 import com.example.order_service.model.Reservation.ReservationStatus;
 import com.example.order_service.repository.ReservationRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import com.example.order_service.service.ReservationContentionTracker.Outcome;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,18 +34,26 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final EventServiceClient eventServiceClient;
     private final TicketServiceClient ticketServiceClient;
+    private final ReservationHoldIndex reservationHoldIndex;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ReservationContentionTracker contentionTracker;
+    private final AvailabilityEventPublisher availabilityEventPublisher;
 
     @Transactional
     public Reservation reserve(ReservationRequest request) {
+        contentionTracker.record(request.getEventId(), request.getTicketTypeId(), request.getSeatId(), Outcome.ATTEMPT);
+        soldOutRegistry.ensureAvailable(request.getTicketTypeId());
         if (request.getSeatId() != null) {
             // Check if the specific seat is already reserved (PENDING or CONFIRMED)
             Optional<Reservation> existingReservation = reservationRepository.findBySeatIdAndStatus(request.getSeatId(), ReservationStatus.PENDING);
             if (existingReservation.isPresent()) {
+                contentionTracker.record(request.getEventId(), request.getTicketTypeId(), request.getSeatId(), Outcome.CONFLICT);
                 throw new RuntimeException("Seat " + request.getSeatId() + " is already reserved.");
             }
             // Also check for CONFIRMED status if a seat can be confirmed without an order being fully paid yet
             Optional<Reservation> confirmedReservation = reservationRepository.findBySeatIdAndStatus(request.getSeatId(), ReservationStatus.CONFIRMED);
             if (confirmedReservation.isPresent()) {
+                contentionTracker.record(request.getEventId(), request.getTicketTypeId(), request.getSeatId(), Outcome.CONFLICT);
                 throw new RuntimeException("Seat " + request.getSeatId() + " is already confirmed.");
             }
         }
@@ -54,6 +73,7 @@ public class ReservationService {
                     .sum();
 
             if (purchasedCount + reservedCount + request.getQuantity() > ticketType.getPurchaseLimit()) {
+                contentionTracker.record(request.getEventId(), request.getTicketTypeId(), request.getSeatId(), Outcome.LIMIT_REJECTED);
                 throw new RuntimeException("Purchase limit exceeded. Limit is " + ticketType.getPurchaseLimit() + ". You have already bought/reserved " + (purchasedCount + reservedCount) + " tickets.");
             }
         }
@@ -76,6 +96,7 @@ public class ReservationService {
                 .expireAt(LocalDateTime.now().plusMinutes(5)) // 5-minute countdown
                 .status(ReservationStatus.PENDING) // Initial status
                 .build();
+        availabilityEventPublisher.publishSeatsAfterCommit(res.getEventId(), Collections.singletonList(res.getSeatId()), List.of());
         return reservationRepository.save(res);
     }
 
@@ -93,18 +114,60 @@ public class ReservationService {
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
         if (reservation.getStatus() == ReservationStatus.PENDING && reservation.getExpireAt().isAfter(LocalDateTime.now())) {
             reservation.setStatus(ReservationStatus.CONFIRMED);
+            availabilityEventPublisher.publishAfterCommit(reservation.getEventId());
             return reservationRepository.save(reservation);
         } else {
             throw new RuntimeException("Cannot confirm reservation. It might be expired or already processed.");
         }
     }
 
+    /**
+     * Locks, validates and confirms all reservations of a checkout with one
+     * SELECT ... FOR UPDATE and one bulk UPDATE, regardless of how many seats are involved.
+     *
+     * @return the confirmed reservations, in request order
+     */
+    @Transactional
+    public List<Reservation> confirmReservations(List<Long> reservationIds, UUID userId) {
+        Set<Long> ids = new LinkedHashSet<>(reservationIds);
+        if (ids.size() != reservationIds.size()) {
+            throw new IllegalArgumentException("Duplicate reservation ids in order.");
+        }
+
+        Map<Long, Reservation> locked = reservationRepository.findAllByIdInForUpdate(ids).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> reservations = ids.stream().map(id -> {
+            Reservation reservation = locked.get(id);
+            if (reservation == null) {
+                throw new RuntimeException("Reservation not found: " + id);
+            }
+            if (userId != null && reservation.getUserId() != null && !userId.equals(reservation.getUserId())) {
+                throw new RuntimeException("Reservation " + id + " does not belong to this user.");
+            }
+            if (reservation.getStatus() != ReservationStatus.PENDING || reservation.getExpireAt().isBefore(now)) {
+                throw new RuntimeException("Reservation " + id + " is not valid for order (expired or not pending).");
+            }
+            return reservation;
+        }).collect(Collectors.toList());
+
+        // Rows are locked, so every reservation is still PENDING and the update hits all of them
+        reservationRepository.bulkUpdateStatus(ids, ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+        reservations.forEach(reservation -> reservation.setStatus(ReservationStatus.CONFIRMED));
+        reservationHoldIndex.evict(ids);
+        availabilityEventPublisher.publishAfterCommit(reservations.stream().map(Reservation::getEventId).collect(Collectors.toList()));
+        return reservations;
+    }
+
     @Transactional
     public Reservation cancelReservation(Long reservationId) {
         Reservation reservation = getReservationById(reservationId)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
         if (reservation.getStatus() == ReservationStatus.PENDING || reservation.getStatus() == ReservationStatus.CONFIRMED) {
             reservation.setStatus(ReservationStatus.CANCELLED);
+            reservationHoldIndex.evict(List.of(reservationId));
+            availabilityEventPublisher.publishSeatsAfterCommit(reservation.getEventId(), List.of(),
+                    Collections.singletonList(reservation.getSeatId()));
             return reservationRepository.save(reservation);
         } else {
             throw new RuntimeException("Cannot cancel reservation with status: " + reservation.getStatus());
@@ -116,8 +179,32 @@ public class ReservationService {
         List<Reservation> expiredPendingReservations = reservationRepository.findByExpireAtBeforeAndStatus(LocalDateTime.now(), ReservationStatus.PENDING);
         for (Reservation res : expiredPendingReservations) {
             res.setStatus(ReservationStatus.EXPIRED);
+            contentionTracker.record(res.getEventId(), res.getTicketTypeId(), res.getSeatId(), Outcome.EXPIRED);
             reservationRepository.save(res);
         }
+        publishReleased(expiredPendingReservations.stream()
+                .map(res -> new SeatOfEvent(res.getEventId(), res.getSeatId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Expires overdue PENDING holds for the events of one scheduler partition with a single UPDATE.
+     */
+    public int expireReservations(SchedulerPartition partition) {
+        LocalDateTime now = LocalDateTime.now();
+        // Read with the same cutoff just before the UPDATE; a hold confirmed in between may be counted
+        List<ExpiredHoldCount> overdue = reservationRepository.countOverdue(ReservationStatus.PENDING, now,
+                partition.getCount(), partition.getIndex());
+        int expired = reservationRepository.bulkExpire(ReservationStatus.PENDING, ReservationStatus.EXPIRED,
+                now, partition.getCount(), partition.getIndex());
+        if (expired > 0) {
+            overdue.forEach(count -> contentionTracker.record(count.getEventId(), count.getTicketTypeId(),
+                    count.getSeatId(), Outcome.EXPIRED, count.getCount()));
+            publishReleased(overdue.stream()
+                    .map(count -> new SeatOfEvent(count.getEventId(), count.getSeatId()))
+                    .collect(Collectors.toList()));
+        }
+        return expired;
     }
 
     public boolean isSeatAvailable(Long seatId) {
@@ -139,6 +226,10 @@ public class ReservationService {
         return pending;
     }
 
+    public List<HeldCountDto> getHeldCounts(Long eventId) {
+        return reservationRepository.sumHeldByEventId(eventId, ReservationStatus.PENDING, LocalDateTime.now());
+    }
+
     // --- Shopping Cart-like functionality ---
 
     @Transactional
@@ -146,6 +237,8 @@ public class ReservationService {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive.");
         }
+        contentionTracker.record(eventId, ticketTypeId, seatId, Outcome.ATTEMPT);
+        soldOutRegistry.ensureAvailable(ticketTypeId);
 
         // --- Purchase Limit Check ---
         TicketTypeDto ticketType = eventServiceClient.getTicketTypeById(ticketTypeId);
@@ -172,6 +265,7 @@ public class ReservationService {
             long newTotalQuantity = purchasedCount + reservedCount + quantity;
 
             if (newTotalQuantity > ticketType.getPurchaseLimit()) {
+                contentionTracker.record(eventId, ticketTypeId, seatId, Outcome.LIMIT_REJECTED);
                 throw new RuntimeException("Purchase limit exceeded. Limit is " + ticketType.getPurchaseLimit() + ". You have already bought/reserved " + (purchasedCount + reservedCount) + " tickets.");
             }
         }
@@ -194,11 +288,17 @@ public class ReservationService {
         Reservation reservation;
         if (existingCartItem.isPresent()) {
             reservation = existingCartItem.get();
+            if (reservation.getHeldQuantity() != null) {
+                // Waitlist holds carry a fixed amount of quota and expire with their offer
+                throw new RuntimeException("A waitlist hold cannot be changed, check it out or let it expire.");
+            }
             reservation.setQuantity(quantity);
             reservation.setExpireAt(LocalDateTime.now().plusMinutes(5)); // Reset countdown
+            reservationHoldIndex.evict(List.of(reservation.getId()));
         } else {
             // Check seat availability for new reservation
             if (seatId != null && !isSeatAvailable(seatId)) {
+                contentionTracker.record(eventId, ticketTypeId, seatId, Outcome.CONFLICT);
                 throw new RuntimeException("Seat " + seatId + " is not available.");
             }
             reservation = Reservation.builder()
@@ -211,6 +311,7 @@ public class ReservationService {
                     .status(ReservationStatus.PENDING)
                     .build();
         }
+        availabilityEventPublisher.publishSeatsAfterCommit(eventId, Collections.singletonList(seatId), List.of());
         return reservationRepository.save(reservation);
     }
 
@@ -220,6 +321,9 @@ public class ReservationService {
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
         if (reservation.getStatus() == ReservationStatus.PENDING) {
             reservation.setStatus(ReservationStatus.CANCELLED); // Mark as cancelled
+            reservationHoldIndex.evict(List.of(reservationId));
+            availabilityEventPublisher.publishSeatsAfterCommit(reservation.getEventId(), List.of(),
+                    Collections.singletonList(reservation.getSeatId()));
             reservationRepository.save(reservation);
         } else {
             throw new RuntimeException("Cannot remove non-pending reservation from cart.");
@@ -229,4 +333,17 @@ public class ReservationService {
     public List<Reservation> getCartItemsForUser(UUID userId) {
         return reservationRepository.findByUserIdAndStatusAndExpireAtAfter(userId, ReservationStatus.PENDING, LocalDateTime.now());
     }
+
+    // One message per event, naming the seats whose holds ended
+    private void publishReleased(List<SeatOfEvent> released) {
+        Map<Long, List<Long>> seatIdsByEvent = new LinkedHashMap<>();
+        released.stream()
+                .filter(seat -> seat.eventId() != null)
+                .forEach(seat -> seatIdsByEvent.computeIfAbsent(seat.eventId(), id -> new ArrayList<>()).add(seat.seatId()));
+        seatIdsByEvent.forEach((eventId, seatIds) ->
+                availabilityEventPublisher.publishSeatsAfterCommit(eventId, List.of(), seatIds));
+    }
+
+    private record SeatOfEvent(Long eventId, Long seatId) {
+    }
 }
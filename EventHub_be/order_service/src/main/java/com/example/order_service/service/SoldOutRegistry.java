@@ -0,0 +1,61 @@
+package com.example.order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory sold-out flags per ticket type, fed by event_service inventory events. Lets the
+ * reservation and checkout paths turn away requests for sold-out ticket types before any
+ * remote call or database work.
+ * <p>
+ * The flags are a hint, not the source of truth: a flag older than
+ * {@code order.sold-out.max-age-seconds} is dropped so a missed "back in stock" event can
+ * only block sales for a bounded time, and event_service still guards the actual quota.
+ */
+@Service
+@RequiredArgsConstructor
+public class SoldOutRegistry {
+    private final Map<Long, Long> soldOutSince = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.sold-out.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    public void markSoldOut(Long ticketTypeId) {
+        soldOutSince.put(ticketTypeId, System.currentTimeMillis());
+    }
+
+    public void markAvailable(Long ticketTypeId) {
+        soldOutSince.remove(ticketTypeId);
+    }
+
+    public boolean isSoldOut(Long ticketTypeId) {
+        if (ticketTypeId == null) {
+            return false;
+        }
+        Long since = soldOutSince.get(ticketTypeId);
+        if (since == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - since > maxAgeSeconds * 1000) {
+            soldOutSince.remove(ticketTypeId, since);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @throws IllegalStateException when the ticket type is flagged as sold out
+     */
+    public void ensureAvailable(Long ticketTypeId) {
+        if (isSoldOut(ticketTypeId)) {
+            meterRegistry.counter("inventory.sold_out.rejected").increment();
+            throw new IllegalStateException("Ticket type " + ticketTypeId + " is sold out.");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.repository.OrderItemRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StaleOrderService {
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final EventServiceClient eventServiceClient;
+    private final OrderChangeService orderChangeService;
+    private final WaitlistService waitlistService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Cancels one batch of PENDING orders created before the cutoff (group orders before the
+     * group cutoff), limited to the events of the given partition, and hands their ticket quota and discount usage back to
+     * event_service in a single call.
+     *
+     * @return number of orders cancelled in this batch
+     */
+    @Transactional
+    public int cancelStaleBatch(LocalDateTime cutoff, LocalDateTime groupCutoff, int batchSize, SchedulerPartition partition) {
+        List<Order> orders = orderRepository.findStaleBatch(Order.OrderStatus.PENDING, cutoff, groupCutoff,
+                partition.getCount(), partition.getIndex(), PageRequest.of(0, batchSize)).stream()
+                // Also checked on the loaded rows; an order with a transaction id is settled by its payment callback
+                .filter(order -> !isPaymentInitiated(order))
+                .collect(Collectors.toList());
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+
+        // Quantities per order, plus their aggregate per ticket type across the whole batch
+        Map<String, Map<Long, Integer>> orderQuantities = new LinkedHashMap<>();
+        Map<Long, Integer> ticketTypeQuantities = new HashMap<>();
+        for (OrderItem item : orderItemRepository.findByOrderIdIn(orderIds)) {
+            if (item.getTicketTypeId() != null && item.getQuantity() > 0) {
+                orderQuantities.computeIfAbsent(releaseKey(item.getOrder()), k -> new HashMap<>())
+                        .merge(item.getTicketTypeId(), item.getQuantity(), Integer::sum);
+                ticketTypeQuantities.merge(item.getTicketTypeId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        // Rows are locked by the select above, so every order in the batch is still PENDING
+        orderRepository.bulkUpdateStatus(orderIds, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED, LocalDateTime.now());
+        orders.forEach(order -> order.setStatus(Order.OrderStatus.CANCELLED));
+        orderChangeService.recordOrderChanges(orders, OrderChange.ChangeType.ORDER_STATUS_CHANGED);
+
+        // Waiters get first pick of the freed quota; only the rest goes back to event_service
+        Map<Long, Integer> unclaimedQuantities = waitlistService.allocateReleasedInventory(ticketTypeQuantities);
+        Map<String, Map<Long, Integer>> unclaimedByOrder = InventoryReleases.split(orderQuantities, unclaimedQuantities);
+
+        // One release per order, keyed by its id, so a retried batch never releases an order twice
+        List<InventoryReleaseRequest.Release> releases = new ArrayList<>();
+        int discountsReleased = 0;
+        for (Order order : orders) {
+            String key = releaseKey(order);
+            List<InventoryReleaseRequest.DiscountUsageRelease> discountUsages = new ArrayList<>();
+            if (order.getDiscountCode() != null && !order.getDiscountCode().isEmpty()) {
+                discountUsages.add(InventoryReleaseRequest.DiscountUsageRelease.builder()
+                        .eventId(order.getEventId())
+                        .code(order.getDiscountCode())
+                        .count(1)
+                        .build());
+                discountsReleased++;
+            }
+            Map<Long, Integer> quantities = unclaimedByOrder.getOrDefault(key, Map.of());
+            if (!quantities.isEmpty() || !discountUsages.isEmpty()) {
+                releases.add(InventoryReleaseRequest.Release.builder()
+                        .key(key)
+                        .ticketTypeQuantities(quantities)
+                        .discountUsages(discountUsages)
+                        .build());
+            }
+        }
+
+        // Release last: if event_service is unreachable the status update rolls back and the batch is retried.
+        // If the commit fails after a successful call, the retry's releases are skipped by key.
+        if (!releases.isEmpty()) {
+            eventServiceClient.releaseInventory(InventoryReleaseRequest.builder().releases(releases).build());
+        }
+
+        int ticketsReleased = ticketTypeQuantities.values().stream().mapToInt(Integer::intValue).sum();
+        meterRegistry.counter("orders.stale.cancelled").increment(orders.size());
+        meterRegistry.counter("orders.stale.tickets.released").increment(ticketsReleased);
+        meterRegistry.counter("orders.stale.discounts.released").increment(discountsReleased);
+
+        log.info("Cancelled {} stale orders, released {} tickets across {} ticket types and {} discount usages",
+                orders.size(), ticketsReleased, ticketTypeQuantities.size(), discountsReleased);
+        return orders.size();
+    }
+
+    private static boolean isPaymentInitiated(Order order) {
+        return order.getPaymentInfo() != null && order.getPaymentInfo().getTransactionId() != null;
+    }
+
+    static String releaseKey(Order order) {
+        return "order:" + order.getId();
+    }
+}
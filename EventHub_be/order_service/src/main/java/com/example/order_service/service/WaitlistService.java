@@ -0,0 +1,279 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.dto.WaitlistEntryDto;
+import com.example.order_service.dto.WaitlistOfferEvent;
+import com.example.order_service.dto.WaitlistRequest;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.model.WaitlistEntry;
+import com.example.order_service.repository.ReservationRepository;
+import com.example.order_service.repository.WaitlistEntryRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-ticket-type waitlist. Quota released by cancelled orders is kept by order_service and
+ * turned into time-limited holds (reservations with {@code heldQuantity}) for the head of the
+ * queue instead of being returned to event_service; only what nobody is waiting for goes back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+    private static final EnumSet<WaitlistEntry.Status> ACTIVE = EnumSet.of(WaitlistEntry.Status.WAITING, WaitlistEntry.Status.OFFERED);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ReservationRepository reservationRepository;
+    private final EventCatalogService eventCatalogService;
+    private final EventServiceClient eventServiceClient;
+    private final KafkaProducerService kafkaProducerService;
+    private final AvailabilityEventPublisher availabilityEventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.waitlist.hold-minutes:10}")
+    private long holdMinutes;
+
+    /**
+     * Queues the user for a sold-out ticket type. Joining again returns the existing entry,
+     * so a fan holds at most one place per ticket type.
+     */
+    @Transactional
+    public WaitlistEntryDto join(WaitlistRequest request, String userEmail) {
+        if (request.getQuantity() == null || request.getQuantity() < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1.");
+        }
+        Optional<WaitlistEntry> existing = waitlistEntryRepository.findFirstByUserIdAndTicketTypeIdAndStatusIn(
+                request.getUserId(), request.getTicketTypeId(), ACTIVE);
+        if (existing.isPresent()) {
+            return toDto(existing.get());
+        }
+
+        TicketTypeDto ticketType = eventCatalogService.getTicketTypes(List.of(request.getTicketTypeId())).get(request.getTicketTypeId());
+        if (ticketType == null || !ticketType.getEventId().equals(request.getEventId())) {
+            throw new IllegalArgumentException("Ticket type " + request.getTicketTypeId() + " does not belong to event " + request.getEventId());
+        }
+        if (ticketType.getQuota() != null && ticketType.getQuota() > 0) {
+            throw new IllegalArgumentException("Tickets are still available for this ticket type, reserve them directly.");
+        }
+        if (ticketType.getPurchaseLimit() != null && ticketType.getPurchaseLimit() > 0
+                && request.getQuantity() > ticketType.getPurchaseLimit()) {
+            throw new IllegalArgumentException("Quantity exceeds the purchase limit of " + ticketType.getPurchaseLimit() + ".");
+        }
+        if (ticketType.getEndSale() != null && LocalDateTime.now().isAfter(ticketType.getEndSale())) {
+            throw new IllegalArgumentException("Sale for this ticket type has ended.");
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .userId(request.getUserId())
+                .userEmail(userEmail)
+                .eventId(request.getEventId())
+                .ticketTypeId(request.getTicketTypeId())
+                .quantity(request.getQuantity())
+                .status(WaitlistEntry.Status.WAITING)
+                .build());
+        return toDto(entry);
+    }
+
+    public List<WaitlistEntryDto> getEntriesForUser(UUID userId) {
+        return waitlistEntryRepository.findByUserIdOrderByIdDesc(userId).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public WaitlistEntry getEntry(Long entryId) {
+        return waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+    }
+
+    /**
+     * Leaves the queue. A pending offer is expired immediately and its hold passed on by the
+     * next recycle run.
+     */
+    @Transactional
+    public void leave(Long entryId) {
+        WaitlistEntry entry = getEntry(entryId);
+        if (entry.getStatus() == WaitlistEntry.Status.WAITING) {
+            entry.setStatus(WaitlistEntry.Status.CANCELLED);
+        } else if (entry.getStatus() == WaitlistEntry.Status.OFFERED) {
+            entry.setOfferExpiresAt(LocalDateTime.now());
+        } else {
+            throw new RuntimeException("Cannot leave waitlist with status: " + entry.getStatus());
+        }
+        waitlistEntryRepository.save(entry);
+    }
+
+    /**
+     * Offers released quota to the waitlists of the affected ticket types, in queue order.
+     * Allocation is strict FIFO: a head entry asking for more than what is left blocks the
+     * entries behind it.
+     *
+     * @return quantities per ticket type that nobody was waiting for and should go back to event_service
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> allocateReleasedInventory(Map<Long, Integer> releasedQuantities) {
+        Map<Long, Integer> remaining = new HashMap<>();
+        List<WaitlistOfferEvent> offers = new ArrayList<>();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(holdMinutes);
+
+        for (Map.Entry<Long, Integer> released : releasedQuantities.entrySet()) {
+            int available = released.getValue() != null ? released.getValue() : 0;
+            if (available > 0) {
+                // Every entry needs at least one ticket, so no more than `available` can be served
+                List<WaitlistEntry> head = waitlistEntryRepository.findQueueHeadForUpdate(
+                        released.getKey(), WaitlistEntry.Status.WAITING, PageRequest.of(0, available));
+                for (WaitlistEntry entry : head) {
+                    if (entry.getQuantity() > available) {
+                        break;
+                    }
+                    offers.add(offer(entry, expiresAt));
+                    available -= entry.getQuantity();
+                }
+            }
+            if (available > 0) {
+                remaining.put(released.getKey(), available);
+            }
+        }
+
+        if (!offers.isEmpty()) {
+            meterRegistry.counter("waitlist.offers").increment(offers.size());
+            // Notify only once the holds are committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offers.forEach(offer -> {
+                        try {
+                            kafkaProducerService.sendWaitlistOfferEvent(offer);
+                        } catch (Exception e) {
+                            log.error("Failed to send waitlist offer for entry {}", offer.getWaitlistEntryId(), e);
+                        }
+                    });
+                }
+            });
+        }
+        return remaining;
+    }
+
+    /**
+     * Settles one batch of offers whose hold time has passed: claimed holds are closed,
+     * unclaimed ones are expired and their quota is offered to the next waiters or returned.
+     *
+     * @return number of offers settled
+     */
+    @Transactional
+    public int recycleExpiredOffers(SchedulerPartition partition, int batchSize) {
+        List<WaitlistEntry> expired = waitlistEntryRepository.findExpiredOffersForUpdate(WaitlistEntry.Status.OFFERED,
+                LocalDateTime.now(), partition.getCount(), partition.getIndex(), PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // Lock the holds too, so a checkout cannot confirm one while it is being taken back
+        List<Long> reservationIds = expired.stream()
+                .map(WaitlistEntry::getReservationId)
+                .collect(Collectors.toList());
+        Map<Long, Reservation> holds = reservationRepository.findAllByIdInForUpdate(reservationIds).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+
+        Map<Long, Integer> returned = new HashMap<>();
+        Map<String, Map<Long, Integer>> returnedByHold = new LinkedHashMap<>();
+        List<Long> holdsToExpire = new ArrayList<>();
+        for (WaitlistEntry entry : expired) {
+            Reservation hold = holds.get(entry.getReservationId());
+            if (hold != null && hold.getStatus() == Reservation.ReservationStatus.CONFIRMED) {
+                entry.setStatus(WaitlistEntry.Status.CLAIMED);
+                continue;
+            }
+            entry.setStatus(WaitlistEntry.Status.EXPIRED);
+            if (hold != null && hold.getStatus() == Reservation.ReservationStatus.PENDING) {
+                holdsToExpire.add(hold.getId());
+            }
+            int held = hold != null && hold.getHeldQuantity() != null ? hold.getHeldQuantity() : entry.getQuantity();
+            returned.merge(entry.getTicketTypeId(), held, Integer::sum);
+            returnedByHold.computeIfAbsent("waitlist-hold:" + entry.getReservationId(), k -> new HashMap<>())
+                    .merge(entry.getTicketTypeId(), held, Integer::sum);
+        }
+        waitlistEntryRepository.saveAll(expired);
+        if (!holdsToExpire.isEmpty()) {
+            reservationRepository.bulkUpdateStatus(holdsToExpire, Reservation.ReservationStatus.PENDING,
+                    Reservation.ReservationStatus.EXPIRED);
+        }
+        // Expired holds and the offers made from them both move held quantities
+        availabilityEventPublisher.publishAfterCommit(expired.stream().map(WaitlistEntry::getEventId).collect(Collectors.toList()));
+
+        if (!returned.isEmpty()) {
+            Map<Long, Integer> leftover = allocateReleasedInventory(returned);
+            if (!leftover.isEmpty()) {
+                // Keyed per hold, so a retry after a failed commit does not return the quota twice
+                List<InventoryReleaseRequest.Release> releases = new ArrayList<>();
+                InventoryReleases.split(returnedByHold, leftover).forEach((key, quantities) ->
+                        releases.add(InventoryReleaseRequest.Release.builder()
+                                .key(key)
+                                .ticketTypeQuantities(quantities)
+                                .build()));
+                eventServiceClient.releaseInventory(InventoryReleaseRequest.builder()
+                        .releases(releases)
+                        .build());
+            }
+        }
+        return expired.size();
+    }
+
+    private WaitlistOfferEvent offer(WaitlistEntry entry, LocalDateTime expiresAt) {
+        Reservation hold = reservationRepository.save(Reservation.builder()
+                .userId(entry.getUserId())
+                .eventId(entry.getEventId())
+                .ticketTypeId(entry.getTicketTypeId())
+                .quantity(entry.getQuantity())
+                .heldQuantity(entry.getQuantity())
+                .expireAt(expiresAt)
+                .status(Reservation.ReservationStatus.PENDING)
+                .build());
+        entry.setStatus(WaitlistEntry.Status.OFFERED);
+        entry.setReservationId(hold.getId());
+        entry.setOfferExpiresAt(expiresAt);
+        waitlistEntryRepository.save(entry);
+
+        return WaitlistOfferEvent.builder()
+                .waitlistEntryId(entry.getId())
+                .userId(entry.getUserId().toString())
+                .userEmail(entry.getUserEmail())
+                .eventId(entry.getEventId())
+                .ticketTypeId(entry.getTicketTypeId())
+                .quantity(entry.getQuantity())
+                .reservationId(hold.getId())
+                .expiresAt(expiresAt.toString())
+                .build();
+    }
+
+    private WaitlistEntryDto toDto(WaitlistEntry entry) {
+        Long position = null;
+        if (entry.getStatus() == WaitlistEntry.Status.WAITING) {
+            position = waitlistEntryRepository.countByTicketTypeIdAndStatusAndIdLessThan(
+                    entry.getTicketTypeId(), WaitlistEntry.Status.WAITING, entry.getId()) + 1;
+        }
+        return WaitlistEntryDto.fromEntity(entry, position);
+    }
+}
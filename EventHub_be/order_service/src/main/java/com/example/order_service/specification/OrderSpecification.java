@@ -0,0 +1,80 @@
+package com.example.order_service.specification;
+
+import com.example.order_service.model.Order;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filters for the staff order search. Every predicate is written so MySQL can use an index:
+ * email is a prefix match on the lower-cased copy, and an order id prefix becomes a handful
+ * of primary key ranges instead of a string match on the id.
+ */
+public class OrderSpecification {
+    private static final int MAX_ID_DIGITS = 12;
+
+    public static Specification<Order> withFilters(String email, String orderIdPrefix, String discountCode,
+                                                   Order.OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (email != null && !email.isBlank()) {
+                String pattern = escapeLike(email.trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(root.get("customerEmail"), pattern, '\\'));
+            }
+
+            if (orderIdPrefix != null && !orderIdPrefix.isBlank()) {
+                List<Predicate> ranges = new ArrayList<>();
+                for (long[] range : idRanges(orderIdPrefix.trim())) {
+                    ranges.add(cb.between(root.get("id"), range[0], range[1]));
+                }
+                predicates.add(cb.or(ranges.toArray(new Predicate[0])));
+            }
+
+            if (discountCode != null && !discountCode.isBlank()) {
+                predicates.add(cb.equal(root.get("discountCode"), discountCode.trim()));
+            }
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+            }
+
+            if (to != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), to));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Ids whose decimal form starts with {@code prefix}: for "12" that is 12, 120-129,
+     * 1200-1299 and so on up to {@value #MAX_ID_DIGITS} digits.
+     */
+    static List<long[]> idRanges(String prefix) {
+        if (!prefix.matches("[1-9][0-9]*") || prefix.length() > MAX_ID_DIGITS) {
+            throw new IllegalArgumentException("Order id prefix must be a positive number of at most " + MAX_ID_DIGITS + " digits.");
+        }
+        List<long[]> ranges = new ArrayList<>();
+        long start = Long.parseLong(prefix);
+        long end = start;
+        for (int digits = prefix.length(); digits <= MAX_ID_DIGITS; digits++) {
+            ranges.add(new long[]{start, end});
+            start = start * 10;
+            end = end * 10 + 9;
+        }
+        return ranges;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
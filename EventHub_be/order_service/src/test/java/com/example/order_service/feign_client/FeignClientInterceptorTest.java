@@ -0,0 +1,51 @@
+package com.example.order_service.feign_client;
+
+import com.example.order_service.config.UserPrincipal;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class FeignClientInterceptorTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void apply_WithoutUser_SendsServiceTokenOnly() {
+        // Scheduled jobs run without a security context, e.g. the customer email backfill
+        SecurityContextHolder.clearContext();
+        FeignClientInterceptor interceptor = new FeignClientInterceptor();
+        ReflectionTestUtils.setField(interceptor, "internalApiToken", "test-token");
+        RequestTemplate template = new RequestTemplate();
+
+        interceptor.apply(template);
+
+        assertEquals(List.of("test-token"), List.copyOf(template.headers().get("X-Internal-Token")));
+        assertFalse(template.headers().containsKey("Authorization"));
+    }
+
+    @Test
+    void apply_WithUser_SendsUserTokenAndServiceToken() {
+        UserPrincipal user = new UserPrincipal(UUID.randomUUID(), "buyer@example.com", "user-jwt");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        FeignClientInterceptor interceptor = new FeignClientInterceptor();
+        ReflectionTestUtils.setField(interceptor, "internalApiToken", "test-token");
+        RequestTemplate template = new RequestTemplate();
+
+        interceptor.apply(template);
+
+        assertEquals(List.of("test-token"), List.copyOf(template.headers().get("X-Internal-Token")));
+        assertEquals(List.of("Bearer user-jwt"), List.copyOf(template.headers().get("Authorization")));
+    }
+}
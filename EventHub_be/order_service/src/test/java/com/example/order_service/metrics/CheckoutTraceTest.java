@@ -0,0 +1,44 @@
+package com.example.order_service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CheckoutTraceTest {
+
+    @Test
+    void finish_Success_RecordsEachStepAndTotal() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CheckoutTrace trace = new CheckoutTrace(registry, "3");
+
+        trace.step("reservations");
+        trace.step("discount");
+        trace.finish(true);
+
+        assertEquals(1, registry.get(CheckoutTrace.STEP_TIMER).tags("step", "reservations", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(CheckoutTrace.STEP_TIMER).tags("step", "discount", "event_bucket", "3").timer().count());
+        assertEquals(1, registry.get(CheckoutTrace.TOTAL_TIMER).tags("outcome", "success").timer().count());
+
+        String serverTiming = trace.toServerTiming();
+        assertTrue(serverTiming.startsWith("reservations;dur="));
+        assertTrue(serverTiming.contains(", discount;dur="));
+        assertTrue(serverTiming.contains(", total;dur="));
+    }
+
+    @Test
+    void finish_Failure_TagsOpenStepAsError() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CheckoutTrace trace = new CheckoutTrace(registry, "none");
+
+        trace.step("reservations");
+        trace.step("purchase_limits");
+        trace.finish(false);
+        trace.finish(true); // already finished, ignored
+
+        assertEquals(1, registry.get(CheckoutTrace.STEP_TIMER).tags("step", "reservations", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(CheckoutTrace.STEP_TIMER).tags("step", "purchase_limits", "outcome", "error").timer().count());
+        assertEquals(1, registry.get(CheckoutTrace.TOTAL_TIMER).tags("outcome", "error").timer().count());
+    }
+}
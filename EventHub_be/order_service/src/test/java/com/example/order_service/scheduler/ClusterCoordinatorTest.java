@@ -0,0 +1,67 @@
+package com.example.order_service.scheduler;
+
+import com.example.order_service.model.SchedulerInstance;
+import com.example.order_service.repository.SchedulerInstanceRepository;
+import com.example.order_service.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClusterCoordinatorTest {
+
+    @Mock
+    private SchedulerInstanceRepository instanceRepository;
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    private ClusterCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new ClusterCoordinator(instanceRepository, leaseRepository, "node");
+    }
+
+    @Test
+    void heartbeat_AssignsPartitionFromSortedLiveInstances() {
+        String self = coordinator.getInstanceId();
+        when(instanceRepository.findByHeartbeatAtAfterOrderByInstanceIdAsc(any())).thenReturn(List.of(
+                SchedulerInstance.builder().instanceId("a-other").build(),
+                SchedulerInstance.builder().instanceId(self).build(),
+                SchedulerInstance.builder().instanceId("z-other").build()));
+
+        coordinator.heartbeat();
+
+        SchedulerPartition partition = coordinator.currentPartition();
+        assertEquals(1, partition.getIndex());
+        assertEquals(3, partition.getCount());
+        assertTrue(partition.owns(4L));
+        assertFalse(partition.owns(5L));
+    }
+
+    @Test
+    void currentPartition_InactiveBeforeFirstHeartbeat() {
+        assertFalse(coordinator.currentPartition().isActive());
+    }
+
+    @Test
+    void tryAcquireLease_HeldByAnotherInstance() {
+        when(leaseRepository.tryAcquire(eq("job"), anyString(), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById("job")).thenReturn(true);
+
+        assertFalse(coordinator.tryAcquireLease("job", Duration.ofSeconds(30)));
+        verify(leaseRepository, never()).saveAndFlush(any());
+    }
+}
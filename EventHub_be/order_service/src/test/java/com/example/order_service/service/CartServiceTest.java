@@ -0,0 +1,107 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.CartSnapshotResponse;
+import com.example.order_service.dto.DiscountDto;
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CartServiceTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private EventCatalogService eventCatalogService;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @Spy
+    private PricingService pricingService = new PricingService();
+
+    @InjectMocks
+    private CartService cartService;
+
+    private final UUID userId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private LocalDateTime firstExpiry;
+
+    @BeforeEach
+    void setUp() {
+        firstExpiry = LocalDateTime.now().plusMinutes(5);
+        when(reservationService.getCartItemsForUser(userId)).thenReturn(List.of(
+                Reservation.builder().id(1L).eventId(10L).ticketTypeId(100L).quantity(2)
+                        .expireAt(firstExpiry.plusMinutes(5)).build(),
+                Reservation.builder().id(2L).eventId(10L).ticketTypeId(101L).seatId(7L).quantity(1)
+                        .expireAt(firstExpiry).build()));
+        when(eventCatalogService.getTicketTypes(any())).thenReturn(Map.of(
+                100L, TicketTypeDto.builder().id(100L).eventId(10L).name("Standard").price(new BigDecimal("100000")).build(),
+                101L, TicketTypeDto.builder().id(101L).eventId(10L).name("VIP").price(new BigDecimal("50000.50")).build()));
+        when(eventCatalogService.getEvents(any())).thenReturn(Map.of(
+                10L, EventDto.builder().id(10L).name("Concert").build()));
+    }
+
+    @Test
+    void getCartSnapshot_PricesLinesFromCatalog() {
+        CartSnapshotResponse snapshot = cartService.getCartSnapshot(userId, null, null);
+
+        assertEquals(2, snapshot.getLines().size());
+        CartSnapshotResponse.CartLine line = snapshot.getLines().get(0);
+        assertEquals("Concert", line.getEventName());
+        assertEquals("Standard", line.getTicketTypeName());
+        assertEquals(0, new BigDecimal("200000").compareTo(line.getLineTotal()));
+        assertEquals(0, new BigDecimal("250000.50").compareTo(snapshot.getSubtotal()));
+        assertEquals(0, snapshot.getSubtotal().compareTo(snapshot.getTotal()));
+        assertEquals(firstExpiry, snapshot.getExpiresAt());
+        assertNull(snapshot.getDiscount());
+        verifyNoInteractions(eventServiceClient);
+    }
+
+    @Test
+    void getCartSnapshot_ValidDiscount_ReducesTotal() {
+        when(eventServiceClient.validateDiscountCode(10L, "SALE10"))
+                .thenReturn(Optional.of(DiscountDto.builder().code("SALE10").eventId(10L).discountPercent(10).build()));
+
+        CartSnapshotResponse snapshot = cartService.getCartSnapshot(userId, null, "SALE10");
+
+        assertTrue(snapshot.getDiscount().isValid());
+        assertEquals(10L, snapshot.getDiscount().getEventId());
+        // 10% of 250000.50 is 25000.05 once the discounted total is rounded to cents
+        assertEquals(0, new BigDecimal("25000.05").compareTo(snapshot.getDiscount().getDiscountAmount()));
+        assertEquals(0, new BigDecimal("225000.45").compareTo(snapshot.getTotal()));
+    }
+
+    @Test
+    void getCartSnapshot_UnknownDiscount_KeepsSubtotal() {
+        when(eventServiceClient.validateDiscountCode(10L, "NOPE")).thenReturn(Optional.empty());
+
+        CartSnapshotResponse snapshot = cartService.getCartSnapshot(userId, null, "NOPE");
+
+        assertFalse(snapshot.getDiscount().isValid());
+        assertEquals(0, BigDecimal.ZERO.compareTo(snapshot.getDiscount().getDiscountAmount()));
+        assertEquals(0, snapshot.getSubtotal().compareTo(snapshot.getTotal()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventCatalogServiceTest {
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @InjectMocks
+    private EventCatalogService eventCatalogService;
+
+    private static TicketTypeDto ticketType(Long id) {
+        return TicketTypeDto.builder().id(id).eventId(10L).price(BigDecimal.TEN).build();
+    }
+
+    @Test
+    void getTicketTypes_WithinTtl_ServedFromCache() {
+        ReflectionTestUtils.setField(eventCatalogService, "ttlSeconds", 30L);
+        when(eventServiceClient.getTicketTypesByIds(any())).thenReturn(List.of(ticketType(1L)));
+
+        eventCatalogService.getTicketTypes(List.of(1L));
+        Map<Long, TicketTypeDto> cached = eventCatalogService.getTicketTypes(List.of(1L));
+
+        assertEquals(Set.of(1L), cached.keySet());
+        verify(eventServiceClient, times(1)).getTicketTypesByIds(any());
+    }
+
+    @Test
+    void getTicketTypes_AfterTtl_LoadsAgain() {
+        // A zero ttl expires entries as soon as they are written
+        ReflectionTestUtils.setField(eventCatalogService, "ttlSeconds", 0L);
+        when(eventServiceClient.getTicketTypesByIds(any())).thenReturn(List.of(ticketType(1L)));
+
+        eventCatalogService.getTicketTypes(List.of(1L));
+        Map<Long, TicketTypeDto> reloaded = eventCatalogService.getTicketTypes(List.of(1L));
+
+        assertEquals(Set.of(1L), reloaded.keySet());
+        verify(eventServiceClient, times(2)).getTicketTypesByIds(Set.of(1L));
+    }
+
+    @Test
+    void getTicketTypes_OnlyMissesAreLoaded() {
+        ReflectionTestUtils.setField(eventCatalogService, "ttlSeconds", 30L);
+        when(eventServiceClient.getTicketTypesByIds(Set.of(1L))).thenReturn(List.of(ticketType(1L)));
+        when(eventServiceClient.getTicketTypesByIds(Set.of(2L))).thenReturn(List.of(ticketType(2L)));
+
+        eventCatalogService.getTicketTypes(List.of(1L));
+        Map<Long, TicketTypeDto> result = eventCatalogService.getTicketTypes(List.of(1L, 2L));
+
+        assertEquals(Set.of(1L, 2L), result.keySet());
+        verify(eventServiceClient).getTicketTypesByIds(Set.of(2L));
+    }
+}
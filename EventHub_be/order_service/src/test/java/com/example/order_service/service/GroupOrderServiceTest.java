@@ -0,0 +1,175 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.GroupOrderRequest;
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.GroupOrderJob;
+import com.example.order_service.model.Order;
+import com.example.order_service.repository.GroupOrderJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupOrderServiceTest {
+
+    @Mock
+    private GroupOrderJobRepository groupOrderJobRepository;
+
+    @Mock
+    private GroupOrderWriter groupOrderWriter;
+
+    @Mock
+    private EventCatalogService eventCatalogService;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @InjectMocks
+    private GroupOrderService groupOrderService;
+
+    private GroupOrderJob job;
+    private GroupOrderRequest request;
+    private Map<Long, TicketTypeDto> ticketTypes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(groupOrderService, "inventoryChunkSize", 2);
+        ReflectionTestUtils.setField(groupOrderService, "itemBatchSize", 100);
+
+        job = GroupOrderJob.builder().id(7L).status(GroupOrderJob.Status.QUEUED).totalTickets(5).totalItems(2).build();
+        request = GroupOrderRequest.builder()
+                .userId(UUID.randomUUID())
+                .eventId(10L)
+                .lines(List.of(
+                        GroupOrderRequest.GroupOrderLine.builder().ticketTypeId(1L).quantity(3).build(),
+                        GroupOrderRequest.GroupOrderLine.builder().ticketTypeId(1L).quantity(2).build()))
+                .build();
+        ticketTypes = Map.of(1L, TicketTypeDto.builder().id(1L).eventId(10L).price(BigDecimal.TEN).build());
+
+        lenient().when(groupOrderJobRepository.findById(7L)).thenReturn(Optional.of(job));
+        lenient().when(groupOrderJobRepository.save(any(GroupOrderJob.class))).thenAnswer(returnsFirstArg());
+    }
+
+    @Test
+    void process_Success_ReservesInChunks() {
+        when(groupOrderJobRepository.updateStatus(eq(7L), eq(GroupOrderJob.Status.QUEUED),
+                eq(GroupOrderJob.Status.RESERVING), any())).thenReturn(1);
+        when(groupOrderWriter.writeOrder(7L, request, ticketTypes, 100)).thenReturn(Order.builder().id(42L).build());
+
+        groupOrderService.process(7L, request, ticketTypes);
+
+        verify(eventServiceClient, times(2)).decrementTicketQuota(1L, 2);
+        verify(eventServiceClient).decrementTicketQuota(1L, 1);
+        verify(eventServiceClient, never()).releaseInventory(any());
+        verify(groupOrderJobRepository, never()).failIfIn(any(), any(), any(), any(), any());
+        assertEquals(GroupOrderJob.Status.WRITING, job.getStatus());
+        assertEquals(5, job.getTicketsReserved());
+        assertEquals(Map.of(1L, 5), job.getReservedQuantities());
+    }
+
+    @Test
+    void process_Fail_ReleasesReservedQuota() {
+        when(groupOrderJobRepository.updateStatus(eq(7L), eq(GroupOrderJob.Status.QUEUED),
+                eq(GroupOrderJob.Status.RESERVING), any())).thenReturn(1);
+        doNothing().doThrow(new RuntimeException("Not enough tickets available for ticket type 1"))
+                .when(eventServiceClient).decrementTicketQuota(eq(1L), anyInt());
+
+        groupOrderService.process(7L, request, ticketTypes);
+
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient).releaseInventory(captor.capture());
+        InventoryReleaseRequest.Release release = captor.getValue().getReleases().get(0);
+        assertEquals("group-order-job:7:1:0", release.getKey());
+        assertEquals(Map.of(1L, 2), release.getTicketTypeQuantities());
+        verify(groupOrderWriter, never()).writeOrder(any(), any(), any(), anyInt());
+        verify(groupOrderJobRepository).failIfIn(eq(7L), any(), eq(GroupOrderJob.Status.FAILED),
+                eq("Not enough tickets available for ticket type 1"), any());
+    }
+
+    @Test
+    void process_TakenOverByRecovery_StopsAndReleasesByChunk() {
+        when(groupOrderJobRepository.updateStatus(eq(7L), eq(GroupOrderJob.Status.QUEUED),
+                eq(GroupOrderJob.Status.RESERVING), any())).thenReturn(1);
+        // The recovery failed the job after the first chunk, so the second save hits a newer version
+        when(groupOrderJobRepository.save(any(GroupOrderJob.class)))
+                .thenAnswer(returnsFirstArg())
+                .thenThrow(new ObjectOptimisticLockingFailureException(GroupOrderJob.class, 7L));
+
+        groupOrderService.process(7L, request, ticketTypes);
+
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient).releaseInventory(captor.capture());
+        // The first chunk was already released by the recovery and is skipped by its key
+        assertEquals(List.of("group-order-job:7:1:0", "group-order-job:7:1:2"), captor.getValue().getReleases().stream()
+                .map(InventoryReleaseRequest.Release::getKey).toList());
+        verify(eventServiceClient, times(2)).decrementTicketQuota(1L, 2);
+        verify(groupOrderWriter, never()).writeOrder(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void process_AlreadyAbandoned_DoesNothing() {
+        when(groupOrderJobRepository.updateStatus(eq(7L), eq(GroupOrderJob.Status.QUEUED),
+                eq(GroupOrderJob.Status.RESERVING), any())).thenReturn(0);
+
+        groupOrderService.process(7L, request, ticketTypes);
+
+        verify(eventServiceClient, never()).decrementTicketQuota(any(), anyInt());
+        verify(groupOrderWriter, never()).writeOrder(any(), any(), any(), anyInt());
+        verify(groupOrderJobRepository, never()).save(any());
+    }
+
+    @Test
+    void recoverJob_ReleasesReservedQuota() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(15);
+        job.setStatus(GroupOrderJob.Status.RESERVING);
+        job.setTicketsReserved(4);
+        job.getReservedQuantities().put(1L, 4);
+        when(groupOrderJobRepository.failIfAbandoned(eq(7L), any(), eq(cutoff), eq(GroupOrderJob.Status.FAILED),
+                any(), any())).thenReturn(1);
+
+        assertTrue(groupOrderService.recoverJob(job, cutoff));
+
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient).releaseInventory(captor.capture());
+        List<InventoryReleaseRequest.Release> releases = captor.getValue().getReleases();
+        assertEquals(2, releases.size());
+        assertEquals("group-order-job:7:1:2", releases.get(1).getKey());
+        assertEquals(Map.of(1L, 2), releases.get(1).getTicketTypeQuantities());
+    }
+
+    @Test
+    void recoverJob_ProgressedMeanwhile_ReleasesNothing() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(15);
+        job.setStatus(GroupOrderJob.Status.RESERVING);
+        job.getReservedQuantities().put(1L, 4);
+        when(groupOrderJobRepository.failIfAbandoned(eq(7L), any(), eq(cutoff), eq(GroupOrderJob.Status.FAILED),
+                any(), any())).thenReturn(0);
+
+        assertFalse(groupOrderService.recoverJob(job, cutoff));
+
+        verify(eventServiceClient, never()).releaseInventory(any());
+    }
+}
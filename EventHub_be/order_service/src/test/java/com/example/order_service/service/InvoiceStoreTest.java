@@ -0,0 +1,59 @@
+package com.example.order_service.service;
+
+import com.example.order_service.model.OrderInvoice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvoiceStoreTest {
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    void identicalContentIsStoredOnceUnderItsHash() throws Exception {
+        InvoiceStore store = new InvoiceStore(storageDir.toString());
+        byte[] content = "receipt".getBytes(StandardCharsets.UTF_8);
+
+        String hash = store.store(content);
+        assertEquals(hash, store.store(content));
+        assertNotEquals(hash, store.store("invoice".getBytes(StandardCharsets.UTF_8)));
+
+        Path path = store.resolve(hash);
+        assertEquals(storageDir.resolve(hash.substring(0, 2)).resolve(hash + ".pdf"), path);
+        assertArrayEquals(content, Files.readAllBytes(path));
+        try (var files = Files.list(path.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void rendersAndStoresPdf() {
+        InvoiceStore store = new InvoiceStore(storageDir.toString());
+        byte[] pdf = new InvoiceRenderer("").render(InvoiceRenderer.InvoiceData.builder()
+                .kind(OrderInvoice.Kind.INVOICE)
+                .orderId(42L)
+                .sellerName("EventHub Co.")
+                .sellerTaxCode("0101234567")
+                .eventName("Concert")
+                .lines(List.of(InvoiceRenderer.Line.builder()
+                        .description("GA").quantity(2).unitPrice(new BigDecimal("50.00")).build()))
+                .discountCode("SAVE10")
+                .total(new BigDecimal("90.00"))
+                .currency("USD")
+                .build());
+
+        assertTrue(new String(pdf, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        assertTrue(Files.exists(store.resolve(store.store(pdf))));
+    }
+}
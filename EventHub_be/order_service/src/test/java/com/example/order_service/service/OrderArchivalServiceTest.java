@@ -0,0 +1,79 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.EventDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.repository.OrderArchiveRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderArchivalServiceTest {
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @InjectMocks
+    private OrderArchivalService orderArchivalService;
+
+    @Test
+    void archiveBatch_CopiesEverythingBeforeDeleting() {
+        LocalDateTime end = LocalDateTime.now().minusMonths(7);
+        EventDto event = EventDto.builder().id(10L).endTime(end).build();
+        List<Long> ids = List.of(1L, 2L);
+        when(orderArchiveRepository.findIdsByEventId(eq(10L), any())).thenReturn(ids);
+
+        assertEquals(2, orderArchivalService.archiveBatch(event, 500));
+
+        InOrder inOrder = inOrder(orderArchiveRepository);
+        inOrder.verify(orderArchiveRepository).copyOrders(eq(ids), eq(end), any());
+        inOrder.verify(orderArchiveRepository).copyOrderItems(ids);
+        inOrder.verify(orderArchiveRepository).copyPaymentInfo(ids);
+        inOrder.verify(orderArchiveRepository).deleteOrderItems(ids);
+        inOrder.verify(orderArchiveRepository).deletePaymentInfo(ids);
+        inOrder.verify(orderArchiveRepository).deleteOrders(ids);
+    }
+
+    @Test
+    void findArchivableEvents_LooksUpEventsInChunks() {
+        ReflectionTestUtils.setField(orderArchivalService, "eventLookupBatchSize", 2);
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(6);
+        SchedulerPartition partition = new SchedulerPartition(0, 1);
+        when(orderArchiveRepository.findDistinctEventIdsAfter(0L, 1, 0, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(orderArchiveRepository.findDistinctEventIdsAfter(2L, 1, 0, PageRequest.of(0, 2))).thenReturn(List.of(3L));
+        when(eventServiceClient.getEventsByIds(List.of(1L, 2L))).thenReturn(List.of(
+                EventDto.builder().id(1L).endTime(cutoff.minusDays(1)).build(),
+                EventDto.builder().id(2L).endTime(cutoff.plusDays(1)).build()));
+        when(eventServiceClient.getEventsByIds(List.of(3L))).thenReturn(List.of(
+                EventDto.builder().id(3L).startTime(cutoff.minusDays(30)).build()));
+
+        List<EventDto> events = orderArchivalService.findArchivableEvents(partition, cutoff);
+
+        assertEquals(List.of(1L, 3L), events.stream().map(EventDto::getId).toList());
+    }
+
+    @Test
+    void archiveBatch_NothingLeft() {
+        when(orderArchiveRepository.findIdsByEventId(eq(10L), any())).thenReturn(List.of());
+
+        assertEquals(0, orderArchivalService.archiveBatch(EventDto.builder().id(10L).build(), 500));
+        verify(orderArchiveRepository, never()).deleteOrders(any());
+    }
+}
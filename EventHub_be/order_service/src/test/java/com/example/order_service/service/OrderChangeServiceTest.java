@@ -0,0 +1,92 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderChangeFeedResponse;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.repository.OrderChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderChangeServiceTest {
+
+    @Mock
+    private OrderChangeRepository orderChangeRepository;
+
+    @Mock
+    private AvailabilityEventPublisher availabilityEventPublisher;
+
+    @InjectMocks
+    private OrderChangeService orderChangeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderChangeService, "settleSeconds", 120L);
+    }
+
+    private List<OrderChange> changes(long fromId, int count) {
+        List<OrderChange> rows = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            rows.add(OrderChange.builder()
+                    .id(id)
+                    .orderId(id)
+                    .changeType(OrderChange.ChangeType.ORDER_CREATED)
+                    .orderStatus(Order.OrderStatus.PENDING)
+                    .createdAt(LocalDateTime.now().minusMinutes(10))
+                    .build());
+        }
+        return rows;
+    }
+
+    @Test
+    void getChangesAfter_ReturnsPageAndNextCursor() {
+        when(orderChangeRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 3)))
+                .thenReturn(changes(11L, 3));
+
+        OrderChangeFeedResponse response = orderChangeService.getChangesAfter(10L, 2);
+
+        assertEquals(2, response.getChanges().size());
+        assertEquals(12L, response.getNextCursor());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void getChangesAfter_StopsAtUnsettledChange() {
+        List<OrderChange> rows = changes(11L, 3);
+        // Its transaction may still be open, so a lower id could yet commit behind it
+        rows.get(1).setCreatedAt(LocalDateTime.now());
+        when(orderChangeRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 101)))
+                .thenReturn(rows);
+
+        OrderChangeFeedResponse response = orderChangeService.getChangesAfter(10L, null);
+
+        assertEquals(1, response.getChanges().size());
+        assertEquals(11L, response.getNextCursor());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void getChangesAfter_EmptyFeedKeepsCursor() {
+        when(orderChangeRepository.findByIdGreaterThanOrderByIdAsc(42L, PageRequest.of(0, 101)))
+                .thenReturn(List.of());
+
+        OrderChangeFeedResponse response = orderChangeService.getChangesAfter(42L, null);
+
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(42L, response.getNextCursor());
+        assertFalse(response.isHasMore());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.order_service.service;
+
+import com.example.order_service.feign_client.AuthServiceClient;
+import com.example.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderSearchServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    @InjectMocks
+    private OrderSearchService orderSearchService;
+
+    @Test
+    void backfillCustomerEmails_FillsOrdersOfEachUser() {
+        UUID known = UUID.randomUUID();
+        UUID withoutEmail = UUID.randomUUID();
+        when(orderRepository.findUserIdsMissingCustomerEmail(any())).thenReturn(List.of(known, withoutEmail));
+        when(authServiceClient.getUserEmailById(known)).thenReturn(" Buyer@Example.com ");
+        when(authServiceClient.getUserEmailById(withoutEmail)).thenReturn(null);
+
+        assertEquals(2, orderSearchService.backfillCustomerEmails(50));
+
+        verify(orderRepository).fillCustomerEmail(known, "buyer@example.com");
+        // Marked as looked up, so the user is not fetched again on the next run
+        verify(orderRepository).fillCustomerEmail(withoutEmail, "");
+    }
+
+    @Test
+    void backfillCustomerEmails_NothingLeft() {
+        when(orderRepository.findUserIdsMissingCustomerEmail(any())).thenReturn(List.of());
+
+        assertEquals(0, orderSearchService.backfillCustomerEmails(50));
+        verifyNoInteractions(authServiceClient);
+        verify(orderRepository, never()).fillCustomerEmail(any(), any());
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.order_service.service;
 
 import com.example.order_service.dto.EventDto;
+import com.example.order_service.dto.OrderResponse;
 import com.example.order_service.dto.RefundRequestDto;
 import com.example.order_service.feign_client.EventServiceClient;
 import com.example.order_service.feign_client.PaymentServiceClient;
+import com.example.order_service.model.ArchivedOrder;
+import com.example.order_service.model.ArchivedOrderItem;
 import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
 import com.example.order_service.model.PaymentInfo;
+import com.example.order_service.repository.ArchivedOrderItemRepository;
+import com.example.order_service.repository.ArchivedOrderRepository;
 import com.example.order_service.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +43,18 @@ public class OrderServiceTest {
 
     @Mock
     private PaymentServiceClient paymentServiceClient;
+
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private OrderStateMachine orderStateMachine;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
     
     @InjectMocks
     private OrderService orderService;
@@ -76,8 +95,8 @@ public class OrderServiceTest {
         
         orderService.cancelOrder(1L);
 
+        verify(orderStateMachine).transition(order, Order.OrderStatus.REFUNDED, OrderChange.ChangeType.ORDER_STATUS_CHANGED);
         verify(paymentServiceClient, times(1)).processRefund(any(RefundRequestDto.class));
-        assertEquals(Order.OrderStatus.REFUNDED, order.getStatus());
     }
 
     @Test
@@ -88,6 +107,7 @@ public class OrderServiceTest {
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.cancelOrder(1L));
         assertEquals("Refunds are not enabled for this event.", exception.getMessage());
+        verify(orderStateMachine, never()).transition(any(), any(), any());
         verify(paymentServiceClient, never()).processRefund(any());
     }
 
@@ -102,4 +122,67 @@ public class OrderServiceTest {
         assert(exception.getMessage().contains("Refund deadline has passed"));
         verify(paymentServiceClient, never()).processRefund(any());
     }
+
+    @Test
+    void getOrder_Archived_ReadsArchiveTables() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findById(1L)).thenReturn(Optional.of(archivedOrder()));
+        when(archivedOrderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(
+                ArchivedOrderItem.builder().id(5L).orderId(1L).ticketTypeId(100L).quantity(2).price(BigDecimal.TEN).build()));
+
+        OrderResponse response = orderService.getOrder(1L);
+
+        assertEquals(1L, response.getId());
+        assertEquals("PAID", response.getStatus());
+        assertEquals(1, response.getItems().size());
+        assertEquals(100L, response.getItems().get(0).getTicketTypeId());
+    }
+
+    @Test
+    void getOrdersForEvent_IncludesArchivedOrders() {
+        order.setId(2L);
+        when(orderRepository.findByEventIdAndStatus(10L, Order.OrderStatus.PAID)).thenReturn(List.of(order));
+        when(archivedOrderRepository.findByEventIdAndStatus(10L, Order.OrderStatus.PAID)).thenReturn(List.of(archivedOrder()));
+        when(archivedOrderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(
+                ArchivedOrderItem.builder().id(5L).orderId(1L).ticketTypeId(100L).quantity(2).price(BigDecimal.TEN).build()));
+
+        List<OrderResponse> responses = orderService.getOrdersForEvent(10L, Order.OrderStatus.PAID);
+
+        assertEquals(List.of(2L, 1L), responses.stream().map(OrderResponse::getId).toList());
+        assertEquals(1, responses.get(1).getItems().size());
+        verify(orderRepository, never()).findByEventId(any());
+        verify(archivedOrderRepository, never()).findByEventId(any());
+    }
+
+    @Test
+    void getOrderEntity_Archived_KeepsOwnerForSecurityChecks() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findById(1L)).thenReturn(Optional.of(archivedOrder()));
+
+        Order archived = orderService.getOrderEntity(1L);
+
+        assertEquals(order.getUserId(), archived.getUserId());
+        assertEquals(10L, archived.getEventId());
+        assertEquals("buyer@example.com", archived.getCustomerEmail());
+    }
+
+    @Test
+    void cancelOrder_Archived_Conflict() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(1L));
+        verify(paymentServiceClient, never()).processRefund(any());
+    }
+
+    private ArchivedOrder archivedOrder() {
+        return ArchivedOrder.builder()
+                .id(1L)
+                .userId(order.getUserId())
+                .eventId(10L)
+                .customerEmail("buyer@example.com")
+                .totalAmount(BigDecimal.valueOf(100))
+                .status(Order.OrderStatus.PAID)
+                .build();
+    }
 }
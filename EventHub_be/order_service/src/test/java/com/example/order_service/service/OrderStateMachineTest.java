@@ -0,0 +1,91 @@
+package com.example.order_service.service;
+
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderChange;
+import com.example.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStateMachineTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private OrderStateMachine orderStateMachine;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.builder()
+                .id(1L)
+                .eventId(10L)
+                .status(Order.OrderStatus.PENDING)
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void transition_Success_UpdatesOnLoadedVersion() {
+        when(orderRepository.transitionStatus(eq(1L), eq(Order.OrderStatus.PENDING), eq(3L), eq(Order.OrderStatus.PAID), any()))
+                .thenReturn(1);
+
+        assertTrue(orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED));
+
+        verify(entityManager).refresh(order);
+        verify(orderChangeService).recordOrderChange(order, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED);
+    }
+
+    @Test
+    void transition_Fail_NotAllowed() {
+        order.setStatus(Order.OrderStatus.CANCELLED);
+
+        assertThrows(IllegalStateException.class,
+                () -> orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED));
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void transition_Fail_ConcurrentModification() {
+        when(orderRepository.transitionStatus(any(), any(), any(), any(), any())).thenReturn(0);
+        // The concurrent request cancelled the order
+        doAnswer(invocation -> {
+            order.setStatus(Order.OrderStatus.CANCELLED);
+            order.setVersion(4L);
+            return null;
+        }).when(entityManager).refresh(order);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED));
+        verify(orderChangeService, never()).recordOrderChange(any(), any());
+    }
+
+    @Test
+    void transition_AlreadyApplied_IsNoOp() {
+        order.setStatus(Order.OrderStatus.PAID);
+
+        assertFalse(orderStateMachine.transition(order, Order.OrderStatus.PAID, OrderChange.ChangeType.PAYMENT_STATUS_CHANGED));
+        verifyNoInteractions(orderRepository, orderChangeService);
+    }
+}
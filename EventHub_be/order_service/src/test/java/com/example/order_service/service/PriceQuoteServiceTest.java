@@ -0,0 +1,133 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderRequest;
+import com.example.order_service.dto.PriceQuote;
+import com.example.order_service.dto.PriceQuoteResponse;
+import com.example.order_service.dto.TicketTypeDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.ConsumedQuote;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.repository.ConsumedQuoteRepository;
+import com.example.order_service.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PriceQuoteServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private EventCatalogService eventCatalogService;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @Mock
+    private ConsumedQuoteRepository consumedQuoteRepository;
+
+    private PriceQuoteService priceQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        priceQuoteService = new PriceQuoteService(reservationRepository, eventCatalogService, eventServiceClient,
+                new PricingService(), new ObjectMapper(), consumedQuoteRepository);
+        ReflectionTestUtils.setField(priceQuoteService, "secret", "test-secret");
+        ReflectionTestUtils.setField(priceQuoteService, "ttlSeconds", 120L);
+    }
+
+    @Test
+    void quoteRoundTripPricesOrderItems() {
+        OrderRequest request = quotedRequest();
+        PriceQuoteResponse response = priceQuoteService.createQuote(request);
+        assertEquals(new BigDecimal("150.00"), response.getTotal());
+
+        request.setQuoteToken(response.getQuoteToken());
+        PriceQuote quote = priceQuoteService.verify(request.getQuoteToken(), request);
+        OrderItem item = OrderItem.builder().ticketTypeId(5L).quantity(3).price(BigDecimal.ZERO).build();
+
+        assertEquals(new BigDecimal("150.00"), priceQuoteService.applyTo(quote, List.of(item)));
+        assertEquals(new BigDecimal("50.00"), item.getPrice());
+    }
+
+    @Test
+    void usedQuoteIsRejected() {
+        OrderRequest request = quotedRequest();
+        PriceQuote quote = priceQuoteService.verify(priceQuoteService.createQuote(request).getQuoteToken(), request);
+        when(consumedQuoteRepository.existsById(quote.getNonce())).thenReturn(false, true);
+
+        priceQuoteService.consume(quote);
+        verify(consumedQuoteRepository).saveAndFlush(any(ConsumedQuote.class));
+
+        assertThrows(IllegalStateException.class, () -> priceQuoteService.consume(quote));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        OrderRequest request = quotedRequest();
+        String token = priceQuoteService.createQuote(request).getQuoteToken();
+        String forged = priceQuoteService.createQuote(OrderRequest.builder()
+                .userId(USER_ID).eventId(10L)
+                .items(List.of(OrderRequest.OrderItemRequest.builder().ticketTypeId(5L).quantity(1).build()))
+                .build()).getQuoteToken();
+        // Payload of one quote with the signature of another
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThrows(IllegalArgumentException.class, () -> priceQuoteService.verify(spliced, request));
+    }
+
+    @Test
+    void quoteForAnotherUserIsRejected() {
+        OrderRequest request = quotedRequest();
+        String token = priceQuoteService.createQuote(request).getQuoteToken();
+        request.setUserId(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> priceQuoteService.verify(token, request));
+    }
+
+    @Test
+    void changedQuantityNeedsNewQuote() {
+        OrderRequest request = quotedRequest();
+        PriceQuote quote = priceQuoteService.verify(priceQuoteService.createQuote(request).getQuoteToken(), request);
+        OrderItem item = OrderItem.builder().ticketTypeId(5L).quantity(4).build();
+
+        assertThrows(IllegalArgumentException.class, () -> priceQuoteService.applyTo(quote, List.of(item)));
+    }
+
+    private OrderRequest quotedRequest() {
+        Reservation hold = Reservation.builder()
+                .id(1L).userId(USER_ID).eventId(10L).ticketTypeId(5L).quantity(3)
+                .status(Reservation.ReservationStatus.PENDING)
+                .expireAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(reservationRepository.findAllById(any())).thenReturn(List.of(hold));
+        when(eventCatalogService.getTicketTypes(any())).thenReturn(Map.of(5L, TicketTypeDto.builder()
+                .id(5L).eventId(10L).name("GA").price(new BigDecimal("50.00")).purchaseLimit(4).build()));
+        return OrderRequest.builder()
+                .userId(USER_ID)
+                .eventId(10L)
+                .reservationIds(List.of(1L))
+                .build();
+    }
+}
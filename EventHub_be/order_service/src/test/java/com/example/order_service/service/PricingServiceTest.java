@@ -0,0 +1,60 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.DiscountDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PricingServiceTest {
+
+    private final PricingService pricingService = new PricingService();
+
+    @Test
+    void applyDiscount_Percent_RoundsHalfUpToCents() {
+        DiscountDto discount = DiscountDto.builder().discountPercent(50).build();
+
+        assertEquals(new BigDecimal("5.03"), pricingService.applyDiscount(discount, new BigDecimal("10.05")));
+        assertEquals(new BigDecimal("5.02"), pricingService.applyDiscount(discount, new BigDecimal("10.04")));
+    }
+
+    @Test
+    void applyDiscount_Percent_AlwaysHasTwoDecimals() {
+        DiscountDto discount = DiscountDto.builder().discountPercent(15).build();
+
+        assertEquals(new BigDecimal("84.99"), pricingService.applyDiscount(discount, new BigDecimal("99.99")));
+        assertEquals(new BigDecimal("85000.00"), pricingService.applyDiscount(discount, new BigDecimal("100000")));
+    }
+
+    @Test
+    void applyDiscount_Amount_NeverBelowZero() {
+        DiscountDto discount = DiscountDto.builder().discountAmount(new BigDecimal("150")).build();
+
+        assertEquals(new BigDecimal("50"), pricingService.applyDiscount(
+                DiscountDto.builder().discountAmount(new BigDecimal("50")).build(), new BigDecimal("100")));
+        assertEquals(BigDecimal.ZERO, pricingService.applyDiscount(discount, new BigDecimal("100")));
+    }
+
+    @Test
+    void validateDiscount_Expired_Throws() {
+        DiscountDto discount = DiscountDto.builder()
+                .discountPercent(10)
+                .validTo(LocalDateTime.now().minusDays(1))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> pricingService.validateDiscount(discount, BigDecimal.TEN));
+    }
+
+    @Test
+    void validateDiscount_BelowMinimumOrderAmount_Throws() {
+        DiscountDto discount = DiscountDto.builder()
+                .discountPercent(10)
+                .minimumOrderAmount(new BigDecimal("100"))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> pricingService.validateDiscount(discount, new BigDecimal("99.99")));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.ContentionHeatMapResponse;
+import com.example.order_service.dto.SeatSectionDto;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.service.ReservationContentionTracker.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReservationContentionTrackerTest {
+
+    private EventServiceClient eventServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        eventServiceClient = mock(EventServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new ReservationContentionTracker(eventServiceClient, meterRegistry);
+        ReflectionTestUtils.setField(tracker, "maxKeys", 100);
+        tracker.registerMeters();
+    }
+
+    @Test
+    void heatMapRanksTicketTypesAndSectionsByRejections() {
+        tracker.record(10L, 1L, 100L, Outcome.ATTEMPT);
+        tracker.record(10L, 1L, 100L, Outcome.CONFLICT);
+        tracker.record(10L, 1L, 101L, Outcome.ATTEMPT);
+        tracker.record(10L, 1L, 101L, Outcome.CONFLICT);
+        tracker.record(10L, 2L, 200L, Outcome.ATTEMPT);
+        tracker.record(10L, 2L, 200L, Outcome.EXPIRED, 3);
+        tracker.record(11L, 3L, null, Outcome.LIMIT_REJECTED);
+        when(eventServiceClient.getSeatSections(anyCollection())).thenReturn(List.of(
+                new SeatSectionDto(100L, 10L, 1L, "A"),
+                new SeatSectionDto(101L, 10L, 1L, "A"),
+                new SeatSectionDto(200L, 10L, 2L, "B")));
+
+        ContentionHeatMapResponse heatMap = tracker.heatMap(10L, 10);
+
+        assertEquals(2, heatMap.getTicketTypes().size());
+        ContentionHeatMapResponse.Cell hottest = heatMap.getTicketTypes().get(0);
+        assertEquals(1L, hottest.getTicketTypeId());
+        assertEquals(2, hottest.getAttempts());
+        assertEquals(2, hottest.getConflicts());
+        assertEquals(1.0, hottest.getRejectionRate());
+
+        assertEquals("A", heatMap.getSections().get(0).getSection());
+        assertEquals(2, heatMap.getSections().get(0).getConflicts());
+        assertEquals(3, heatMap.getSections().get(1).getExpiries());
+        assertEquals(2, meterRegistry.counter("reservation.contention", "outcome", "conflict").count());
+    }
+
+    @Test
+    void keysBeyondLimitAreDropped() {
+        ReflectionTestUtils.setField(tracker, "maxKeys", 1);
+        tracker.record(10L, 1L, null, Outcome.ATTEMPT);
+        tracker.record(10L, 2L, null, Outcome.ATTEMPT);
+        tracker.record(10L, 1L, null, Outcome.ATTEMPT);
+
+        ContentionHeatMapResponse heatMap = tracker.heatMap(null, 10);
+
+        assertEquals(1, heatMap.getTicketTypes().size());
+        assertEquals(2, heatMap.getTicketTypes().get(0).getAttempts());
+        assertEquals(1, heatMap.getDroppedRecords());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.HoldHeartbeatResponse;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.repository.ReservationBatchRepository;
+import com.example.order_service.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationHoldIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationBatchRepository reservationBatchRepository;
+
+    private ReservationHoldIndex holdIndex;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        holdIndex = new ReservationHoldIndex(reservationRepository, reservationBatchRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(holdIndex, "extensionSeconds", 180L);
+        ReflectionTestUtils.setField(holdIndex, "maxHoldMinutes", 20L);
+        ReflectionTestUtils.setField(holdIndex, "flushLeadSeconds", 60L);
+        ReflectionTestUtils.setField(holdIndex, "maxEntries", 100);
+    }
+
+    @Test
+    void heartbeat_ExtendsInMemoryAndFlushesOnlyNearLapse() {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(4);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(pending(createdAt, createdAt.plusMinutes(5))));
+
+        HoldHeartbeatResponse first = holdIndex.heartbeat(1L, userId);
+        holdIndex.heartbeat(1L, userId);
+
+        verify(reservationRepository, times(1)).findById(1L);
+        assertTrue(first.getExpireAt().isAfter(createdAt.plusMinutes(5)));
+        assertEquals(createdAt.plusMinutes(20), first.getMaxExpireAt());
+
+        // Stored expiry is about a minute away, inside the flush lead
+        holdIndex.flush();
+        ArgumentCaptor<Map<Long, LocalDateTime>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(reservationBatchRepository).extendHolds(captor.capture());
+        assertTrue(captor.getValue().containsKey(1L));
+
+        // Already persisted, nothing left to write
+        holdIndex.flush();
+        verify(reservationBatchRepository, times(1)).extendHolds(any());
+    }
+
+    @Test
+    void heartbeat_NeverExtendsPastHardCap() {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(19);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(pending(createdAt, createdAt.plusMinutes(19).plusSeconds(30))));
+
+        HoldHeartbeatResponse response = holdIndex.heartbeat(1L, userId);
+
+        assertEquals(createdAt.plusMinutes(20), response.getExpireAt());
+    }
+
+    @Test
+    void heartbeat_Fail_OtherUser() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(pending(createdAt, createdAt.plusMinutes(5))));
+
+        assertThrows(AccessDeniedException.class, () -> holdIndex.heartbeat(1L, UUID.randomUUID()));
+    }
+
+    @Test
+    void heartbeat_Fail_ExpiredHold() {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(10);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(pending(createdAt, createdAt.plusMinutes(5))));
+
+        assertThrows(IllegalStateException.class, () -> holdIndex.heartbeat(1L, userId));
+        holdIndex.flush();
+        verify(reservationBatchRepository, never()).extendHolds(any());
+    }
+
+    private Reservation pending(LocalDateTime createdAt, LocalDateTime expireAt) {
+        return Reservation.builder()
+                .id(1L)
+                .userId(userId)
+                .quantity(1)
+                .createdAt(createdAt)
+                .expireAt(expireAt)
+                .status(Reservation.ReservationStatus.PENDING)
+                .build();
+    }
+}
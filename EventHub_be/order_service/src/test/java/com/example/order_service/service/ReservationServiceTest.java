@@ -14,11 +14,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +35,18 @@ public class ReservationServiceTest {
     @Mock
     private EventServiceClient eventServiceClient;
 
+    @Mock
+    private ReservationHoldIndex reservationHoldIndex;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @Mock
+    private ReservationContentionTracker contentionTracker;
+
+    @Mock
+    private AvailabilityEventPublisher availabilityEventPublisher;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -65,4 +82,52 @@ public class ReservationServiceTest {
     void reserve_Fail_OverLimit() {
         verify(reservationRepository, never()).save(any(Reservation.class));
     }
+
+    private Reservation pendingReservation(Long id) {
+        return Reservation.builder()
+                .id(id)
+                .userId(request.getUserId())
+                .ticketTypeId(100L)
+                .quantity(1)
+                .expireAt(LocalDateTime.now().plusMinutes(5))
+                .status(Reservation.ReservationStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    void confirmReservations_LocksAndUpdatesInBulk() {
+        when(reservationRepository.findAllByIdInForUpdate(anyCollection()))
+                .thenReturn(List.of(pendingReservation(2L), pendingReservation(1L)));
+
+        List<Reservation> confirmed = reservationService.confirmReservations(List.of(1L, 2L), request.getUserId());
+
+        assertEquals(List.of(1L, 2L), confirmed.stream().map(Reservation::getId).toList());
+        assertEquals(Reservation.ReservationStatus.CONFIRMED, confirmed.get(0).getStatus());
+        verify(reservationRepository, times(1)).bulkUpdateStatus(anyCollection(),
+                eq(Reservation.ReservationStatus.PENDING), eq(Reservation.ReservationStatus.CONFIRMED));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void confirmReservations_Fail_ExpiredReservation() {
+        Reservation expired = pendingReservation(1L);
+        expired.setExpireAt(LocalDateTime.now().minusMinutes(1));
+        when(reservationRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(List.of(expired));
+
+        assertThrows(RuntimeException.class, () -> reservationService.confirmReservations(List.of(1L), request.getUserId()));
+        verify(reservationRepository, never()).bulkUpdateStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void cancelReservation_PublishesReleasedSeat() {
+        Reservation reservation = pendingReservation(1L);
+        reservation.setEventId(10L);
+        reservation.setSeatId(500L);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        reservationService.cancelReservation(1L);
+
+        verify(availabilityEventPublisher).publishSeatsAfterCommit(10L, List.of(), List.of(500L));
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SoldOutRegistryTest {
+
+    private SoldOutRegistry soldOutRegistry;
+
+    @BeforeEach
+    void setUp() {
+        soldOutRegistry = new SoldOutRegistry(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(soldOutRegistry, "maxAgeSeconds", 60L);
+    }
+
+    @Test
+    void soldOutTicketTypeIsRejectedUntilReleased() {
+        soldOutRegistry.markSoldOut(5L);
+        assertThrows(IllegalStateException.class, () -> soldOutRegistry.ensureAvailable(5L));
+        assertDoesNotThrow(() -> soldOutRegistry.ensureAvailable(6L));
+
+        soldOutRegistry.markAvailable(5L);
+        assertDoesNotThrow(() -> soldOutRegistry.ensureAvailable(5L));
+    }
+
+    @Test
+    void staleFlagIsDropped() {
+        soldOutRegistry.markSoldOut(5L);
+        assertTrue(soldOutRegistry.isSoldOut(5L));
+
+        ReflectionTestUtils.setField(soldOutRegistry, "maxAgeSeconds", -1L);
+        assertFalse(soldOutRegistry.isSoldOut(5L));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.InventoryReleaseRequest;
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Order;
+import com.example.order_service.model.OrderItem;
+import com.example.order_service.model.PaymentInfo;
+import com.example.order_service.repository.OrderItemRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.scheduler.SchedulerPartition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StaleOrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StaleOrderService staleOrderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        staleOrderService = new StaleOrderService(orderRepository, orderItemRepository, eventServiceClient, orderChangeService,
+                waitlistService, meterRegistry);
+    }
+
+    @Test
+    void cancelStaleBatch_ReleasesAggregatedInventory() {
+        Order first = Order.builder().id(1L).eventId(10L).discountCode("SALE").status(Order.OrderStatus.PENDING).build();
+        Order second = Order.builder().id(2L).eventId(10L).discountCode("SALE").status(Order.OrderStatus.PENDING).build();
+        when(orderRepository.findStaleBatch(eq(Order.OrderStatus.PENDING), any(), any(), eq(1), eq(0), any()))
+                .thenReturn(List.of(first, second));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                OrderItem.builder().order(first).ticketTypeId(100L).quantity(2).build(),
+                OrderItem.builder().order(second).ticketTypeId(100L).quantity(3).build()));
+        when(waitlistService.allocateReleasedInventory(any())).thenAnswer(returnsFirstArg());
+
+        int cancelled = staleOrderService.cancelStaleBatch(LocalDateTime.now(), LocalDateTime.now().minusHours(72), 50, new SchedulerPartition(0, 1));
+
+        assertEquals(2, cancelled);
+        verify(orderRepository).bulkUpdateStatus(anyCollection(), eq(Order.OrderStatus.PENDING), eq(Order.OrderStatus.CANCELLED), any());
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient, times(1)).releaseInventory(captor.capture());
+        List<InventoryReleaseRequest.Release> releases = captor.getValue().getReleases();
+        assertEquals(List.of("order:1", "order:2"), releases.stream().map(InventoryReleaseRequest.Release::getKey).toList());
+        assertEquals(Map.of(100L, 2), releases.get(0).getTicketTypeQuantities());
+        assertEquals(Map.of(100L, 3), releases.get(1).getTicketTypeQuantities());
+        assertEquals("SALE", releases.get(1).getDiscountUsages().get(0).getCode());
+        assertEquals(2.0, meterRegistry.counter("orders.stale.discounts.released").count());
+        assertEquals(5.0, meterRegistry.counter("orders.stale.tickets.released").count());
+        assertEquals(Order.OrderStatus.CANCELLED, first.getStatus());
+    }
+
+    @Test
+    void cancelStaleBatch_WaitersClaimQuota_ReleasesOnlyTheRestPerOrder() {
+        Order first = Order.builder().id(1L).eventId(10L).status(Order.OrderStatus.PENDING).build();
+        Order second = Order.builder().id(2L).eventId(10L).status(Order.OrderStatus.PENDING).build();
+        when(orderRepository.findStaleBatch(eq(Order.OrderStatus.PENDING), any(), any(), eq(1), eq(0), any()))
+                .thenReturn(List.of(first, second));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                OrderItem.builder().order(first).ticketTypeId(100L).quantity(2).build(),
+                OrderItem.builder().order(second).ticketTypeId(100L).quantity(3).build()));
+        // Waiters took 4 of the 5 tickets
+        when(waitlistService.allocateReleasedInventory(Map.of(100L, 5))).thenReturn(Map.of(100L, 1));
+
+        staleOrderService.cancelStaleBatch(LocalDateTime.now(), LocalDateTime.now().minusHours(72), 50, new SchedulerPartition(0, 1));
+
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient).releaseInventory(captor.capture());
+        List<InventoryReleaseRequest.Release> releases = captor.getValue().getReleases();
+        assertEquals(1, releases.size());
+        assertEquals("order:1", releases.get(0).getKey());
+        assertEquals(Map.of(100L, 1), releases.get(0).getTicketTypeQuantities());
+    }
+
+    @Test
+    void cancelStaleBatch_SkipsOrdersWithInitiatedPayment() {
+        Order unpaid = Order.builder().id(1L).eventId(10L).status(Order.OrderStatus.PENDING).build();
+        Order paying = Order.builder().id(2L).eventId(10L).status(Order.OrderStatus.PENDING)
+                .paymentInfo(PaymentInfo.builder().transactionId("txn-2").status(PaymentInfo.PaymentStatus.PENDING).build())
+                .build();
+        when(orderRepository.findStaleBatch(eq(Order.OrderStatus.PENDING), any(), any(), eq(1), eq(0), any()))
+                .thenReturn(List.of(unpaid, paying));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(
+                OrderItem.builder().order(unpaid).ticketTypeId(100L).quantity(2).build()));
+        when(waitlistService.allocateReleasedInventory(any())).thenAnswer(returnsFirstArg());
+
+        int cancelled = staleOrderService.cancelStaleBatch(LocalDateTime.now(), LocalDateTime.now().minusHours(72), 50, new SchedulerPartition(0, 1));
+
+        assertEquals(1, cancelled);
+        verify(orderRepository).bulkUpdateStatus(eq(List.of(1L)), eq(Order.OrderStatus.PENDING), eq(Order.OrderStatus.CANCELLED), any());
+        assertEquals(Order.OrderStatus.PENDING, paying.getStatus());
+        ArgumentCaptor<InventoryReleaseRequest> captor = ArgumentCaptor.forClass(InventoryReleaseRequest.class);
+        verify(eventServiceClient).releaseInventory(captor.capture());
+        assertEquals(List.of("order:1"), captor.getValue().getReleases().stream().map(InventoryReleaseRequest.Release::getKey).toList());
+    }
+
+    @Test
+    void cancelStaleBatch_NothingToDo() {
+        when(orderRepository.findStaleBatch(eq(Order.OrderStatus.PENDING), any(), any(), eq(1), eq(0), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, staleOrderService.cancelStaleBatch(LocalDateTime.now(), LocalDateTime.now().minusHours(72), 50, new SchedulerPartition(0, 1)));
+        verify(eventServiceClient, never()).releaseInventory(any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.order_service.service;
+
+import com.example.order_service.feign_client.EventServiceClient;
+import com.example.order_service.model.Reservation;
+import com.example.order_service.model.WaitlistEntry;
+import com.example.order_service.repository.ReservationRepository;
+import com.example.order_service.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private EventCatalogService eventCatalogService;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private AvailabilityEventPublisher availabilityEventPublisher;
+
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistEntryRepository, reservationRepository, eventCatalogService,
+                eventServiceClient, kafkaProducerService, availabilityEventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(waitlistService, "holdMinutes", 10L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void allocateReleasedInventory_OffersHeadOfQueueInOrder() {
+        WaitlistEntry first = waiting(1L, 2);
+        WaitlistEntry second = waiting(2L, 2);
+        WaitlistEntry third = waiting(3L, 1);
+        when(waitlistEntryRepository.findQueueHeadForUpdate(eq(100L), eq(WaitlistEntry.Status.WAITING), any()))
+                .thenReturn(List.of(first, second, third));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(50L);
+            return reservation;
+        });
+
+        Map<Long, Integer> remaining = waitlistService.allocateReleasedInventory(Map.of(100L, 3));
+
+        // Strict FIFO: the second entry wants 2 of the 1 left, so the third is not served either
+        assertEquals(Map.of(100L, 1), remaining);
+        assertEquals(WaitlistEntry.Status.OFFERED, first.getStatus());
+        assertEquals(50L, first.getReservationId());
+        assertEquals(WaitlistEntry.Status.WAITING, second.getStatus());
+        assertEquals(WaitlistEntry.Status.WAITING, third.getStatus());
+
+        ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).save(captor.capture());
+        assertEquals(2, captor.getValue().getHeldQuantity());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    void allocateReleasedInventory_NobodyWaiting_ReturnsEverything() {
+        when(waitlistEntryRepository.findQueueHeadForUpdate(eq(100L), eq(WaitlistEntry.Status.WAITING), any()))
+                .thenReturn(List.of());
+
+        assertEquals(Map.of(100L, 4), waitlistService.allocateReleasedInventory(Map.of(100L, 4)));
+        verify(reservationRepository, never()).save(any());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    private WaitlistEntry waiting(Long id, int quantity) {
+        return WaitlistEntry.builder()
+                .id(id)
+                .userId(UUID.randomUUID())
+                .eventId(10L)
+                .ticketTypeId(100L)
+                .quantity(quantity)
+                .status(WaitlistEntry.Status.WAITING)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.order_service.specification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderSpecificationTest {
+
+    @Test
+    void idPrefixBecomesPrimaryKeyRanges() {
+        List<long[]> ranges = OrderSpecification.idRanges("12");
+
+        assertEquals(11, ranges.size()); // 2 to 12 digits
+        assertArrayEquals(new long[]{12, 12}, ranges.get(0));
+        assertArrayEquals(new long[]{120, 129}, ranges.get(1));
+        assertArrayEquals(new long[]{1200, 1299}, ranges.get(2));
+        assertArrayEquals(new long[]{120_000_000_000L, 129_999_999_999L}, ranges.get(10));
+    }
+
+    @Test
+    void nonNumericPrefixIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> OrderSpecification.idRanges("0"));
+        assertThrows(IllegalArgumentException.class, () -> OrderSpecification.idRanges("12a"));
+        assertThrows(IllegalArgumentException.class, () -> OrderSpecification.idRanges("1234567890123"));
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 @FeignClient(name = "event-service", url = "${event.service-url}")
 public interface EventServiceClient {
 
-    @GetMapping("/api/events/{id}")
+    @GetMapping("/api/events/{id}/summary")
     EventDetailsDto getEventById(@PathVariable("id") Long id);
 
     @GetMapping("/api/events/ticket-types/{id}")
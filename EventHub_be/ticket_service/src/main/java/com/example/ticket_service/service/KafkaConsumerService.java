@@ -53,6 +53,10 @@ public class KafkaConsumerService {
         Map<Long, String> ticketTypeIdToCode = new HashMap<>();
         if (orderDetails.getItems() != null) {
             for (OrderDetailsDto.OrderItemDto item : orderDetails.getItems()) {
+                // Group orders repeat ticket types across many lines; look each one up once
+                if (ticketTypeIdToCode.containsKey(item.getTicketTypeId())) {
+                    continue;
+                }
                 TicketTypeDetailsDto ticketType = eventServiceClient.getTicketTypeById(item.getTicketTypeId());
                 if (ticketType != null) {
                     ticketTypeIdToCode.put(item.getTicketTypeId(), ticketType.getCode());
@@ -60,6 +64,7 @@ public class KafkaConsumerService {
             }
         }
 
+        Map<Long, String> showtimeCodeById = new HashMap<>();
         List<Ticket> ticketsToSave = new ArrayList<>();
         if (orderDetails.getItems() != null) {
             for (OrderDetailsDto.OrderItemDto item : orderDetails.getItems()) {
@@ -68,11 +73,14 @@ public class KafkaConsumerService {
                 
                 // Get showtime code from the order item's showtimeId
                 String showtimeCode = null;
-                if (item.getShowtimeId() != null) {
+                if (item.getShowtimeId() != null && showtimeCodeById.containsKey(item.getShowtimeId())) {
+                    showtimeCode = showtimeCodeById.get(item.getShowtimeId());
+                } else if (item.getShowtimeId() != null) {
                     try {
                         var showtime = eventServiceClient.getShowtimeByIdInternal(item.getShowtimeId());
                         if (showtime != null) {
                             showtimeCode = showtime.getCode();
+                            showtimeCodeById.put(item.getShowtimeId(), showtimeCode);
                         }
                     } catch (Exception e) {
                         System.err.println("Failed to fetch showtime for ID: " + item.getShowtimeId() + ", error: " + e.getMessage());